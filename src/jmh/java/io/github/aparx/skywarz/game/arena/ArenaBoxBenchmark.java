@@ -0,0 +1,117 @@
+package io.github.aparx.skywarz.game.arena;
+
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the containment checks of {@link ArenaBox}, with the previous check of a location
+ * against the corner vectors as reference.
+ * <p>The positions checked are created up front, so that the checks are the only source of
+ * allocations. Running {@link #main(String[])} attaches the GC profiler, whose normalized
+ * allocation rate ({@code gc.alloc.rate.norm}) is zero bytes per operation for all checks.
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-18 10:15
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaBoxBenchmark {
+
+  private static final int POSITIONS = 1024;
+
+  private final ArenaBox box = new ArenaBox();
+
+  private final Location[] locations = new Location[POSITIONS];
+
+  private final Vector[] vectors = new Vector[POSITIONS];
+
+  private Vector min, max;
+
+  private int index;
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+        .include(ArenaBoxBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+
+  @Setup
+  public void setup() {
+    // corners are swapped intentionally, as they may be set in any order during setup
+    box.setPoint(ArenaBox.Point.MIN, new Vector(100, 120, 100));
+    box.setPoint(ArenaBox.Point.MAX, new Vector(-100, 0, -100));
+    min = box.getMinimum();
+    max = box.getMaximum();
+    Random random = new Random(0);
+    for (int i = 0; i < POSITIONS; ++i) {
+      double x = random.nextDouble() * 300 - 150;
+      double y = random.nextDouble() * 180 - 30;
+      double z = random.nextDouble() * 300 - 150;
+      locations[i] = new Location(null, x, y, z);
+      vectors[i] = new Vector(x, y, z);
+    }
+  }
+
+  @Benchmark
+  public boolean location() {
+    return box.isWithin(nextLocation());
+  }
+
+  @Benchmark
+  public boolean blockCoordinates() {
+    Location location = nextLocation();
+    return box.isWithin(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+  }
+
+  @Benchmark
+  public boolean vector() {
+    return box.isWithin(vectors[index++ & (POSITIONS - 1)]);
+  }
+
+  @Benchmark
+  public ArenaBox.Containment classifyChunk() {
+    Location location = nextLocation();
+    return box.classifyChunk(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+  }
+
+  /** The check of a location before the bounds were precomputed, for reference. */
+  @Benchmark
+  public boolean previousLocation() {
+    Location location = nextLocation();
+    return location.getBlockX() >= min.getBlockX()
+        && location.getBlockZ() >= min.getBlockZ()
+        && location.getBlockY() >= min.getBlockY()
+        && location.getBlockX() <= max.getBlockX()
+        && location.getBlockZ() <= max.getBlockZ()
+        && location.getBlockY() <= max.getBlockY();
+  }
+
+  private Location nextLocation() {
+    return locations[index++ & (POSITIONS - 1)];
+  }
+
+}
@@ -0,0 +1,87 @@
+package io.github.aparx.skywarz.game.chest;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of filling a chest of 27 slots, with the alias sampler and shared stacks of
+ * {@link ChestItems} compared to the previous lookup in a tree of cumulative weights.
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 11:20
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChestFillBenchmark {
+
+  private static final int PROBABILITY = 35;
+
+  private final ItemStack[] slots = new ItemStack[27];
+
+  private final ChestItems items = new ChestItems();
+
+  private final NavigableMap<Double, ChestItem> tree = new TreeMap<>();
+
+  private double total;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    Material[] materials = Material.values();
+    for (int i = 0; i < 64; ++i) {
+      Material material = materials[random.nextInt(materials.length)];
+      int amount = random.nextBoolean() ? 1 : 1 + random.nextInt(32);
+      ChestItem item = new ChestItem(new ItemStack(material, amount), 1 + random.nextInt(40));
+      items.add(item);
+      tree.put(total += item.getWeight(), item);
+    }
+  }
+
+  @Benchmark
+  public ItemStack[] aliasSampler() {
+    Random random = ThreadLocalRandom.current();
+    for (int i = 0; i < slots.length; ++i)
+      slots[i] = random.nextInt(100) <= PROBABILITY
+          ? items.next(random).nextStack(random)
+          : null;
+    return slots;
+  }
+
+  @Benchmark
+  public ItemStack[] cumulativeTree() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    for (int i = 0; i < slots.length; ++i) {
+      ItemStack stack = null;
+      if (random.nextInt(100) <= PROBABILITY) {
+        stack = tree.ceilingEntry(random.nextDouble() * total).getValue().getStack();
+        if (stack.getAmount() > 1)
+          (stack = stack.clone()).setAmount(random.nextInt(1, stack.getAmount()));
+      }
+      slots[i] = stack;
+    }
+    return slots;
+  }
+
+}
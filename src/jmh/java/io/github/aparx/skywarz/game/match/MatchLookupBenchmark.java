@@ -0,0 +1,104 @@
+package io.github.aparx.skywarz.game.match;
+
+import com.google.common.collect.ImmutableMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of looking up one of 50 matches by id and by arena from concurrent threads, with
+ * the immutable snapshot index of {@link GameMatchManager} compared to the previous maps that
+ * are guarded by the manager's lock.
+ * <p>Matches and arenas are replaced by plain objects, since they require a running server.
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-18 09:40
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class MatchLookupBenchmark {
+
+  private static final int MATCHES = 50;
+
+  private final UUID[] ids = new UUID[MATCHES];
+
+  private final Object[] arenas = new Object[MATCHES];
+
+  private final Object lock = new Object();
+
+  private final Map<UUID, Object> lockedById = new HashMap<>();
+
+  private final WeakHashMap<Object, Object> lockedByArena = new WeakHashMap<>();
+
+  private volatile Snapshot snapshot;
+
+  @Setup
+  public void setup() {
+    ImmutableMap.Builder<UUID, Object> byId = ImmutableMap.builder();
+    ImmutableMap.Builder<Object, Object> byArena = ImmutableMap.builder();
+    for (int i = 0; i < MATCHES; ++i) {
+      Object match = new Object();
+      ids[i] = UUID.randomUUID();
+      arenas[i] = new Object();
+      lockedById.put(ids[i], match);
+      lockedByArena.put(arenas[i], match);
+      byId.put(ids[i], match);
+      byArena.put(arenas[i], match);
+    }
+    snapshot = new Snapshot(byId.build(), byArena.build());
+  }
+
+  @Benchmark
+  public void locked(Blackhole blackhole) {
+    int i = ThreadLocalRandom.current().nextInt(MATCHES);
+    synchronized (lock) {
+      blackhole.consume(lockedById.get(ids[i]));
+    }
+    synchronized (lock) {
+      blackhole.consume(lockedByArena.get(arenas[i]));
+    }
+  }
+
+  @Benchmark
+  public void snapshot(Blackhole blackhole) {
+    int i = ThreadLocalRandom.current().nextInt(MATCHES);
+    blackhole.consume(snapshot.byId.get(ids[i]));
+    blackhole.consume(snapshot.byArena.get(arenas[i]));
+  }
+
+  private static final class Snapshot {
+
+    final ImmutableMap<UUID, Object> byId;
+
+    final ImmutableMap<Object, Object> byArena;
+
+    Snapshot(ImmutableMap<UUID, Object> byId, ImmutableMap<Object, Object> byArena) {
+      this.byId = byId;
+      this.byArena = byArena;
+    }
+  }
+
+}
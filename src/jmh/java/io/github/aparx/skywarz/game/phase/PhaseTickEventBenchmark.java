@@ -0,0 +1,111 @@
+package io.github.aparx.skywarz.game.phase;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.RegisteredListener;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the phase tick event per phase tick of 30 matches, with and without listeners.
+ * <p>{@code always} creates and calls the event on every tick, as the phases did previously,
+ * while {@code guarded} skips it without listeners and calls it at most once per
+ * {@code cadence} ticks. The event is called through its handler list like the plugin manager
+ * does, which excludes the plugin manager's lock and thread check, so the savings are a lower
+ * bound.
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-17 11:30
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhaseTickEventBenchmark {
+
+  private static final int MATCHES = 30;
+
+  @Param({"0", "1"})
+  private int listeners;
+
+  @Param({"1", "20"})
+  private long cadence;
+
+  private final long[] countdowns = new long[MATCHES];
+
+  @Setup
+  public void setup(Blackhole blackhole) {
+    for (int i = 0; i < listeners; ++i)
+      TickEvent.handlerList.register(new RegisteredListener(new Listener() {},
+          (listener, event) -> blackhole.consume(event), EventPriority.NORMAL, null, false));
+  }
+
+  @TearDown
+  public void tearDown() {
+    TickEvent.handlerList.unregisterAll();
+  }
+
+  @Benchmark
+  public void always() throws EventException {
+    for (int i = 0; i < MATCHES; ++i)
+      call(new TickEvent(i));
+  }
+
+  @Benchmark
+  public void guarded() throws EventException {
+    for (int i = 0; i < MATCHES; ++i) {
+      if (--countdowns[i] > 0) continue;
+      if (TickEvent.handlerList.getRegisteredListeners().length == 0) continue;
+      countdowns[i] = cadence;
+      call(new TickEvent(i));
+    }
+  }
+
+  private static void call(@NonNull Event event) throws EventException {
+    for (RegisteredListener listener : event.getHandlers().getRegisteredListeners())
+      listener.callEvent(event);
+  }
+
+  /** Stand-in for the phase tick event, which requires a running match to be created. */
+  private static final class TickEvent extends Event {
+
+    private static final HandlerList handlerList = new HandlerList();
+
+    private final int match;
+
+    TickEvent(int match) {
+      this.match = match;
+    }
+
+    @Override
+    public @NonNull HandlerList getHandlers() {
+      return handlerList;
+    }
+
+    public static HandlerList getHandlerList() {
+      return handlerList;
+    }
+  }
+
+}
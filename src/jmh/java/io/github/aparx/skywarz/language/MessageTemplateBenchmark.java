@@ -0,0 +1,108 @@
+package io.github.aparx.skywarz.language;
+
+import io.github.aparx.skywarz.game.scoreboard.MatchScoreboard;
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.commons.text.lookup.StringLookup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cost of substituting a set of default messages and the lines of the playing scoreboard, with
+ * compiled {@link MessageTemplate}s compared to the {@code StringSubstitutor} previously created
+ * for each substitution with a lookup.
+ * <p>Nested messages, such as {@code {prefix}}, resolve to their default values, same as
+ * through the language.
+ * <p>Run with {@code mvn -Pbenchmark test-compile exec:exec}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-18 11:05
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageTemplateBenchmark {
+
+  private final Map<String, String> values = new HashMap<>();
+
+  private final Map<String, String> messages = new HashMap<>();
+
+  private final List<String> contents = new ArrayList<>();
+
+  private final List<MessageTemplate> templates = new ArrayList<>();
+
+  private StringLookup lookup, fallback;
+
+  @Setup
+  public void setup() {
+    MessageKeys.defaultMessages.forEach(
+        (path, object) -> messages.put(path.join(), toContent(object)));
+    values.put("player.name", "aparx");
+    values.put("player.team.color", "§c");
+    values.put("killer.name", "someone");
+    values.put("killer.team.color", "§9");
+    values.put("match.time.left.literal", "10 seconds");
+    values.put("match.time.left.format", "04:59");
+    values.put("match.arena", "Islands");
+    values.put("match.alive", "7");
+    values.put("player.match.stats.kills", "2");
+    values.put("place", "1");
+    values.put("player.stats.points", "120");
+    values.put("player.stats.kd", "1.5");
+    lookup = values::get;
+    fallback = messages::get;
+    contents.add(messages.get(MessageKeys.Match.COUNTDOWN_START.join()));
+    contents.add(messages.get(MessageKeys.Match.KILLED.join()));
+    contents.add(messages.get(MessageKeys.Stats.LEADERBOARD_LINE.join()));
+    contents.addAll(MatchScoreboard.PLAYING_ALIVE.getScoreboard().getTemplateLines());
+    for (String content : contents)
+      templates.add(MessageTemplate.compile(content));
+  }
+
+  @Benchmark
+  public void template(Blackhole blackhole) {
+    for (MessageTemplate template : templates)
+      blackhole.consume(template.render(lookup, fallback));
+  }
+
+  @Benchmark
+  public void substitutor(Blackhole blackhole) {
+    for (String content : contents) {
+      StringSubstitutor substitutor = new StringSubstitutor((key) -> {
+        String value = lookup.lookup(key);
+        return value != null ? value : fallback.lookup(key);
+      }, LocalizedMessage.VARIABLE_PREFIX, LocalizedMessage.VARIABLE_SUFFIX,
+          LocalizedMessage.VARIABLE_ESCAPE);
+      blackhole.consume(substitutor.replace(content));
+    }
+  }
+
+  private static String toContent(Object object) {
+    String content = object instanceof Collection
+        ? ((Collection<?>) object).stream().map(String::valueOf)
+        .collect(Collectors.joining("\n"))
+        : String.valueOf(object);
+    return LocalizedMessage.processRawContent(content);
+  }
+
+}
@@ -8,6 +8,7 @@ import io.github.aparx.skywarz.database.SkywarsDatabase;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.game.SpawnList;
 import io.github.aparx.skywarz.game.arena.*;
+import io.github.aparx.skywarz.game.arena.reset.AbstractRestoreTask;
 import io.github.aparx.skywarz.game.arena.settings.ArenaSettings;
 import io.github.aparx.skywarz.game.arena.sign.ArenaSign;
 import io.github.aparx.skywarz.game.chest.ChestConfig;
@@ -16,6 +17,7 @@ import io.github.aparx.skywarz.game.item.GameItemManager;
 import io.github.aparx.skywarz.game.kit.GameKit;
 import io.github.aparx.skywarz.game.kit.GameKitManager;
 import io.github.aparx.skywarz.game.scoreboard.MatchScoreboard;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
 import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.handler.SkywarsConfigHandler;
 import io.github.aparx.skywarz.handler.SkywarsHandler;
@@ -88,6 +90,7 @@ public final class Skywars {
         new GameMatchManager(),
         new GameItemManager(),
         new BungeeHandler(),
+        new SkywarsTickLoop(),
         GameKitManager.getInstance()
     ));
   }
@@ -130,6 +133,9 @@ public final class Skywars {
     try {
       logger.info("Unloading plugin");
       getHandlers().forEach(SkywarsHandler::unload);
+      // restores, including those of matches just stopped, cannot continue once the plugin is
+      // disabled, thus complete them now
+      AbstractRestoreTask.flushAll();
       SkywarsPlayer.removeAllPlayers();
       database.disconnect();
       return true;
@@ -171,6 +177,10 @@ public final class Skywars {
     return getHandlers().require(BungeeHandler.class);
   }
 
+  public @NonNull SkywarsTickLoop getTickLoop() {
+    return getHandlers().require(SkywarsTickLoop.class);
+  }
+
   private final class HandlerSet extends KeyedByClassSet<SkywarsHandler> {
 
     @Override
@@ -1,6 +1,5 @@
 package io.github.aparx.skywarz.bungeecord;
 
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.events.match.MatchCreateEvent;
@@ -12,6 +11,7 @@ import io.github.aparx.skywarz.game.match.GameMatchState;
 import io.github.aparx.skywarz.handler.DefaultSkywarsHandler;
 import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.language.*;
+import io.github.aparx.skywarz.language.VariableKey;
 import io.github.aparx.skywarz.permission.SkywarsPermission;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import org.bukkit.Bukkit;
@@ -26,6 +26,7 @@ import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.ServerListPingEvent;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -118,17 +119,20 @@ public class BungeeListener implements Listener {
     if (isBungeecord()) try {
       Iterator<GameMatch> iterator = Skywars.getInstance().getMatchManager().iterator();
       GameArena bungeeArena = getBungeeArena();
-      LazyVariableLookup lookup = new LazyVariableLookup();
-      VariablePopulator.addArenaOrAcquiree(lookup, bungeeArena, ArrayPath.of());
+      List<String> motd = MainConfig.getInstance().getBungeeMotd();
+      LazyVariableLookup lookup = VariablePopulator.createArenaOrAcquiree(
+          bungeeArena, VariableKey.ROOT, Language.getInstance().getUsage(motd));
       if (iterator.hasNext()) {
         GameMatch match = iterator.next();
-        VariablePopulator.addMatch(lookup, match, ArrayPath.of());
+        if (match.getArena().getSource() != bungeeArena)
+          // the arena did not already populate this match
+          VariablePopulator.addMatch(lookup, match, VariableKey.ROOT);
         event.setMaxPlayers(match.getMaxPlayerCount());
       } else
         event.setMaxPlayers(GameArena.getMaxPlayerCount(
             bungeeArena.getData().getSettings(),
             GameArena.getAvailableTeamCount(bungeeArena)));
-      event.setMotd(MainConfig.getInstance().getBungeeMotd().stream().limit(2)
+      event.setMotd(motd.stream().limit(2)
           .map((line) -> Language.getInstance().substitute(line, lookup))
           .collect(Collectors.joining("\n")));
     } catch (Exception ignored) {}
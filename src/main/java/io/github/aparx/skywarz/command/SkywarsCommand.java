@@ -10,6 +10,7 @@ import io.github.aparx.skywarz.command.commands.arena.ArenaListCommand;
 import io.github.aparx.skywarz.command.commands.arena.ArenaSaveCommand;
 import io.github.aparx.skywarz.command.commands.arena.add.ArenaAddSpawnCommand;
 import io.github.aparx.skywarz.command.commands.arena.remove.ArenaRemoveSpawnCommand;
+import io.github.aparx.skywarz.command.commands.arena.update.ArenaSetChestCommand;
 import io.github.aparx.skywarz.command.commands.arena.update.ArenaSetLobbyCommand;
 import io.github.aparx.skywarz.command.commands.arena.update.ArenaSetPointCommand;
 import io.github.aparx.skywarz.command.commands.arena.update.ArenaSetRuleCommand;
@@ -69,7 +70,8 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
         .add(ArenaSetSpectatorCommand::new)
         .add(ArenaSetLobbyCommand::new)
         .add(ArenaSetPointCommand::new)
-        .add(ArenaSetRuleCommand::new));
+        .add(ArenaSetRuleCommand::new)
+        .add(ArenaSetChestCommand::new));
 
     arena.add(CommandBuilder.builder(arena, "add")
         .permission(SkywarsPermission.SETUP)
@@ -88,6 +90,7 @@ public class SkywarsCommand implements CommandExecutor, TabCompleter {
     roots.add(new StartCommand());
     roots.add(new StatsCommand());
     roots.add(new LeaderboardCommand());
+    roots.add(new TimingsCommand());
 
     roots.add(CommandBuilder.builder("bungee")
         .permission(SkywarsPermission.SETUP)
@@ -2,26 +2,24 @@ package io.github.aparx.skywarz.command.commands;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Suppliers;
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.command.CommandContext;
 import io.github.aparx.skywarz.command.CommandInfo;
 import io.github.aparx.skywarz.command.arguments.CommandArgList;
 import io.github.aparx.skywarz.command.skeleton.CommandNode;
 import io.github.aparx.skywarz.database.stats.PlayerLeaderboard;
-import io.github.aparx.skywarz.database.object.CachableLazyObject;
-import io.github.aparx.skywarz.database.object.FetchableObjectState;
 import io.github.aparx.skywarz.entity.data.stats.PlayerStatsAccumulator;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
+import io.github.aparx.skywarz.language.VariableKey;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.language.VariablePopulator;
 import io.github.aparx.skywarz.permission.SkywarsPermission;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 
 import java.util.Iterator;
-import java.util.List;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -30,35 +28,44 @@ import java.util.List;
  */
 public class LeaderboardCommand extends CommandNode {
 
+  private static final int MAX_PER_PAGE = 10;
+
   public LeaderboardCommand() {
     super(CommandInfo.builder("leaderboard")
         .permission(SkywarsPermission.STATS_OTHER)
         .aliases("lb", "top")
+        .args("(Page)")
         .build());
   }
 
   @Override
   public void execute(CommandContext context, CommandArgList args) {
+    if (args.length() > 1) {
+      context.setStatus(CommandContext.Status.ERROR_SYNTAX);
+      return;
+    }
     CommandSender sender = context.getSender();
     Language language = Language.getInstance();
     Preconditions.checkState(Skywars.getInstance().getDatabase().isEnabled(),
         "Not possible: Database is not active");
-    CachableLazyObject<List<PlayerStatsAccumulator>> leaderboardContent =
-        PlayerLeaderboard.getMainLeaderboard().getContent();
-    if (leaderboardContent.getState() != FetchableObjectState.FRESH)
+    PlayerLeaderboard leaderboard = PlayerLeaderboard.getMainLeaderboard();
+    int page = Math.max(args.isEmpty() ? 1 : args.get(0).getInt(1), 1);
+    int offset = (page - 1) * MAX_PER_PAGE;
+    if (!leaderboard.isLoaded())
       sender.sendMessage(language.substitute(MessageKeys.Stats.FETCHING));
-    leaderboardContent.fetch().thenAccept((stats) -> {
+    leaderboard.getPage(offset, MAX_PER_PAGE).thenAccept((stats) -> {
       LazyVariableLookup outerLookup = new LazyVariableLookup();
+      outerLookup.set(VariableKey.of("page"), page);
       outerLookup.set("content", Suppliers.memoize(() -> {
         StringBuilder builder = new StringBuilder();
-        ArrayPath prefix = ArrayPath.of("player");
+        VariableKey prefix = VariableKeys.PLAYER;
         Iterator<PlayerStatsAccumulator> iterator = stats.iterator();
         for (int i = 0; iterator.hasNext(); ++i) {
           PlayerStatsAccumulator next = iterator.next();
           LazyVariableLookup innerLookup = new LazyVariableLookup();
           VariablePopulator.addPlayer(innerLookup, Bukkit.getOfflinePlayer(next.getId()), prefix);
-          VariablePopulator.addStats(innerLookup, next, prefix.add("stats"));
-          innerLookup.set(ArrayPath.of("place"), 1 + i);
+          VariablePopulator.addStats(innerLookup, next, prefix.child("stats"));
+          innerLookup.set(VariableKeys.PLACE, 1 + offset + i);
           builder.append(language.substitute(MessageKeys.Stats.LEADERBOARD_LINE, innerLookup)).append('\n');
         }
         return builder.toString();
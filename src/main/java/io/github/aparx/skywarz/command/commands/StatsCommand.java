@@ -1,20 +1,23 @@
 package io.github.aparx.skywarz.command.commands;
 
 import com.google.common.base.Preconditions;
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.command.CommandContext;
 import io.github.aparx.skywarz.command.CommandInfo;
 import io.github.aparx.skywarz.command.arguments.CommandArgList;
+import io.github.aparx.skywarz.command.commands.stats.StatsCacheCommand;
+import io.github.aparx.skywarz.command.commands.stats.StatsDatabaseCommand;
 import io.github.aparx.skywarz.command.commands.stats.StatsResetCommand;
 import io.github.aparx.skywarz.command.skeleton.CommandNode;
 import io.github.aparx.skywarz.database.object.CachableLazyObject;
 import io.github.aparx.skywarz.database.object.CachableLazyObjectRegister;
-import io.github.aparx.skywarz.database.object.FetchableObjectState;
+import io.github.aparx.skywarz.database.stats.PlayerLeaderboard;
 import io.github.aparx.skywarz.entity.data.stats.PlayerStatsAccumulator;
+import io.github.aparx.skywarz.entity.data.stats.PlayerStatsKey;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.language.VariablePopulator;
 import io.github.aparx.skywarz.permission.SkywarsPermission;
 import org.apache.commons.lang3.StringUtils;
@@ -48,6 +51,8 @@ public class StatsCommand extends CommandNode {
         .args("(<player>)")
         .build());
     add(new StatsResetCommand(this));
+    add(new StatsCacheCommand(this));
+    add(new StatsDatabaseCommand(this));
   }
 
   public Optional<OfflinePlayer> getTarget(
@@ -77,8 +82,8 @@ public class StatsCommand extends CommandNode {
         CompletableFuture<? extends PlayerStatsAccumulator> future = fetcher.fetch();
         Language language = Language.getInstance();
         LazyVariableLookup lookup = new LazyVariableLookup();
-        VariablePopulator.addPlayer(lookup, target, ArrayPath.of("target"), "-");
-        if (fetcher.getState() != FetchableObjectState.FRESH)
+        VariablePopulator.addPlayer(lookup, target, VariableKeys.TARGET, "-");
+        if (!future.isDone())
           player.sendMessage(language.get(MessageKeys.Stats.FETCHING).substitute(lookup));
         future.thenAccept((stats) -> {
           if (stats.isEmpty()) {
@@ -88,8 +93,14 @@ public class StatsCommand extends CommandNode {
                 .substitute(lookup));
             registry.remove(target.getUniqueId());
           } else {
-            VariablePopulator.addStats(lookup, stats, ArrayPath.of("target", "total"));
-            player.sendMessage(language.get(MessageKeys.Stats.OVERVIEW).substitute(lookup));
+            VariablePopulator.addStats(lookup, stats, VariableKeys.TARGET.child("total"));
+            PlayerLeaderboard.getMainLeaderboard()
+                .getRank(stats.findGet(PlayerStatsKey.POINTS))
+                .exceptionally((t) -> null)
+                .thenAccept((rank) -> {
+                  lookup.set(VariableKeys.TARGET.child("rank"), rank != null ? rank : "-");
+                  player.sendMessage(language.get(MessageKeys.Stats.OVERVIEW).substitute(lookup));
+                });
           }
         });
       });
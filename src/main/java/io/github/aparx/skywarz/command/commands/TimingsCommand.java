@@ -0,0 +1,62 @@
+package io.github.aparx.skywarz.command.commands;
+
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.command.CommandContext;
+import io.github.aparx.skywarz.command.CommandInfo;
+import io.github.aparx.skywarz.command.arguments.CommandArgList;
+import io.github.aparx.skywarz.command.skeleton.CommandNode;
+import io.github.aparx.skywarz.game.scoreboard.SpecialScoreboard;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
+import io.github.aparx.skywarz.language.Language;
+import io.github.aparx.skywarz.permission.SkywarsPermission;
+import io.github.aparx.skywarz.utils.LatencyHistogram;
+import org.bukkit.command.CommandSender;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-17 10:05
+ * @since 1.0
+ */
+public class TimingsCommand extends CommandNode {
+
+  public TimingsCommand() {
+    super(CommandInfo.builder("timings")
+        .permission(SkywarsPermission.SETUP)
+        .description("Show the time spent per tick by each subsystem")
+        .build());
+  }
+
+  @Override
+  public void execute(CommandContext context, CommandArgList args) {
+    if (!args.isEmpty()) {
+      context.setStatus(CommandContext.Status.ERROR_SYNTAX);
+      return;
+    }
+    SkywarsTickLoop tickLoop = Skywars.getInstance().getTickLoop();
+    CommandSender sender = context.getSender();
+    Language language = Language.getInstance();
+    for (TickSubsystem subsystem : TickSubsystem.values()) {
+      LatencyHistogram times = tickLoop.getTickTimes(subsystem);
+      sender.sendMessage(language.substitute(
+          "{prefix} §e{0}§7: {1} tasks, {2} ticks, mean §e{3}ms§7, p99 §e{4}ms",
+          subsystem.name().toLowerCase(), tickLoop.getTaskCount(subsystem), times.getCount(),
+          String.format("%.2f", times.getMeanMicros() / 1000),
+          LatencyHistogram.formatMillis(times.getPercentileMicros(.99), 2)));
+    }
+    sender.sendMessage(language.substitute(
+        "{prefix} §eScoreboard packets§7: team lines §e{0}§7 ({1}/render), "
+            + "score lines §e{2}§7 ({3}/render)",
+        SpecialScoreboard.getTeamLinePacketCount(),
+        formatPerRender(SpecialScoreboard.getTeamLinePacketCount(),
+            SpecialScoreboard.getTeamLineRenderCount()),
+        SpecialScoreboard.getScoreLinePacketCount(),
+        formatPerRender(SpecialScoreboard.getScoreLinePacketCount(),
+            SpecialScoreboard.getScoreLineRenderCount())));
+  }
+
+  private static String formatPerRender(long packets, long renders) {
+    return renders == 0 ? "-" : String.format("%.1f", (double) packets / renders);
+  }
+
+}
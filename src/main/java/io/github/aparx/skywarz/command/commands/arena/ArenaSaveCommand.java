@@ -42,8 +42,16 @@ public class ArenaSaveCommand extends AbstractArenaCommand {
                     + "To proceed either remove that spawn or include it within the playground.",
                 entry.getKey(), teamEnum.getDefaultName()));
           }));
-    arena.save();
     Language language = Language.getInstance();
+    if (arena.getReset().isResetting())
+      // the running restore still needs the snapshot, which is thus only discarded next save
+      context.getSender().sendMessage(language.substitute(
+          "{prefix} §7Arena '{0}' is being reset, thus its snapshot is kept. Save again once "
+              + "the reset is done to apply changes made to the playground.", arena.getName()));
+    else if (!arena.isAcquiredByMatch())
+      // the playground may have been changed, thus discard any previously captured snapshot
+      arena.getReset().invalidate();
+    arena.save();
     StringBuilder builder = new StringBuilder("{successPrefix} Saved arena '{0}'");
     if (arena.isCompleted())
       builder.append(" and completed the setup");
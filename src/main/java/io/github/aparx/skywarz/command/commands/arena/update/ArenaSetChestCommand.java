@@ -0,0 +1,74 @@
+package io.github.aparx.skywarz.command.commands.arena.update;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.command.CommandContext;
+import io.github.aparx.skywarz.command.CommandInfo;
+import io.github.aparx.skywarz.command.arguments.CommandArgList;
+import io.github.aparx.skywarz.command.commands.arena.AbstractArenaCommand;
+import io.github.aparx.skywarz.command.skeleton.CommandNode;
+import io.github.aparx.skywarz.game.arena.ArenaData;
+import io.github.aparx.skywarz.game.arena.GameArena;
+import io.github.aparx.skywarz.game.chest.ChestTier;
+import io.github.aparx.skywarz.language.Language;
+import org.apache.commons.lang3.StringUtils;
+import org.bukkit.block.Block;
+import org.bukkit.block.Chest;
+import org.bukkit.entity.Player;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 15:30
+ * @since 1.0
+ */
+public class ArenaSetChestCommand extends AbstractArenaCommand {
+
+  private static final int MAX_TARGET_DISTANCE = 5;
+
+  public ArenaSetChestCommand(@NonNull CommandNode parent) {
+    super(CommandInfo.builder()
+            .name("chest")
+            .args("<Arena> <island:middle>")
+            .description("Set the tier of the chest you are looking at")
+            .build(),
+        0, parent);
+  }
+
+  @Override
+  protected void execute(GameArena arena, CommandContext context, CommandArgList args) {
+    if (args.length() != 2) {
+      context.setStatus(CommandContext.Status.ERROR_SYNTAX);
+      return;
+    }
+    ChestTier tier = Arrays.stream(ChestTier.values())
+        .filter((x) -> x.name().equalsIgnoreCase(args.getString(1)))
+        .findFirst()
+        .orElseThrow(() -> new IllegalArgumentException("Unknown chest tier"));
+    Player player = context.getPlayer();
+    Block block = player.getTargetBlockExact(MAX_TARGET_DISTANCE);
+    Preconditions.checkState(block != null && block.getState() instanceof Chest,
+        "You must look at a chest");
+    ArenaData data = arena.getData();
+    Preconditions.checkState(data.getBox().isCompleted() && data.getBox().isWithin(
+        block.getLocation()), "The chest must be within the arena");
+    data.setChestTier(block.getLocation().toVector(), tier);
+    player.sendMessage(Language.getInstance().substitute(
+        "{successPrefix} Updated chest tier to {0} for '{1}'. (unsaved)",
+        tier.name().toLowerCase(), arena.getName()));
+  }
+
+  @Override
+  public List<String> onTabComplete(CommandContext context, CommandArgList args) {
+    if (args.length() == 2)
+      return Arrays.stream(ChestTier.values())
+          .map((tier) -> tier.name().toLowerCase())
+          .filter((name) -> StringUtils.startsWithIgnoreCase(name, args.getString(1)))
+          .collect(Collectors.toList());
+    return super.onTabComplete(context, args);
+  }
+
+}
@@ -0,0 +1,63 @@
+package io.github.aparx.skywarz.command.commands.stats;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.command.CommandContext;
+import io.github.aparx.skywarz.command.CommandInfo;
+import io.github.aparx.skywarz.command.arguments.CommandArgList;
+import io.github.aparx.skywarz.command.commands.StatsCommand;
+import io.github.aparx.skywarz.command.skeleton.CommandNode;
+import io.github.aparx.skywarz.database.object.CachableLazyObjectRegister;
+import io.github.aparx.skywarz.database.object.CacheStats;
+import io.github.aparx.skywarz.entity.data.stats.PlayerStatsAccumulator;
+import io.github.aparx.skywarz.language.Language;
+import io.github.aparx.skywarz.permission.SkywarsPermission;
+import io.github.aparx.skywarz.utils.LatencyHistogram;
+import org.bukkit.command.CommandSender;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.UUID;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 14:30
+ * @since 1.0
+ */
+public class StatsCacheCommand extends CommandNode {
+
+  public StatsCacheCommand(@NonNull StatsCommand parent) {
+    super(CommandInfo.builder("cache")
+        .description("Show the usage of the statistics cache")
+        .permission(SkywarsPermission.SETUP)
+        .build(), parent);
+    Preconditions.checkNotNull(parent, "Parent must not be null");
+  }
+
+  @Override
+  public void execute(CommandContext context, CommandArgList args) {
+    Preconditions.checkState(Skywars.getInstance().getDatabase().isEnabled(),
+        "Not possible: the database is not active");
+    if (!args.isEmpty()) {
+      context.setStatus(CommandContext.Status.ERROR_SYNTAX);
+      return;
+    }
+    CachableLazyObjectRegister<UUID, PlayerStatsAccumulator> registry =
+        Skywars.getInstance().getDatabase().getStatsManager().getRegistry();
+    CacheStats stats = registry.getStats();
+    CommandSender sender = context.getSender();
+    Language language = Language.getInstance();
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Statistics cache: §e{0}§7/§e{1}§7 players, §e{2}§7 evictions",
+        registry.size(), registry.getMaximumSize(), stats.getEvictionCount()));
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Hit rate: §e{0}%§7 ({1} hits, {2} stale, {3} misses)",
+        String.format("%.1f", 100 * stats.getHitRate()),
+        stats.getHitCount(), stats.getStaleHitCount(), stats.getMissCount()));
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Loads: §e{0}§7 ({1} failed), mean §e{2}ms§7, p99 §e{3}ms",
+        stats.getLoadCount(), stats.getLoadFailureCount(),
+        String.format("%.1f", stats.getLoadTimes().getMeanMicros() / 1000),
+        LatencyHistogram.formatMillis(stats.getLoadTimes().getPercentileMicros(.99), 1)));
+  }
+
+}
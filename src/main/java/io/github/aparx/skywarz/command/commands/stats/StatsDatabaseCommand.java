@@ -0,0 +1,70 @@
+package io.github.aparx.skywarz.command.commands.stats;
+
+import com.google.common.base.Preconditions;
+import com.j256.ormlite.support.ConnectionSource;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.command.CommandContext;
+import io.github.aparx.skywarz.command.CommandInfo;
+import io.github.aparx.skywarz.command.arguments.CommandArgList;
+import io.github.aparx.skywarz.command.commands.StatsCommand;
+import io.github.aparx.skywarz.command.skeleton.CommandNode;
+import io.github.aparx.skywarz.database.DatabaseExecutor;
+import io.github.aparx.skywarz.database.PooledConnectionSource;
+import io.github.aparx.skywarz.database.SkywarsDatabase;
+import io.github.aparx.skywarz.language.Language;
+import io.github.aparx.skywarz.permission.SkywarsPermission;
+import io.github.aparx.skywarz.utils.LatencyHistogram;
+import org.bukkit.command.CommandSender;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-18 13:10
+ * @since 1.0
+ */
+public class StatsDatabaseCommand extends CommandNode {
+
+  public StatsDatabaseCommand(@NonNull StatsCommand parent) {
+    super(CommandInfo.builder("database")
+        .description("Show the load of the database executor and connection pool")
+        .permission(SkywarsPermission.SETUP)
+        .build(), parent);
+    Preconditions.checkNotNull(parent, "Parent must not be null");
+  }
+
+  @Override
+  public void execute(CommandContext context, CommandArgList args) {
+    SkywarsDatabase database = Skywars.getInstance().getDatabase();
+    DatabaseExecutor executor = database.getExecutor();
+    Preconditions.checkState(database.isEnabled() && executor != null,
+        "Not possible: the database is not active");
+    if (!args.isEmpty()) {
+      context.setStatus(CommandContext.Status.ERROR_SYNTAX);
+      return;
+    }
+    CommandSender sender = context.getSender();
+    Language language = Language.getInstance();
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Executor: §e{0}§7 active, queue §e{1}§7/§e{2}§7 (peak {3})",
+        executor.getActiveCount(), executor.getQueueDepth(), executor.getQueueCapacity(),
+        executor.getPeakQueueDepth()));
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Operations: §e{0}§7 submitted, {1} completed, {2} rejected, {3} timed out",
+        executor.getSubmittedCount(), executor.getCompletedCount(),
+        executor.getRejectedCount(), executor.getTimeoutCount()));
+    ConnectionSource source = database.getSource();
+    if (!(source instanceof PooledConnectionSource)) return;
+    PooledConnectionSource pool = (PooledConnectionSource) source;
+    LatencyHistogram waitTimes = pool.getWaitTimes();
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Pool: §e{0}§7/§e{1}§7 connections in use, {2} waiting, {3} evicted",
+        pool.getActiveCount(), pool.getMaxConnections(), pool.getWaitingCount(),
+        pool.getEvictionCount()));
+    sender.sendMessage(language.substitute(
+        "{prefix} §7Pool wait: mean §e{0}ms§7, p99 §e{1}ms§7, {2} timed out",
+        String.format("%.1f", waitTimes.getMeanMicros() / 1000),
+        LatencyHistogram.formatMillis(waitTimes.getPercentileMicros(.99), 1),
+        pool.getTimeoutCount()));
+  }
+
+}
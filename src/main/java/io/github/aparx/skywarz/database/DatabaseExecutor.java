@@ -0,0 +1,186 @@
+package io.github.aparx.skywarz.database;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Bounded executor of database operations, so that a stalling database occupies only the
+ * threads of this executor rather than those of the server's shared asynchronous pool.
+ * <p>Operations exceeding the capacity of the queue are rejected (thus their future completes
+ * exceptionally) instead of queued without bounds, and operations exceeding the timeout are
+ * interrupted.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 18:10
+ * @since 1.0
+ */
+public final class DatabaseExecutor {
+
+  private final @NonNull ThreadPoolExecutor executor;
+
+  private final int queueCapacity;
+
+  private final long timeoutMillis;
+
+  private final boolean virtual;
+
+  private final LongAdder submittedCount = new LongAdder();
+
+  private final LongAdder rejectedCount = new LongAdder();
+
+  private final LongAdder timeoutCount = new LongAdder();
+
+  private final AtomicInteger peakQueueDepth = new AtomicInteger();
+
+  /**
+   * @param threads        the maximum amount of operations executed concurrently
+   * @param queueCapacity  the maximum amount of operations waiting for execution
+   * @param timeout        the maximum duration of an operation, or zero for no timeout
+   * @param virtualThreads true to use virtual threads, if supported by the runtime
+   */
+  public DatabaseExecutor(
+      int threads, int queueCapacity, @NonNull Duration timeout, boolean virtualThreads) {
+    Preconditions.checkArgument(threads > 0, "Threads must be positive");
+    Preconditions.checkArgument(queueCapacity > 0, "Queue capacity must be positive");
+    Preconditions.checkNotNull(timeout, "Timeout must not be null");
+    ThreadFactory virtualFactory = virtualThreads ? createVirtualThreadFactory() : null;
+    this.virtual = virtualFactory != null;
+    this.queueCapacity = queueCapacity;
+    this.timeoutMillis = timeout.toMillis();
+    this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new ArrayBlockingQueue<>(queueCapacity),
+        virtualFactory != null ? virtualFactory : createPlatformThreadFactory(),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Executes {@code action} on this executor. The returned future completes exceptionally
+   * with a {@code RejectedExecutionException} if the queue is full, and with a
+   * {@code TimeoutException} if the operation takes longer than the timeout.
+   */
+  public <T> CompletableFuture<T> submit(SkywarsDatabase.@NonNull SupplyingAction<T> action) {
+    Preconditions.checkNotNull(action, "Action must not be null");
+    CompletableFuture<T> future = new CompletableFuture<>();
+    Future<?> task;
+    try {
+      task = executor.submit(() -> {
+        if (future.isDone()) return; // timed out while queued
+        try {
+          future.complete(action.execute());
+        } catch (Throwable t) {
+          future.completeExceptionally(t);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      rejectedCount.increment();
+      future.completeExceptionally(e);
+      return future;
+    }
+    submittedCount.increment();
+    peakQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+    if (timeoutMillis <= 0) return future;
+    future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((v, t) -> {
+      if (!(t instanceof TimeoutException)) return;
+      timeoutCount.increment();
+      task.cancel(true);
+    });
+    return future;
+  }
+
+  /** Stops accepting operations and waits up to {@code timeout} for the queued ones. */
+  public void shutdown(@NonNull Duration timeout) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS))
+        Skywars.logger().log(Level.WARNING, "Discarded {0} pending database operations",
+            executor.shutdownNow().size());
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /** Returns the amount of operations waiting for execution. */
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  /** Returns the highest amount of operations that waited for execution at once. */
+  public int getPeakQueueDepth() {
+    return peakQueueDepth.get();
+  }
+
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /** Returns the amount of operations being executed. */
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  public long getCompletedCount() {
+    return executor.getCompletedTaskCount();
+  }
+
+  public long getSubmittedCount() {
+    return submittedCount.sum();
+  }
+
+  public long getRejectedCount() {
+    return rejectedCount.sum();
+  }
+
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  private static ThreadFactory createPlatformThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return (runnable) -> {
+      Thread thread = new Thread(runnable, "Skywarz-Database-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /** Returns a factory of virtual threads, or null if the runtime does not support these. */
+  private static @Nullable ThreadFactory createVirtualThreadFactory() {
+    try {
+      // Thread.ofVirtual().name(...).factory(), accessed reflectively to run on Java 11
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+      builder = builderClass.getMethod("name", String.class, long.class)
+          .invoke(builder, "Skywarz-Database-", 1L);
+      return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException e) {
+      Skywars.logger().info("Virtual threads are not supported, using platform threads");
+      return null;
+    }
+  }
+
+}
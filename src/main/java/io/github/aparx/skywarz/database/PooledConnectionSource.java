@@ -0,0 +1,276 @@
+package io.github.aparx.skywarz.database;
+
+import com.j256.ormlite.jdbc.JdbcPooledConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.utils.LatencyHistogram;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+/**
+ * Pool of JDBC connections that bounds the amount of connections in use, validates connections
+ * that were idle before handing them out and records how long callers wait for a connection.
+ * <p>Connections idle for longer than the idle timeout are closed in the background, down to
+ * the minimum amount of connections, which is opened again if connections are lost. Idle
+ * connections are also closed once they are requested the next time.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 20:20
+ * @since 1.0
+ */
+public final class PooledConnectionSource extends JdbcPooledConnectionSource {
+
+  /** Connections idle for at least this long are validated before handed out */
+  private static final long VALIDATION_IDLE_MILLIS = 5_000;
+
+  private final int minConnections;
+
+  private final int maxConnections;
+
+  private final long maxWaitMillis;
+
+  private final long idleTimeoutMillis;
+
+  private final @Nullable String validationQuery;
+
+  private final Semaphore permits;
+
+  /** The time at which each currently free connection has last been released */
+  private final Map<DatabaseConnection, Long> releaseTimes = new ConcurrentHashMap<>();
+
+  private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+  private final LongAdder timeoutCount = new LongAdder();
+
+  private final LongAdder evictionCount = new LongAdder();
+
+  private final ScheduledExecutorService sweeper;
+
+  /**
+   * @param validationQuery the query validating idle connections, or null to use the
+   *                        default query of the database type
+   */
+  public PooledConnectionSource(
+      @NonNull String url, @Nullable String username, @Nullable String password,
+      int minConnections, int maxConnections, long maxWaitMillis, long idleTimeoutMillis,
+      @Nullable String validationQuery) throws SQLException {
+    super(url, username, password);
+    if (maxConnections < 1 || minConnections < 0 || minConnections > maxConnections)
+      throw new IllegalArgumentException("Invalid connection bounds");
+    this.minConnections = minConnections;
+    this.maxConnections = maxConnections;
+    this.maxWaitMillis = maxWaitMillis;
+    this.idleTimeoutMillis = idleTimeoutMillis;
+    this.validationQuery = validationQuery;
+    this.permits = new Semaphore(maxConnections, true);
+    setMaxConnectionsFree(maxConnections);
+    // broken free connections are removed in the background with the default validation
+    long checkInterval = Math.max(idleTimeoutMillis, 30_000);
+    setCheckConnectionsEveryMillis(checkInterval);
+    this.sweeper = Executors.newSingleThreadScheduledExecutor((runnable) -> {
+      Thread thread = new Thread(runnable, "Skywarz-Database-Sweeper");
+      thread.setDaemon(true);
+      return thread;
+    });
+    sweeper.scheduleWithFixedDelay(this::sweepQuietly,
+        checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /** Opens the minimum amount of connections, so they are available when first needed. */
+  public void warmUp() throws SQLException {
+    DatabaseConnection[] connections = new DatabaseConnection[minConnections];
+    try {
+      for (int i = 0; i < connections.length; ++i)
+        connections[i] = getReadWriteConnection(null);
+    } finally {
+      for (DatabaseConnection connection : connections)
+        if (connection != null) releaseConnection(connection);
+    }
+  }
+
+  @Override
+  public DatabaseConnection getReadWriteConnection(String tableName) throws SQLException {
+    if (getSpecialConnection(tableName) != null)
+      // the connection of an ongoing transaction is already counted
+      return super.getReadWriteConnection(tableName);
+    long startTime = System.nanoTime();
+    try {
+      if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+        timeoutCount.increment();
+        throw new SQLException("Timed out waiting for a database connection after "
+            + maxWaitMillis + "ms (" + maxConnections + " connections in use)");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SQLException("Interrupted waiting for a database connection", e);
+    } finally {
+      waitTimes.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+    try {
+      return acquire(tableName);
+    } catch (SQLException | RuntimeException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void releaseConnection(DatabaseConnection connection) throws SQLException {
+    if (isSavedConnection(connection)) {
+      super.releaseConnection(connection);
+      return;
+    }
+    release(connection, System.currentTimeMillis());
+  }
+
+  @Override
+  public void close() throws IOException {
+    sweeper.shutdownNow();
+    super.close();
+  }
+
+  /**
+   * Closes free connections that are idle for longer than the idle timeout or that are broken,
+   * keeping at least the minimum amount of connections, and opens connections up to that
+   * minimum. Connections in use at the time are not affected.
+   */
+  public void sweep() throws SQLException {
+    List<DatabaseConnection> taken = new ArrayList<>();
+    List<Long> takenTimes = new ArrayList<>();
+    try {
+      // take out all free connections, without waiting for connections in use
+      for (int free = releaseTimes.size(); free > 0 && permits.tryAcquire(); --free) {
+        DatabaseConnection connection;
+        try {
+          connection = super.getReadWriteConnection(null);
+        } catch (SQLException | RuntimeException e) {
+          permits.release();
+          throw e;
+        }
+        Long releaseTime = releaseTimes.remove(connection);
+        long now = System.currentTimeMillis();
+        long idleTime = releaseTime != null ? now - releaseTime : 0;
+        boolean expired = idleTimeoutMillis > 0 && idleTime >= idleTimeoutMillis
+            && getCurrentConnectionsManaged() > minConnections;
+        if (expired || (idleTime >= VALIDATION_IDLE_MILLIS && !isValid(connection))) {
+          evictionCount.increment();
+          connection.closeQuietly();
+          release(connection, now);
+          continue;
+        }
+        taken.add(connection);
+        takenTimes.add(releaseTime != null ? releaseTime : now);
+      }
+      // all free connections are taken, thus the pool opens new connections
+      while (getCurrentConnectionsManaged() < minConnections && permits.tryAcquire()) {
+        try {
+          taken.add(super.getReadWriteConnection(null));
+        } catch (SQLException | RuntimeException e) {
+          permits.release();
+          throw e;
+        }
+        takenTimes.add(System.currentTimeMillis());
+      }
+    } finally {
+      // keep the release times, so that the idle time is not reset by the sweep
+      for (int i = 0; i < taken.size(); ++i) {
+        try {
+          release(taken.get(i), takenTimes.get(i));
+        } catch (SQLException e) {
+          Skywars.logger().log(Level.FINE, "Could not release swept connection", e);
+        }
+      }
+    }
+  }
+
+  private void sweepQuietly() {
+    try {
+      sweep();
+    } catch (SQLException | RuntimeException e) {
+      Skywars.logger().log(Level.WARNING, "Could not sweep database connections", e);
+    }
+  }
+
+  private void release(DatabaseConnection connection, long releaseTime) throws SQLException {
+    try {
+      if (!connection.isClosed())
+        releaseTimes.put(connection, releaseTime);
+      super.releaseConnection(connection);
+    } finally {
+      permits.release();
+    }
+  }
+
+  private DatabaseConnection acquire(String tableName) throws SQLException {
+    for (;;) {
+      DatabaseConnection connection = super.getReadWriteConnection(tableName);
+      Long releaseTime = releaseTimes.remove(connection);
+      if (releaseTime == null) return connection; // newly opened
+      long idleTime = System.currentTimeMillis() - releaseTime;
+      boolean expired = idleTimeoutMillis > 0 && idleTime >= idleTimeoutMillis;
+      if (!expired && (idleTime < VALIDATION_IDLE_MILLIS || isValid(connection)))
+        return connection;
+      // closed connections are dropped by the pool on release
+      evictionCount.increment();
+      connection.closeQuietly();
+      super.releaseConnection(connection);
+    }
+  }
+
+  private boolean isValid(DatabaseConnection connection) {
+    try {
+      if (validationQuery != null)
+        connection.queryForLong(validationQuery);
+      else
+        connection.queryForLong(getDatabaseType().getPingStatement());
+      return true;
+    } catch (SQLException e) {
+      return false;
+    }
+  }
+
+  public int getMinConnections() {
+    return minConnections;
+  }
+
+  public int getMaxConnections() {
+    return maxConnections;
+  }
+
+  /** Returns the amount of connections currently handed out. */
+  public int getActiveCount() {
+    return maxConnections - permits.availablePermits();
+  }
+
+  /** Returns the amount of callers currently waiting for a connection. */
+  public int getWaitingCount() {
+    return permits.getQueueLength();
+  }
+
+  /** Returns the histogram of how long callers waited for a connection. */
+  public @NonNull LatencyHistogram getWaitTimes() {
+    return waitTimes;
+  }
+
+  public long getTimeoutCount() {
+    return timeoutCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+}
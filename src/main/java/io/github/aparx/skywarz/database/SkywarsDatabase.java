@@ -1,7 +1,6 @@
 package io.github.aparx.skywarz.database;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.logger.Logger;
 import com.j256.ormlite.support.ConnectionSource;
 import io.github.aparx.bufig.configurable.field.ConfigMapping;
@@ -10,11 +9,14 @@ import io.github.aparx.bufig.configurable.object.ConfigObject;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.database.stats.PlayerStatsManager;
 import io.github.aparx.skywarz.handler.SkywarsConfigHandler;
+import io.github.aparx.skywarz.utils.tick.TickDuration;
+import io.github.aparx.skywarz.utils.tick.TimeUnit;
 import lombok.*;
-import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.LinkedList;
 import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
@@ -43,6 +45,9 @@ public final class SkywarsDatabase {
   @Getter(onMethod_ = {@Synchronized})
   private volatile ConnectionSource source;
 
+  /** The executor of all database operations, or null if not connected */
+  private volatile @Nullable DatabaseExecutor executor;
+
   /** Queue defining consumers that are executed when the database is loaded */
   @Getter(AccessLevel.NONE)
   private final Queue<Consumer<SkywarsDatabase>> queue = new LinkedList<>();
@@ -70,11 +75,25 @@ public final class SkywarsDatabase {
       return CompletableFuture.completedFuture(null);
     }
     setState(DatabaseLoadingState.LOADING);
+    if (executor != null) executor.shutdown(Duration.ZERO);
+    this.executor = new DatabaseExecutor(
+        Math.max(Config.instance.getExecutorThreads(), 1),
+        Math.max(Config.instance.getExecutorQueue(), 1),
+        Duration.ofSeconds(Math.max(Config.instance.getExecutorTimeout(), 0)),
+        Config.instance.isExecutorVirtualThreads());
     return executeAsync(() -> {
-      this.source = new JdbcConnectionSource(
-          Config.instance.getJdbc(),
-          Config.instance.getUsername(),
-          Config.instance.getPassword());
+      Config config = Config.instance;
+      int maxConnections = Math.max(config.getPoolMaxConnections(), 1);
+      String validationQuery = config.getPoolValidationQuery();
+      PooledConnectionSource source = new PooledConnectionSource(
+          config.getJdbc(), config.getUsername(), config.getPassword(),
+          Math.min(Math.max(config.getPoolMinConnections(), 0), maxConnections),
+          maxConnections,
+          Duration.ofSeconds(Math.max(config.getPoolMaxWait(), 0)).toMillis(),
+          Duration.ofSeconds(Math.max(config.getPoolIdleTimeout(), 0)).toMillis(),
+          validationQuery == null || validationQuery.isBlank() ? null : validationQuery);
+      source.warmUp();
+      this.source = source;
       Skywars.logger().info("Initialized database");
     }).thenCompose((x) -> {
       try {
@@ -90,8 +109,12 @@ public final class SkywarsDatabase {
   }
 
   public void disconnect() {
-    if (isLoaded()) source.closeQuietly();
+    // unregister first, so that buffered writes are written before the connection is closed
     statsManager.unregister();
+    DatabaseExecutor executor = this.executor;
+    if (executor != null) executor.shutdown(Duration.ofSeconds(5));
+    this.executor = null;
+    if (isLoaded()) source.closeQuietly();
   }
 
   public boolean isState(DatabaseLoadingState state) {
@@ -106,22 +129,31 @@ public final class SkywarsDatabase {
     return source != null && getState().isEnabled();
   }
 
+  /** Returns the interval in which buffered writes are written to the database. */
+  public TickDuration getFlushInterval() {
+    return TickDuration.of(TimeUnit.SECONDS, Math.max(Config.instance.getFlushInterval(), 1));
+  }
+
+  /** Returns the amount of buffered writes at which they are written immediately. */
+  public int getFlushThreshold() {
+    return Math.max(Config.instance.getFlushThreshold(), 1);
+  }
+
+  /**
+   * Executes {@code action} on the database executor. The returned future completes
+   * exceptionally if the executor is saturated or the action exceeds its timeout.
+   */
   public <T> CompletableFuture<T> executeAsync(SupplyingAction<T> action) {
     Plugin plugin = Skywars.plugin();
-    if (!plugin.isEnabled()) {
+    DatabaseExecutor executor = this.executor;
+    if (!plugin.isEnabled() || executor == null || executor.isShutdown()) {
       Skywars.logger().log(Level.FINER, "Cannot execute database action (plugin disabled)");
       return CompletableFuture.completedFuture(null);
     }
-    CompletableFuture<T> future = new CompletableFuture<>();
-    Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-      try {
-        future.complete(action.execute());
-      } catch (Exception e) {
-        future.completeExceptionally(e);
-        throw new RuntimeException(e);
-      }
+    return executor.submit(action).whenComplete((v, t) -> {
+      if (t != null)
+        Skywars.logger().log(Level.WARNING, "Error in database action", t);
     });
-    return future;
   }
 
   public <T> CompletableFuture<T> executeAsync(RunningAction action) {
@@ -155,6 +187,8 @@ public final class SkywarsDatabase {
     @Document({
         "The Java Database Connectivity (JDBC) URL that identifies your target database.",
         "For MySQL, simply replace \"<hostname>\" and \"<database>\" with your respective values.",
+        "For local testing use \"jdbc:h2:mem:skywarz;DB_CLOSE_DELAY=-1\" (requires building",
+        "with the \"local-database\" profile, i.e. \"mvn package -Plocal-database\").",
         "Read: https://tableplus.com/blog/2019/09/jdbc-connection-strings.html"
     })
     private String jdbc = "jdbc:mysql://<hostname>/<database>";
@@ -165,6 +199,62 @@ public final class SkywarsDatabase {
     @ConfigMapping
     private String password = "<password>";
 
+    @ConfigMapping("pool.min connections")
+    @Document("The amount of connections that are opened when connecting")
+    private int poolMinConnections = 1;
+
+    @ConfigMapping("pool.max connections")
+    @Document({
+        "The maximum amount of connections used at the same time.",
+        "Should be at least the amount of executor threads."
+    })
+    private int poolMaxConnections = 4;
+
+    @ConfigMapping("pool.max wait")
+    @Document("The maximum time in seconds an operation waits for a free connection")
+    private int poolMaxWait = 5;
+
+    @ConfigMapping("pool.idle timeout")
+    @Document("The time in seconds after which idle connections are closed, or 0 for never")
+    private int poolIdleTimeout = 600;
+
+    @ConfigMapping("pool.validation query")
+    @Document({
+        "The query validating idle connections before they are used again.",
+        "Leave empty to use the default query of the database (i.e. \"SELECT 1\")."
+    })
+    private String poolValidationQuery = "";
+
+    @ConfigMapping("executor.threads")
+    @Document("The maximum amount of database operations that are executed at the same time")
+    private int executorThreads = 2;
+
+    @ConfigMapping("executor.queue")
+    @Document({
+        "The maximum amount of database operations waiting for execution.",
+        "Operations exceeding this amount are discarded until the database catches up."
+    })
+    private int executorQueue = 256;
+
+    @ConfigMapping("executor.timeout")
+    @Document("The maximum duration in seconds of a database operation, or 0 for no limit")
+    private int executorTimeout = 10;
+
+    @ConfigMapping("executor.virtual threads")
+    @Document("True to use virtual threads for database operations (requires Java 21)")
+    private boolean executorVirtualThreads = false;
+
+    @ConfigMapping("flush.interval")
+    @Document({
+        "The interval in seconds in which buffered statistics are written to the database.",
+        "Statistics are also written once the server shuts down."
+    })
+    private int flushInterval = 30;
+
+    @ConfigMapping("flush.threshold")
+    @Document("The amount of players with buffered statistics at which these are written")
+    private int flushThreshold = 64;
+
     private Config() {
       super((proxy) -> Skywars.getInstance().getConfigHandler().getOrCreate("database"));
     }
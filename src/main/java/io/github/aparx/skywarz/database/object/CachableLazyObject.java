@@ -2,40 +2,79 @@ package io.github.aparx.skywarz.database.object;
 
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
-import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import lombok.Synchronized;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.time.Duration;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
-@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+/**
+ * Object that is fetched lazily and cached for a given time.
+ * <p>Concurrent fetches share the same in-flight load. Once the cached object is stale, it is
+ * still served while it is being reloaded in the background (stale-while-revalidate). Loads
+ * that fail or find no object are cached for a shorter time, so that they are not retried on
+ * every access.
+ */
 public final class CachableLazyObject<T> implements FetchableLazyObject<T> {
 
+  /** Accesses of objects not bound to a register are recorded here and discarded */
+  private static final CacheStats UNBOUND_STATS = new CacheStats();
+
   /** Milliseconds, for how long the cached object is considered fresh */
   private final long freshTime;
 
+  /** Milliseconds, for how long a failed or empty load is considered fresh */
+  private final long negativeTime;
+
   private final @NonNull Supplier<@Nullable CompletableFuture<? extends T>> fetch;
   private final @Nullable T fallback;
 
   @Getter
   private volatile @Nullable T cached;
 
-  private volatile long lastCacheTime;
+  /** The time until which the cached object is fresh */
+  private volatile long freshUntil;
+
+  private @Nullable CompletableFuture<T> inFlight;
+
+  /** True if the cache was modified or purged while the in-flight load was running */
+  private boolean inFlightOutdated;
 
-  private volatile FetchableObjectState state = FetchableObjectState.LOADING;
+  private volatile @NonNull CacheStats stats = UNBOUND_STATS;
+
+  private CachableLazyObject(
+      long freshTime, long negativeTime,
+      @NonNull Supplier<@Nullable CompletableFuture<? extends T>> fetch, @Nullable T fallback) {
+    this.freshTime = freshTime;
+    this.negativeTime = negativeTime;
+    this.fetch = fetch;
+    this.fallback = fallback;
+  }
 
   public static <T> CachableLazyObject<T> of(
       @NonNull Duration freshDuration,
+      @NonNull Duration negativeDuration,
       @NonNull Supplier<CompletableFuture<? extends T>> fetch,
       @Nullable T fallback) {
     Preconditions.checkNotNull(freshDuration, "Duration must not be null");
+    Preconditions.checkNotNull(negativeDuration, "Duration must not be null");
     Preconditions.checkNotNull(fetch, "Fetch supplier must not be null");
-    return new CachableLazyObject<>(freshDuration.toMillis(), fetch, fallback);
+    return new CachableLazyObject<>(
+        freshDuration.toMillis(), negativeDuration.toMillis(), fetch, fallback);
+  }
+
+  public static <T> CachableLazyObject<T> of(
+      @NonNull Duration freshDuration,
+      @NonNull Supplier<CompletableFuture<? extends T>> fetch,
+      @Nullable T fallback) {
+    Preconditions.checkNotNull(freshDuration, "Duration must not be null");
+    Duration negativeDuration = freshDuration.compareTo(Duration.ofSeconds(30)) < 0
+        ? freshDuration : Duration.ofSeconds(30);
+    return of(freshDuration, negativeDuration, fetch, fallback);
   }
 
   public static <T> CachableLazyObject<T> of(
@@ -44,53 +83,109 @@ public final class CachableLazyObject<T> implements FetchableLazyObject<T> {
     return of(freshDuration, fetch, null);
   }
 
+  /**
+   * Returns the cached object, or the fallback if none is cached. Fetches the object if it is
+   * not fresh, without waiting for it.
+   */
   @Override
   public T get() {
-    fetch();
-    if (cached == null && state != FetchableObjectState.FRESH)
-      return fallback;
-    return cached;
+    if (!isFresh()) fetch();
+    else stats.recordHit();
+    T cached = this.cached;
+    return cached != null ? cached : fallback;
   }
 
   @Synchronized
   public @NonNull FetchableObjectState getState() {
-    updateState();
-    return state;
+    if (inFlight != null)
+      return FetchableObjectState.LOADING;
+    return isFresh() ? FetchableObjectState.FRESH : FetchableObjectState.STALE;
   }
 
+  /**
+   * Returns a future of the object. The future is completed immediately if the object is
+   * fresh, or if a stale object is cached (which is reloaded in the background). Otherwise,
+   * the future completes once the object is loaded, sharing the load with concurrent fetches.
+   */
   @Override
   @Synchronized
   @CanIgnoreReturnValue
   public CompletableFuture<? extends T> fetch() {
-    if (getState() == FetchableObjectState.FRESH)
+    T cached = this.cached;
+    if (isFresh()) {
+      stats.recordHit();
+      return CompletableFuture.completedFuture(cached != null ? cached : fallback);
+    }
+    CompletableFuture<T> future = inFlight != null ? inFlight : load();
+    if (cached != null && !future.isDone()) {
+      stats.recordStaleHit();
       return CompletableFuture.completedFuture(cached);
-    // STALE: thus force refresh
-    lastCacheTime = System.currentTimeMillis();
+    }
+    stats.recordMiss();
+    return future;
+  }
+
+  /** Purges the cache, so that the next access reloads the object. */
+  @Synchronized
+  public void purge() {
+    freshUntil = 0;
+    if (inFlight != null) inFlightOutdated = true;
+  }
+
+  /**
+   * Modifies the cached object, if any, using {@code action}.
+   * <p>A load that is in flight while the object is modified may have read its source before
+   * the modification, thus its result is not cached over the modified object. The object is
+   * instead considered stale and reloaded on the next access.
+   */
+  @Synchronized
+  public void modify(@NonNull Consumer<? super T> action) {
+    Preconditions.checkNotNull(action, "Action must not be null");
+    T cached = this.cached;
+    if (cached != null) action.accept(cached);
+    if (inFlight != null) inFlightOutdated = true;
+  }
+
+  /** Sets the counters to which accesses of this object are recorded. */
+  void bindStats(@NonNull CacheStats stats) {
+    Preconditions.checkNotNull(stats, "Stats must not be null");
+    this.stats = stats;
+  }
+
+  private boolean isFresh() {
+    return System.currentTimeMillis() < freshUntil;
+  }
+
+  private CompletableFuture<T> load() {
+    long startTime = System.nanoTime();
     CompletableFuture<? extends T> future = fetch.get();
     if (future == null) {
       // FRESH: due to the database being deactivated
-      state = FetchableObjectState.FRESH;
+      freshUntil = System.currentTimeMillis() + freshTime;
       return CompletableFuture.completedFuture(fallback);
     }
-    state = FetchableObjectState.LOADING;
-    return future.thenApply((objectFetched) -> {
-      // FRESH: due to the fetch finishing
-      lastCacheTime = System.currentTimeMillis();
-      state = FetchableObjectState.FRESH;
-      return cached = objectFetched;
-    });
+    CompletableFuture<T> loading = future.<T>thenApply((object) -> object)
+        .whenComplete((object, t) -> complete(object, t, startTime));
+    if (!loading.isDone()) inFlight = loading;
+    return loading;
   }
 
-  /** Purges the cache. */
   @Synchronized
-  public void purge() {
-    lastCacheTime = 0;
-    state = FetchableObjectState.STALE;
-  }
-
-  private void updateState() {
-    if (System.currentTimeMillis() - lastCacheTime > freshTime)
-      state = FetchableObjectState.STALE;
+  private void complete(@Nullable T object, @Nullable Throwable throwable, long startTime) {
+    inFlight = null;
+    boolean failed = throwable != null;
+    stats.recordLoad(System.nanoTime() - startTime, failed);
+    if (inFlightOutdated) {
+      // the object may miss modifications made during the load, thus reload on next access
+      inFlightOutdated = false;
+      if (!failed && cached == null) cached = object;
+      freshUntil = 0;
+      return;
+    }
+    // failed loads keep the stale object, which is served until the next attempt
+    if (!failed) cached = object;
+    boolean negative = failed || object == null;
+    freshUntil = System.currentTimeMillis() + (negative ? negativeTime : freshTime);
   }
 
-}
\ No newline at end of file
+}
@@ -5,49 +5,84 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
+import lombok.Getter;
+import lombok.Synchronized;
 import org.bukkit.Bukkit;
 import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
+ * Register of lazy objects, that is bounded in size and evicts objects individually.
+ * <p>Once the register exceeds its maximum size, the least recently accessed object is evicted.
+ * Objects that have not been accessed for the access expiry, or that were created longer ago
+ * than the write expiry, are expired on access and evicted by a sweep that runs off the main
+ * thread. Since each object expires on its own, the objects are not all refetched at once.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-10 09:47
  * @since 1.0
  */
 public final class CachableLazyObjectRegister<K, T> {
 
-  private final Map<K, CachableLazyObject<T>> map = new ConcurrentHashMap<>();
+  /** Entries in order of their last access, the least recently accessed entry being first */
+  private final LinkedHashMap<K, Entry<T>> map = new LinkedHashMap<>(16, .75f, true);
 
-  private final @NonNull TickDuration purgeInterval;
+  @Getter
+  private final int maximumSize;
+
+  /** Milliseconds after the last access at which an object expires, or zero for never */
+  private final long expireAfterAccess;
+
+  /** Milliseconds after the creation at which an object expires, or zero for never */
+  private final long expireAfterWrite;
+
+  private final @NonNull TickDuration sweepInterval;
 
   private final @NonNull Function<K, CachableLazyObject<T>> factory;
 
+  /** The counters of accesses to all objects of this register */
+  @Getter
+  private final CacheStats stats = new CacheStats();
+
   private BukkitTask task;
 
   public CachableLazyObjectRegister(
-      @NonNull TickDuration purgeInterval,
+      int maximumSize,
+      @NonNull Duration expireAfterAccess,
+      @NonNull Duration expireAfterWrite,
+      @NonNull TickDuration sweepInterval,
       @NonNull Function<K, CachableLazyObject<T>> factory) {
-    Preconditions.checkNotNull(purgeInterval, "Interval must not be null");
+    Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+    Preconditions.checkNotNull(expireAfterAccess, "Duration must not be null");
+    Preconditions.checkNotNull(expireAfterWrite, "Duration must not be null");
+    Preconditions.checkNotNull(sweepInterval, "Interval must not be null");
     Preconditions.checkNotNull(factory, "Factory must not be null");
-    this.purgeInterval = purgeInterval;
+    this.maximumSize = maximumSize;
+    this.expireAfterAccess = Math.max(expireAfterAccess.toMillis(), 0);
+    this.expireAfterWrite = Math.max(expireAfterWrite.toMillis(), 0);
+    this.sweepInterval = sweepInterval;
     this.factory = factory;
   }
 
+  @Synchronized
   public void clear() {
     map.clear();
   }
 
   public void register() {
     if (task != null) task.cancel();
-    long interval = purgeInterval.toTicks();
-    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), () -> clear(), interval, interval);
+    long interval = sweepInterval.toTicks();
+    task = Bukkit.getScheduler().runTaskTimerAsynchronously(
+        Skywars.plugin(), this::evictExpired, interval, interval);
   }
 
   public void unregister() {
@@ -58,9 +93,19 @@ public final class CachableLazyObjectRegister<K, T> {
   }
 
   @CheckReturnValue
+  @Synchronized
   public Optional<CachableLazyObject<T>> find(@NonNull K key) {
     Preconditions.checkNotNull(key, "Key must not be null");
-    return Optional.ofNullable(map.get(key));
+    Entry<T> entry = map.get(key);
+    if (entry == null) return Optional.empty();
+    long now = System.currentTimeMillis();
+    if (isExpired(entry, now)) {
+      map.remove(key);
+      stats.recordEviction();
+      return Optional.empty();
+    }
+    entry.lastAccess = now;
+    return Optional.of(entry.object);
   }
 
   @CanIgnoreReturnValue
@@ -69,17 +114,75 @@ public final class CachableLazyObjectRegister<K, T> {
   }
 
   @CanIgnoreReturnValue
+  @Synchronized
   public @NonNull CachableLazyObject<T> getOrCreate(@NonNull K key) {
-    return Objects.requireNonNull(map.computeIfAbsent(key, factory));
+    Optional<CachableLazyObject<T>> present = find(key);
+    if (present.isPresent()) return present.get();
+    CachableLazyObject<T> object = Objects.requireNonNull(factory.apply(key));
+    object.bindStats(stats);
+    map.put(key, new Entry<>(object, System.currentTimeMillis()));
+    if (map.size() > maximumSize) {
+      // the first entry is the least recently accessed one
+      Iterator<Entry<T>> iterator = map.values().iterator();
+      iterator.next();
+      iterator.remove();
+      stats.recordEviction();
+    }
+    return object;
   }
 
+  @Synchronized
   public boolean contains(@NonNull K key) {
     return map.containsKey(key);
   }
 
   @CanIgnoreReturnValue
+  @Synchronized
   public @Nullable CachableLazyObject<T> remove(@NonNull K key) {
-    return map.remove(key);
+    Entry<T> entry = map.remove(key);
+    return entry != null ? entry.object : null;
+  }
+
+  @Synchronized
+  public int size() {
+    return map.size();
+  }
+
+  /** Evicts all expired objects and returns the amount of objects evicted. */
+  @CanIgnoreReturnValue
+  @Synchronized
+  public int evictExpired() {
+    if (expireAfterAccess == 0 && expireAfterWrite == 0) return 0;
+    long now = System.currentTimeMillis();
+    int evicted = 0;
+    for (Iterator<Entry<T>> iterator = map.values().iterator(); iterator.hasNext(); ) {
+      if (isExpired(iterator.next(), now)) {
+        iterator.remove();
+        ++evicted;
+      }
+    }
+    stats.recordEvictions(evicted);
+    return evicted;
+  }
+
+  private boolean isExpired(@NonNull Entry<T> entry, long now) {
+    return (expireAfterAccess != 0 && now - entry.lastAccess >= expireAfterAccess)
+        || (expireAfterWrite != 0 && now - entry.creationTime >= expireAfterWrite);
+  }
+
+  private static final class Entry<T> {
+
+    private final @NonNull CachableLazyObject<T> object;
+
+    private final long creationTime;
+
+    private long lastAccess;
+
+    Entry(@NonNull CachableLazyObject<T> object, long creationTime) {
+      this.object = object;
+      this.creationTime = creationTime;
+      this.lastAccess = creationTime;
+    }
   }
 
 }
@@ -0,0 +1,97 @@
+package io.github.aparx.skywarz.database.object;
+
+import io.github.aparx.skywarz.utils.LatencyHistogram;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters of the accesses to and loads of cached objects.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 09:40
+ * @since 1.0
+ */
+public final class CacheStats {
+
+  private final LongAdder hitCount = new LongAdder();
+
+  private final LongAdder staleHitCount = new LongAdder();
+
+  private final LongAdder missCount = new LongAdder();
+
+  private final LongAdder loadCount = new LongAdder();
+
+  private final LongAdder loadFailureCount = new LongAdder();
+
+  private final LongAdder evictionCount = new LongAdder();
+
+  private final LatencyHistogram loadTimes = new LatencyHistogram();
+
+  /** Records an access that is served by a fresh object. */
+  public void recordHit() {
+    hitCount.increment();
+  }
+
+  /** Records an access that is served by a stale object, while it is being reloaded. */
+  public void recordStaleHit() {
+    staleHitCount.increment();
+  }
+
+  /** Records an access that has to wait for the object to be loaded. */
+  public void recordMiss() {
+    missCount.increment();
+  }
+
+  public void recordLoad(long nanos, boolean failed) {
+    loadCount.increment();
+    if (failed) loadFailureCount.increment();
+    loadTimes.record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  public void recordEviction() {
+    evictionCount.increment();
+  }
+
+  public void recordEvictions(int count) {
+    evictionCount.add(count);
+  }
+
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  public long getStaleHitCount() {
+    return staleHitCount.sum();
+  }
+
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  public long getLoadCount() {
+    return loadCount.sum();
+  }
+
+  public long getLoadFailureCount() {
+    return loadFailureCount.sum();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.sum();
+  }
+
+  /** Returns the histogram of how long loading took. */
+  public @NonNull LatencyHistogram getLoadTimes() {
+    return loadTimes;
+  }
+
+  /** Returns the ratio of accesses that did not have to wait for a load, or one if none. */
+  public double getHitRate() {
+    long hits = getHitCount() + getStaleHitCount();
+    long total = hits + getMissCount();
+    return total == 0 ? 1 : (double) hits / total;
+  }
+
+}
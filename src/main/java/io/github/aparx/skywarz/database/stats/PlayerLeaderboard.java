@@ -2,67 +2,278 @@ package io.github.aparx.skywarz.database.stats;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
 import com.j256.ormlite.stmt.QueryBuilder;
 import io.github.aparx.skywarz.Skywars;
-import io.github.aparx.skywarz.database.object.CachableLazyObject;
+import io.github.aparx.skywarz.database.SkywarsDatabase;
 import io.github.aparx.skywarz.entity.data.stats.PlayerStatsAccumulator;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import lombok.Synchronized;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
-import java.time.Duration;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
 
 /**
+ * Leaderboard of players ordered by their points, of which the top entries are kept in memory
+ * and updated incrementally whenever statistics are written.
+ * <p>The leaderboard is loaded once from the database. Afterward, written statistics are
+ * offered to it, so the materialized entries stay accurate without sorting the table again.
+ * Pages and ranks beyond the materialized entries are queried from the database, which uses
+ * an index on the points. Once players drop out of the materialized entries, so that fewer than
+ * half of them remain, the entries are loaded again in the background.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-14 16:14
  * @since 1.0
  */
-@RequiredArgsConstructor
 public final class PlayerLeaderboard {
 
-  /** The main leaderboard contains up to ten entries (meaning the Top 10) by default. */
+  /** The main leaderboard materializes the Top 100 entries by default. */
   @Getter
-  private static final PlayerLeaderboard mainLeaderboard = new PlayerLeaderboard(0, 10L);
+  private static final PlayerLeaderboard mainLeaderboard = new PlayerLeaderboard(100);
 
-  @Getter
-  private final CachableLazyObject<List<PlayerStatsAccumulator>> content =
-      CachableLazyObject.of(Duration.ofHours(1), () ->
-              executeQuery().thenApply((list) -> list.stream()
-                  .map(PlayerStatsEntity::accumulate)
-                  .collect(ImmutableList.toImmutableList())),
-          ImmutableList.of());
-
-  private final long offset;
-  private final long limit;
-
-  public CompletableFuture<List<PlayerStatsEntity>> executeQuery() {
-    return Skywars.getInstance().getDatabase().executeAsync(() -> {
-      QueryBuilder<PlayerStatsEntity, UUID> queryBuilder = createQuery();
+  private static final String POINTS_COLUMN = "points";
+
+  private static final String ID_COLUMN = "id";
+
+  /** Orders by points and then by the id as stored in the database, same as the query */
+  private static final Comparator<Entry> ORDER = Comparator
+      .comparingInt((Entry entry) -> entry.points).reversed()
+      .thenComparing((entry) -> entry.key);
+
+  private final int capacity;
+
+  /** The amount of entries below which the materialized entries are loaded again */
+  private final int lowWaterMark;
+
+  private final NavigableSet<Entry> ranking = new TreeSet<>(ORDER);
+
+  private final Map<UUID, Entry> entries = new HashMap<>();
+
+  /** True if all players are materialized, thus there are no players below the last entry */
+  private boolean exhaustive;
+
+  private @Nullable CompletableFuture<Void> loading;
+
+  /** Statistics offered while the entries are loaded again, replayed once loaded */
+  private @Nullable List<PlayerStatsEntity> refillOffers;
+
+  public PlayerLeaderboard(int capacity) {
+    Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+    this.capacity = capacity;
+    this.lowWaterMark = (capacity + 1) / 2;
+  }
+
+  /** Creates an index on the points, so that ranks and pages can be queried without sorting. */
+  public static void createIndex(@NonNull Dao<PlayerStatsEntity, UUID> dao) {
+    StringBuilder builder = new StringBuilder("CREATE INDEX ");
+    DatabaseType type = dao.getConnectionSource().getDatabaseType();
+    type.appendEscapedEntityName(builder, dao.getTableName() + "_" + POINTS_COLUMN + "_idx");
+    type.appendEscapedEntityName(builder.append(" ON "), dao.getTableName());
+    type.appendEscapedEntityName(builder.append(" ("), POINTS_COLUMN);
+    try {
+      dao.executeRaw(builder.append(')').toString());
+    } catch (SQLException e) {
+      // not every dialect supports "IF NOT EXISTS", thus expect the index to already exist
+      Skywars.logger().log(Level.FINE, "Did not create leaderboard index", e);
+    }
+  }
+
+  @Synchronized
+  public boolean isLoaded() {
+    return loading != null && loading.isDone() && !loading.isCompletedExceptionally();
+  }
+
+  /** Loads the materialized entries, unless they are already loaded or loading. */
+  @Synchronized
+  public CompletableFuture<Void> load() {
+    if (loading != null && !loading.isCompletedExceptionally())
+      return loading;
+    return loading = query(0, capacity).thenAccept((list) -> reset(list, list.size() < capacity));
+  }
+
+  /** Discards all materialized entries, so that they are loaded again when next requested. */
+  @Synchronized
+  public void invalidate() {
+    ranking.clear();
+    entries.clear();
+    exhaustive = false;
+    loading = null;
+    refillOffers = null;
+  }
+
+  /**
+   * Returns up to {@code limit} players starting at rank {@code offset + 1}, in order of their
+   * points. Pages within the materialized entries do not query the database.
+   */
+  public CompletableFuture<List<PlayerStatsAccumulator>> getPage(int offset, int limit) {
+    Preconditions.checkArgument(offset >= 0, "Offset must not be negative");
+    Preconditions.checkArgument(limit >= 0, "Limit must not be negative");
+    return load().thenCompose((v) -> {
+      List<PlayerStatsAccumulator> page = findPage(offset, limit);
+      if (page != null) return CompletableFuture.completedFuture(page);
+      return query(offset, limit).thenApply((list) -> list.stream()
+          .map(PlayerStatsEntity::accumulate)
+          .collect(ImmutableList.toImmutableList()));
+    });
+  }
+
+  /**
+   * Returns the rank of a player with given {@code points}, that is one more than the amount of
+   * players with more points. Ranks within the materialized entries do not query the database.
+   */
+  public CompletableFuture<Integer> getRank(int points) {
+    return load().thenCompose((v) -> {
+      int rank = findRank(points);
+      if (rank != -1) return CompletableFuture.completedFuture(rank);
+      return Skywars.getInstance().getDatabase().executeAsync(() -> 1 + (int) getStatsDao()
+          .queryBuilder().where().gt(POINTS_COLUMN, points).countOf());
+    });
+  }
+
+  /** Offers written statistics, updating the materialized entries if affected. */
+  @Synchronized
+  public void offer(@NonNull Collection<PlayerStatsEntity> stats) {
+    if (!isLoaded()) return;
+    if (refillOffers != null) refillOffers.addAll(stats);
+    for (PlayerStatsEntity entity : stats) {
+      Entry previous = entries.remove(entity.getId());
+      if (previous != null) ranking.remove(previous);
+      Entry entry = new Entry(entity);
+      if (!exhaustive && (ranking.isEmpty() || ORDER.compare(entry, ranking.last()) > 0))
+        // players not materialized may rank in between, thus the entry is not placeable
+        continue;
+      ranking.add(entry);
+      entries.put(entry.id, entry);
+      if (ranking.size() > capacity) {
+        entries.remove(ranking.pollLast().id);
+        exhaustive = false;
+      }
+    }
+    if (!exhaustive && ranking.size() < lowWaterMark) refill();
+  }
+
+  /** Removes the player with given {@code playerId}, i.e. because their stats are deleted. */
+  @Synchronized
+  public void remove(@NonNull UUID playerId) {
+    Entry entry = entries.remove(playerId);
+    if (entry != null) ranking.remove(entry);
+    if (refillOffers != null) {
+      // the running load may have read the player before its deletion, thus load again
+      refillOffers = null;
+      refill();
+    } else if (isLoaded() && !exhaustive && ranking.size() < lowWaterMark) refill();
+  }
+
+  @Synchronized
+  private @Nullable List<PlayerStatsAccumulator> findPage(int offset, int limit) {
+    if (!exhaustive && offset + limit > ranking.size())
+      return null;
+    ImmutableList.Builder<PlayerStatsAccumulator> builder = ImmutableList.builder();
+    Iterator<Entry> iterator = ranking.iterator();
+    for (int i = 0; i < offset + limit && iterator.hasNext(); ++i) {
+      Entry entry = iterator.next();
+      if (i >= offset) builder.add(entry.stats);
+    }
+    return builder.build();
+  }
+
+  @Synchronized
+  private int findRank(int points) {
+    if (!exhaustive && (ranking.isEmpty() || points < ranking.last().points))
+      // players with more points may not be materialized
+      return -1;
+    int rank = 1;
+    for (Entry entry : ranking) {
+      if (entry.points <= points) break;
+      ++rank;
+    }
+    return rank;
+  }
+
+  /**
+   * Loads the materialized entries again in the background, while the current entries are
+   * still served. Statistics offered in the meantime are replayed onto the loaded entries.
+   */
+  @Synchronized
+  private void refill() {
+    if (refillOffers != null) return;
+    List<PlayerStatsEntity> offers = refillOffers = new ArrayList<>();
+    query(0, capacity).whenComplete((list, throwable) -> refilled(list, throwable, offers));
+  }
+
+  @Synchronized
+  private void refilled(@Nullable List<PlayerStatsEntity> list, @Nullable Throwable throwable,
+                        @NonNull List<PlayerStatsEntity> offers) {
+    if (refillOffers != offers)
+      return; // invalidated or superseded by another load
+    refillOffers = null;
+    if (throwable != null) {
+      // keep the current entries, which are loaded again once offered statistics change
+      Skywars.logger().log(Level.WARNING, "Could not reload leaderboard", throwable);
+      return;
+    }
+    reset(list, list.size() < capacity);
+    if (!offers.isEmpty()) offer(offers);
+  }
+
+  @Synchronized
+  private void reset(@NonNull List<PlayerStatsEntity> list, boolean exhaustive) {
+    ranking.clear();
+    entries.clear();
+    for (PlayerStatsEntity entity : list) {
+      Entry entry = new Entry(entity);
+      ranking.add(entry);
+      entries.put(entry.id, entry);
+    }
+    this.exhaustive = exhaustive;
+  }
+
+  private CompletableFuture<List<PlayerStatsEntity>> query(long offset, long limit) {
+    SkywarsDatabase database = Skywars.getInstance().getDatabase();
+    return database.executeAsync(() -> {
+      QueryBuilder<PlayerStatsEntity, UUID> queryBuilder =
+          getStatsDao().queryBuilder().orderBy(POINTS_COLUMN, false).orderBy(ID_COLUMN, true);
       if (offset >= 1) queryBuilder.offset(offset);
       return queryBuilder.limit(limit).query();
     });
   }
 
-  public QueryBuilder<PlayerStatsEntity, UUID> createQuery() {
-    return Skywars.getInstance().getDatabase().getStatsManager().getStatsDao()
-        .queryBuilder().orderBy("points", false);
+  private static Dao<PlayerStatsEntity, UUID> getStatsDao() {
+    return Skywars.getInstance().getDatabase().getStatsManager().getStatsDao();
   }
 
-  public List<PlayerStatsAccumulator> createView(
-      int fromInclusiveIndex, int maxExclusiveIndex) {
-    Preconditions.checkState(fromInclusiveIndex >= maxExclusiveIndex,
-        "fromInclusiveIndex < maxExclusiveIndex");
-    List<PlayerStatsAccumulator> fetched = content.get();
-    maxExclusiveIndex = Math.min(maxExclusiveIndex, fetched.size());
-    if (fromInclusiveIndex < fetched.size())
-      return fetched.subList(fromInclusiveIndex, maxExclusiveIndex);
-    return ImmutableList.of();
-  }
+  private static final class Entry {
+
+    private final @NonNull UUID id;
+
+    /** The id as stored in the database, by which entries with equal points are ordered */
+    private final @NonNull String key;
+
+    private final int points;
+
+    private final @NonNull PlayerStatsAccumulator stats;
 
-  public List<PlayerStatsAccumulator> createView(int maxExclusiveIndex) {
-    return createView(0, maxExclusiveIndex);
+    Entry(@NonNull PlayerStatsEntity entity) {
+      this.id = entity.getId();
+      this.key = id.toString();
+      this.points = entity.getPoints();
+      this.stats = entity.accumulate();
+    }
   }
 
 }
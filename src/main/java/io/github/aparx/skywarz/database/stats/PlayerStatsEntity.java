@@ -26,7 +26,7 @@ public class PlayerStatsEntity implements Snowflake<UUID> {
   @DatabaseField(id = true)
   private UUID id;
 
-  // TODO ORMLite 6.1 index on `createTablesIfNotExisting` causes exception
+  /** Indexed by {@code PlayerLeaderboard#createIndex}, since ORMLite 6.1 fails to create it */
   @DatabaseField
   private int points;
 
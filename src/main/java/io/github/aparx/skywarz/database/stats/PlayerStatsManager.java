@@ -33,17 +33,19 @@ public final class PlayerStatsManager extends DatabaseObjectManager {
   }
 
   private final CachableLazyObjectRegister<UUID, PlayerStatsAccumulator> registry =
-      new CachableLazyObjectRegister<>(TickDuration.of(TimeUnit.MINUTES, 30),
+      new CachableLazyObjectRegister<>(1024, Duration.ofMinutes(30), Duration.ofHours(2),
+          TickDuration.of(TimeUnit.MINUTES, 1),
           (uuid) -> createStatsObjectWrapper(Duration.ofMinutes(5), uuid));
 
+  private final PlayerStatsWriteBuffer writeBuffer = new PlayerStatsWriteBuffer(this);
+
   public CachableLazyObject<PlayerStatsAccumulator>
   createStatsObjectWrapper(@NonNull Duration freshTime, @NonNull UUID playerId) {
     PlayerStatsAccumulator defaultObject = new PlayerStatsAccumulator(playerId);
     return CachableLazyObject.of(freshTime, () -> {
       if (getDatabase().isEnabled())
-        return query(playerId).thenApply(stats -> stats != null
-            ? stats.accumulate()
-            : defaultObject);
+        // includes the statistics that are buffered or being written
+        return getDatabase().executeAsync(() -> writeBuffer.load(playerId));
       return null;
     }, defaultObject);
   }
@@ -53,15 +55,19 @@ public final class PlayerStatsManager extends DatabaseObjectManager {
     SkywarsDatabase database = getDatabase();
     Preconditions.checkState(database.isEnabled(), "Database is not enabled");
     registry.register();
+    writeBuffer.register(database.getFlushInterval(), database.getFlushThreshold());
     DaoManager.createDao(database.getSource(), PlayerStatsEntity.class);
     return database.executeAsync(() -> {
       TableUtils.createTableIfNotExists(database.getSource(), PlayerStatsEntity.class);
+      PlayerLeaderboard.createIndex(getStatsDao());
     });
   }
 
   @Override
   public void unregister() {
+    writeBuffer.unregister();
     registry.unregister();
+    PlayerLeaderboard.getMainLeaderboard().invalidate();
   }
 
   public Dao<PlayerStatsEntity, UUID> getStatsDao() {
@@ -69,24 +75,28 @@ public final class PlayerStatsManager extends DatabaseObjectManager {
   }
 
   public CompletableFuture<Integer> delete(@NonNull UUID uuid) {
+    writeBuffer.discard(uuid);
     return getDatabase().executeAsync(() -> getStatsDao().deleteById(uuid))
         .thenApply((rowsAffected) -> {
           getRegistry().remove(uuid);
+          PlayerLeaderboard.getMainLeaderboard().remove(uuid);
           return rowsAffected;
         });
   }
 
-  public CompletableFuture<Dao.CreateOrUpdateStatus> apply(@NonNull PlayerStatsAccumulator data) {
-    return query(data.getId()).thenCompose((stats) -> {
-      stats = stats != null ? stats : new PlayerStatsEntity();
-      stats.setId(data.getId());
-      stats.add(data);
-      return update(stats);
-    }).thenApply((status) -> {
-      // force a re-fetch of the data next time a user requests this data
-      registry.find(data.getId()).ifPresent(CachableLazyObject::purge);
-      return status;
-    });
+  /**
+   * Adds the statistics of {@code data} to the statistics of its player.
+   * <p>The statistics are buffered and written to the database in batches, while the cached
+   * statistics of the player are updated immediately.
+   */
+  public void apply(@NonNull PlayerStatsAccumulator data) {
+    Preconditions.checkNotNull(data, "Data must not be null");
+    Preconditions.checkState(getDatabase().isEnabled(), "Database is not enabled");
+    writeBuffer.add(data);
+    // modify (rather than mutate the cached object) so that an in-flight load, which may have
+    // read the buffer before the data was added, does not replace the updated statistics
+    registry.find(data.getId())
+        .ifPresent((object) -> object.modify((cached) -> cached.apply(data)));
   }
 
   public CompletableFuture<Dao.CreateOrUpdateStatus> update(@NonNull PlayerStatsEntity stats) {
@@ -0,0 +1,341 @@
+package io.github.aparx.skywarz.database.stats;
+
+import com.google.common.base.Preconditions;
+import com.j256.ormlite.dao.Dao;
+import com.j256.ormlite.db.DatabaseType;
+import com.j256.ormlite.support.ConnectionSource;
+import com.j256.ormlite.support.DatabaseConnection;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.database.SkywarsDatabase;
+import io.github.aparx.skywarz.entity.data.stats.PlayerStatsAccumulator;
+import io.github.aparx.skywarz.entity.data.stats.PlayerStatsKey;
+import io.github.aparx.skywarz.utils.tick.TickDuration;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+
+/**
+ * Write-behind buffer of statistics, that coalesces the deltas of each player and writes them
+ * to the database in batches.
+ * <p>Buffered deltas are flushed in an interval, or as soon as deltas of a given amount of
+ * players are buffered. A flush updates all existing rows using a single batched statement,
+ * that adds the deltas to the stored values, and inserts the rows that do not exist yet.
+ * <p>Deltas being written remain visible to {@link #load(UUID)} until their write is committed,
+ * or are buffered again if it fails, so that loads never miss deltas that are not yet stored.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 15:30
+ * @since 1.0
+ */
+public final class PlayerStatsWriteBuffer {
+
+  /** The columns of the stats table in the order of {@code PlayerStatsKey} */
+  private static final String[] COLUMNS =
+      {"points", "kills", "deaths", "matchesPlayed", "matchesWon"};
+
+  private static final String ID_COLUMN = "id";
+
+  private final @NonNull PlayerStatsManager manager;
+
+  private final Map<UUID, PlayerStatsAccumulator> pending = new ConcurrentHashMap<>();
+
+  /** Batches drained from the pending deltas, that are being written, guarded by the lock */
+  private final Set<Map<UUID, PlayerStatsAccumulator>> inFlight =
+      Collections.newSetFromMap(new IdentityHashMap<>());
+
+  /** Lock that is held exclusively while batches are drained, committed or restored */
+  private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+
+  /** The amount of batches committed, incremented while holding the lock exclusively */
+  private volatile long commitCount;
+
+  private final AtomicBoolean flushing = new AtomicBoolean();
+
+  private @Nullable BukkitTask task;
+
+  private volatile int threshold = Integer.MAX_VALUE;
+
+  private @Nullable String updateStatement, insertStatement;
+
+  public PlayerStatsWriteBuffer(@NonNull PlayerStatsManager manager) {
+    Preconditions.checkNotNull(manager, "Manager must not be null");
+    this.manager = manager;
+  }
+
+  /**
+   * Starts flushing this buffer in given {@code interval}, or as soon as the deltas of
+   * {@code threshold} players are buffered.
+   */
+  public void register(@NonNull TickDuration interval, int threshold) {
+    Preconditions.checkNotNull(interval, "Interval must not be null");
+    Preconditions.checkArgument(threshold > 0, "Threshold must be positive");
+    cancelTask();
+    this.threshold = threshold;
+    long ticks = Math.max(interval.toTicks(), 1);
+    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), this::flush, ticks, ticks);
+  }
+
+  /** Stops the interval and writes all buffered deltas on the calling thread. */
+  public void unregister() {
+    cancelTask();
+    if (!pending.isEmpty() && manager.getDatabase().isLoaded()) try {
+      write(drain());
+    } catch (SQLException e) {
+      Skywars.logger().log(Level.SEVERE, "Could not write buffered statistics", e);
+    }
+  }
+
+  /** Adds {@code delta} to the buffered deltas of its player. */
+  public void add(@NonNull PlayerStatsAccumulator delta) {
+    Preconditions.checkNotNull(delta, "Delta must not be null");
+    merge(delta);
+    if (pending.size() >= threshold)
+      flush();
+  }
+
+  /**
+   * Queries the stored statistics of {@code playerId} on the calling thread and applies the
+   * deltas that are not yet written, in the order they are going to be written.
+   */
+  public @NonNull PlayerStatsAccumulator load(@NonNull UUID playerId) throws SQLException {
+    Preconditions.checkNotNull(playerId, "Player must not be null");
+    for (;;) {
+      long commits = commitCount;
+      PlayerStatsEntity stats = manager.getStatsDao().queryForId(playerId);
+      commitLock.readLock().lock();
+      try {
+        // a batch committed during the query may or may not be included in the row read
+        if (commits != commitCount) continue;
+        PlayerStatsAccumulator accumulator = stats != null
+            ? stats.accumulate()
+            : new PlayerStatsAccumulator(playerId);
+        for (Map<UUID, PlayerStatsAccumulator> batch : inFlight) {
+          PlayerStatsAccumulator delta = batch.get(playerId);
+          if (delta != null) accumulator.apply(delta);
+        }
+        PlayerStatsAccumulator delta = pending.get(playerId);
+        if (delta != null) accumulator.apply(delta);
+        return accumulator;
+      } finally {
+        commitLock.readLock().unlock();
+      }
+    }
+  }
+
+  /** Returns the sum of the deltas of {@code playerId}, that are buffered or being written. */
+  public @Nullable PlayerStatsAccumulator getPending(@NonNull UUID playerId) {
+    commitLock.readLock().lock();
+    try {
+      PlayerStatsAccumulator sum = null;
+      for (Map<UUID, PlayerStatsAccumulator> batch : inFlight) {
+        PlayerStatsAccumulator delta = batch.get(playerId);
+        if (delta == null) continue;
+        if (sum == null) sum = new PlayerStatsAccumulator(playerId);
+        sum.add(delta);
+      }
+      PlayerStatsAccumulator delta = pending.get(playerId);
+      if (delta == null) return sum;
+      if (sum == null) sum = new PlayerStatsAccumulator(playerId);
+      sum.add(delta);
+      return sum;
+    } finally {
+      commitLock.readLock().unlock();
+    }
+  }
+
+  /** Discards the buffered deltas of {@code playerId}. */
+  public void discard(@NonNull UUID playerId) {
+    pending.remove(playerId);
+  }
+
+  public int size() {
+    return pending.size();
+  }
+
+  /** Writes all buffered deltas asynchronously, unless a flush is already ongoing. */
+  public CompletableFuture<Void> flush() {
+    SkywarsDatabase database = manager.getDatabase();
+    if (pending.isEmpty() || !database.isLoaded() || !flushing.compareAndSet(false, true))
+      return CompletableFuture.completedFuture(null);
+    return database.<Void>executeAsync(() -> write(drain())).whenComplete((v, t) -> {
+      flushing.set(false);
+      if (t != null)
+        Skywars.logger().log(Level.WARNING, "Could not write buffered statistics", t);
+    });
+  }
+
+  private void cancelTask() {
+    if (task != null) {
+      task.cancel();
+      task = null;
+    }
+  }
+
+  private void merge(@NonNull PlayerStatsAccumulator delta) {
+    pending.compute(delta.getId(), (id, buffered) -> {
+      if (buffered == null)
+        buffered = new PlayerStatsAccumulator(id);
+      buffered.add(delta);
+      return buffered;
+    });
+  }
+
+  /** Moves all pending deltas into a batch, that is in flight until it is written. */
+  private Map<UUID, PlayerStatsAccumulator> drain() {
+    commitLock.writeLock().lock();
+    try {
+      Map<UUID, PlayerStatsAccumulator> batch = new LinkedHashMap<>(pending.size());
+      for (UUID id : pending.keySet()) {
+        PlayerStatsAccumulator delta = pending.remove(id);
+        if (delta != null) batch.put(id, delta);
+      }
+      if (!batch.isEmpty()) inFlight.add(batch);
+      return batch;
+    } finally {
+      commitLock.writeLock().unlock();
+    }
+  }
+
+  private void write(@NonNull Map<UUID, PlayerStatsAccumulator> batch) throws SQLException {
+    if (batch.isEmpty()) return;
+    List<PlayerStatsAccumulator> deltas = new ArrayList<>(batch.values());
+    Dao<PlayerStatsEntity, UUID> dao = manager.getStatsDao();
+    boolean committed = false;
+    try {
+      ConnectionSource source = dao.getConnectionSource();
+      prepareStatements(source.getDatabaseType(), dao.getTableName());
+      DatabaseConnection databaseConnection = source.getReadWriteConnection(dao.getTableName());
+      try {
+        Connection connection = (Connection) databaseConnection.getUnderlyingConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+          int[] updated = executeUpdate(connection, deltas);
+          executeInsert(connection, deltas, updated);
+          commitLock.writeLock().lock();
+          try {
+            connection.commit();
+            // loads from now on read the written rows, which already include the batch
+            inFlight.remove(batch);
+            ++commitCount;
+            committed = true;
+          } finally {
+            commitLock.writeLock().unlock();
+          }
+        } catch (SQLException e) {
+          connection.rollback();
+          throw e;
+        } finally {
+          connection.setAutoCommit(autoCommit);
+        }
+      } finally {
+        source.releaseConnection(databaseConnection);
+      }
+    } finally {
+      if (!committed) restore(batch);
+    }
+    PlayerLeaderboard leaderboard = PlayerLeaderboard.getMainLeaderboard();
+    if (leaderboard.isLoaded()) {
+      // update the leaderboard with the totals of the written players
+      leaderboard.offer(dao.queryBuilder().where().in(ID_COLUMN, batch.keySet()).query());
+    }
+  }
+
+  /** Buffers the deltas of a batch that failed to be written, to write them with the next flush. */
+  private void restore(@NonNull Map<UUID, PlayerStatsAccumulator> batch) {
+    commitLock.writeLock().lock();
+    try {
+      if (inFlight.remove(batch))
+        batch.values().forEach(this::merge);
+    } finally {
+      commitLock.writeLock().unlock();
+    }
+  }
+
+  private int[] executeUpdate(Connection connection, List<PlayerStatsAccumulator> batch)
+      throws SQLException {
+    PlayerStatsKey[] keys = PlayerStatsKey.values();
+    try (PreparedStatement statement = connection.prepareStatement(updateStatement)) {
+      for (PlayerStatsAccumulator delta : batch) {
+        int index = 0;
+        for (PlayerStatsKey key : keys) {
+          int value = delta.findGet(key);
+          statement.setInt(++index, value);
+          statement.setInt(++index, value);
+        }
+        statement.setString(++index, delta.getId().toString());
+        statement.addBatch();
+      }
+      return statement.executeBatch();
+    }
+  }
+
+  private void executeInsert(Connection connection, List<PlayerStatsAccumulator> batch,
+                             int[] updated) throws SQLException {
+    PlayerStatsKey[] keys = PlayerStatsKey.values();
+    try (PreparedStatement statement = connection.prepareStatement(insertStatement)) {
+      boolean inserting = false;
+      for (int i = 0; i < batch.size(); ++i) {
+        // drivers that do not report the affected rows are assumed to have updated the row
+        if (updated[i] != 0) continue;
+        PlayerStatsAccumulator delta = batch.get(i);
+        int index = 0;
+        statement.setString(++index, delta.getId().toString());
+        for (PlayerStatsKey key : keys)
+          statement.setInt(++index, Math.max(delta.findGet(key), 0));
+        statement.addBatch();
+        inserting = true;
+      }
+      if (inserting) statement.executeBatch();
+    }
+  }
+
+  private void prepareStatements(DatabaseType type, String tableName) {
+    if (updateStatement != null) return;
+    Preconditions.checkState(COLUMNS.length == PlayerStatsKey.values().length);
+    StringBuilder update = new StringBuilder("UPDATE ");
+    type.appendEscapedEntityName(update, tableName);
+    update.append(" SET ");
+    for (int i = 0; i < COLUMNS.length; ++i) {
+      if (i != 0) update.append(", ");
+      // values never fall below zero, same as PlayerStatsEntity#add
+      StringBuilder column = new StringBuilder();
+      type.appendEscapedEntityName(column, COLUMNS[i]);
+      update.append(column).append(" = CASE WHEN ").append(column)
+          .append(" + ? < 0 THEN 0 ELSE ").append(column).append(" + ? END");
+    }
+    update.append(" WHERE ");
+    type.appendEscapedEntityName(update, ID_COLUMN);
+    update.append(" = ?");
+    StringBuilder insert = new StringBuilder("INSERT INTO ");
+    type.appendEscapedEntityName(insert, tableName);
+    insert.append(" (");
+    type.appendEscapedEntityName(insert, ID_COLUMN);
+    for (String column : COLUMNS)
+      type.appendEscapedEntityName(insert.append(", "), column);
+    insert.append(") VALUES (?");
+    insert.append(", ?".repeat(COLUMNS.length)).append(')');
+    this.insertStatement = insert.toString();
+    this.updateStatement = update.toString();
+  }
+
+}
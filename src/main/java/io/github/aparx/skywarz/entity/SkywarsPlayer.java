@@ -27,6 +27,7 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.*;
 import java.util.function.Consumer;
@@ -84,6 +85,12 @@ public final class SkywarsPlayer implements Snowflake<UUID>, Audience, RegisterN
     return findPlayer(player.getUniqueId());
   }
 
+  /** Returns the player of given entity without creating it, or null if it does not exist. */
+  public static @Nullable SkywarsPlayer getPlayerIfPresent(@NonNull Player player) {
+    Preconditions.checkNotNull(player, "Player must not be null");
+    return playerMap.get(player.getUniqueId());
+  }
+
   public static void forPlayers(Consumer<SkywarsPlayer> action) {
     playerMap.forEach(action);
   }
@@ -58,6 +58,27 @@ public class PlayerStatsAccumulator {
     update(PlayerStatsKey.WON, (val) -> val.addAndGet(databaseObject.getMatchesWon()));
   }
 
+  /** Adds all statistics of {@code accumulator} to this accumulator. */
+  public void add(@NonNull PlayerStatsAccumulator accumulator) {
+    Preconditions.checkNotNull(accumulator, "Accumulator must not be null");
+    for (PlayerStatsKey key : PlayerStatsKey.values()) {
+      int delta = accumulator.findGet(key);
+      if (delta != 0) increment(key, delta);
+    }
+  }
+
+  /**
+   * Adds all statistics of {@code delta} to this accumulator, never falling below zero, same
+   * as the statistics stored in the database.
+   */
+  public void apply(@NonNull PlayerStatsAccumulator delta) {
+    Preconditions.checkNotNull(delta, "Delta must not be null");
+    for (PlayerStatsKey key : PlayerStatsKey.values()) {
+      int value = delta.findGet(key);
+      if (value != 0) update(key, (atomic) -> atomic.updateAndGet((x) -> Math.max(x + value, 0)));
+    }
+  }
+
   @Synchronized("lock")
   public void update(Consumer<PlayerStatsAccumulator> updater) {
     updater.accept(this);
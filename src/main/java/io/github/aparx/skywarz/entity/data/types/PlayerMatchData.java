@@ -37,6 +37,11 @@ public final class PlayerMatchData extends SkywarsPlayerData {
 
   private WeakReference<GameTeam> team;
 
+  /** The cached route of this player, discarded whenever the match, team or spectator changes */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private volatile PlayerMatchRoute route;
+
   private PlayerSnapshot snapshot;
 
   private GameKit kit;
@@ -57,6 +62,22 @@ public final class PlayerMatchData extends SkywarsPlayerData {
 
   public void setMatch(@Nullable GameMatch match) {
     currentMatch = new WeakReference<>(match);
+    route = null;
+  }
+
+  public void setSpectator(boolean isSpectator) {
+    this.isSpectator = isSpectator;
+    route = null;
+  }
+
+  /** Returns the (cached) route of this player, or null if the player is not in a match. */
+  public @Nullable PlayerMatchRoute getRoute() {
+    PlayerMatchRoute route = this.route;
+    if (route != null && route.getMatch() == getMatch())
+      return route;
+    GameMatch match = getMatch();
+    if (match == null) return null;
+    return this.route = new PlayerMatchRoute(match, getTeam(), isSpectator);
   }
 
   public boolean isInMatch() {
@@ -71,6 +92,7 @@ public final class PlayerMatchData extends SkywarsPlayerData {
 
   public void setTeam(GameTeam team) {
     this.team = new WeakReference<>(team);
+    route = null;
   }
 
   public boolean isInTeam() {
@@ -0,0 +1,68 @@
+package io.github.aparx.skywarz.entity.data.types;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.game.arena.ArenaBox;
+import io.github.aparx.skywarz.game.match.GameMatch;
+import io.github.aparx.skywarz.game.team.GameTeam;
+import lombok.Getter;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Immutable record of everything hot match event handlers need to know about a player: the
+ * match the player is in, their team, whether they spectate and the bounds of the arena.
+ * <p>A route is created lazily by {@link PlayerMatchData#getRoute()} and discarded whenever the
+ * match, team or spectator state of the player changes, thus handlers of frequent events such
+ * as movement can resolve all of this without any lookups or allocations.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-12 13:05
+ * @since 1.0
+ */
+@Getter
+public final class PlayerMatchRoute {
+
+  private final @NonNull GameMatch match;
+
+  private final @Nullable GameTeam team;
+
+  private final boolean isSpectator;
+
+  private final int minX, minY, minZ;
+
+  private final int maxX, maxY, maxZ;
+
+  PlayerMatchRoute(@NonNull GameMatch match, @Nullable GameTeam team, boolean isSpectator) {
+    Preconditions.checkNotNull(match, "Match must not be null");
+    this.match = match;
+    this.team = team;
+    this.isSpectator = isSpectator;
+    ArenaBox box = match.getArena().getData().getBox();
+    this.minX = box.getMinBlockX();
+    this.minY = box.getMinBlockY();
+    this.minZ = box.getMinBlockZ();
+    this.maxX = box.getMaxBlockX();
+    this.maxY = box.getMaxBlockY();
+    this.maxZ = box.getMaxBlockZ();
+  }
+
+  public boolean isWithin(@NonNull Location location) {
+    int y = location.getBlockY();
+    return y >= minY && y <= maxY && isWithinHorizontally(location);
+  }
+
+  public boolean isWithinHorizontally(@NonNull Location location) {
+    int x = location.getBlockX(), z = location.getBlockZ();
+    return x >= minX && z >= minZ && x <= maxX && z <= maxZ;
+  }
+
+  public boolean isInTeam() {
+    return team != null;
+  }
+
+  public boolean isTeammate(@NonNull PlayerMatchRoute other) {
+    return team != null && team.equals(other.team);
+  }
+
+}
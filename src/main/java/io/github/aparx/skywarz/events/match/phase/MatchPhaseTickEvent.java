@@ -5,9 +5,15 @@ import io.github.aparx.skywarz.events.match.MatchEvent;
 import io.github.aparx.skywarz.game.match.GameMatch;
 import io.github.aparx.skywarz.game.phase.GamePhase;
 import lombok.Getter;
+import org.bukkit.event.HandlerList;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
+ * Event called in the interval of a game phase, while the phase has not yet elapsed.
+ * <p>Unlike the other match events, this event has its own handler list, so that the phases
+ * can skip creating and calling it while no plugin listens to it. As a result, listeners of
+ * {@code MatchEvent} are not notified of this event.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-09 06:51
  * @since 1.0
@@ -15,6 +21,9 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 @Getter
 public class MatchPhaseTickEvent extends MatchEvent {
 
+  @Getter
+  private static final HandlerList handlerList = new HandlerList();
+
   private final @NonNull GamePhase phase;
 
   public MatchPhaseTickEvent(@NonNull GameMatch match, @NonNull GamePhase phase) {
@@ -23,4 +32,14 @@ public class MatchPhaseTickEvent extends MatchEvent {
     this.phase = phase;
   }
 
+  /** Returns true if at least one listener is registered for this event. */
+  public static boolean hasListeners() {
+    return handlerList.getRegisteredListeners().length != 0;
+  }
+
+  @Override
+  public @NonNull HandlerList getHandlers() {
+    return handlerList;
+  }
+
 }
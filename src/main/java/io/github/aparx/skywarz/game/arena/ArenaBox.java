@@ -30,6 +30,19 @@ public final class ArenaBox implements ConfigurationSerializable, CompletableSet
 
   private final Vector @NonNull [] minmax;
 
+  /** True once both points are set and the bounds below are computed */
+  private boolean bounded;
+
+  /** The normalized bounds as block coordinates, precomputed for allocation-free checks */
+  private int minBlockX, minBlockY, minBlockZ;
+
+  private int maxBlockX, maxBlockY, maxBlockZ;
+
+  /** The normalized bounds as exact coordinates */
+  private double minX, minY, minZ;
+
+  private double maxX, maxY, maxZ;
+
   public ArenaBox() {
     this(new Vector[Point.values().length]);
   }
@@ -57,14 +70,30 @@ public final class ArenaBox implements ConfigurationSerializable, CompletableSet
     Preconditions.checkState(isCompleted());
     Vector minVector = points[Point.MIN.ordinal()];
     Vector maxVector = points[Point.MAX.ordinal()];
-    minmax[Point.MIN.ordinal()] = Vector.getMinimum(minVector, maxVector);
-    minmax[Point.MAX.ordinal()] = Vector.getMaximum(minVector, maxVector);
+    Vector min = Vector.getMinimum(minVector, maxVector);
+    Vector max = Vector.getMaximum(minVector, maxVector);
+    minmax[Point.MIN.ordinal()] = min;
+    minmax[Point.MAX.ordinal()] = max;
+    minX = min.getX();
+    minY = min.getY();
+    minZ = min.getZ();
+    maxX = max.getX();
+    maxY = max.getY();
+    maxZ = max.getZ();
+    minBlockX = min.getBlockX();
+    minBlockY = min.getBlockY();
+    minBlockZ = min.getBlockZ();
+    maxBlockX = max.getBlockX();
+    maxBlockY = max.getBlockY();
+    maxBlockZ = max.getBlockZ();
+    bounded = true;
   }
 
   public void setPoint(@NonNull Point point, Vector vector) {
     Preconditions.checkNotNull(point, "Corner must not be null");
     points[point.ordinal()] = vector;
     if (isCompleted()) recalculateMinMax();
+    else bounded = false;
   }
 
   public Optional<Vector> getPoint(@NonNull Point point) {
@@ -72,50 +101,110 @@ public final class ArenaBox implements ConfigurationSerializable, CompletableSet
     return Optional.ofNullable(points[point.ordinal()]);
   }
 
+  /** Returns a copy of the normalized minimum corner of this box. */
+  public @NonNull Vector getMinimum() {
+    Preconditions.checkState(isCompleted(), "Box must be completed");
+    return minmax[Point.MIN.ordinal()].clone();
+  }
+
+  /** Returns a copy of the normalized maximum corner of this box. */
+  public @NonNull Vector getMaximum() {
+    Preconditions.checkState(isCompleted(), "Box must be completed");
+    return minmax[Point.MAX.ordinal()].clone();
+  }
+
+  public int getMinBlockX() {
+    checkBounded();
+    return minBlockX;
+  }
+
+  public int getMinBlockY() {
+    checkBounded();
+    return minBlockY;
+  }
+
+  public int getMinBlockZ() {
+    checkBounded();
+    return minBlockZ;
+  }
+
+  public int getMaxBlockX() {
+    checkBounded();
+    return maxBlockX;
+  }
+
+  public int getMaxBlockY() {
+    checkBounded();
+    return maxBlockY;
+  }
+
+  public int getMaxBlockZ() {
+    checkBounded();
+    return maxBlockZ;
+  }
+
+  /** Returns true if the block at given block coordinates is within this box. */
+  public boolean isWithin(int blockX, int blockY, int blockZ) {
+    checkBounded();
+    return blockY >= minBlockY && blockY <= maxBlockY
+        && isWithinHorizontally(blockX, blockZ);
+  }
+
+  /** Returns true if the column at given block coordinates is within this box. */
+  public boolean isWithinHorizontally(int blockX, int blockZ) {
+    checkBounded();
+    return blockX >= minBlockX && blockZ >= minBlockZ
+        && blockX <= maxBlockX && blockZ <= maxBlockZ;
+  }
+
   public boolean isWithin(@NonNull Vector position) {
-    Preconditions.checkNotNull(position, "Position must not be null");
-    return position.isInAABB(points[Point.MIN.ordinal()], points[Point.MAX.ordinal()]);
+    checkBounded();
+    double x = position.getX(), y = position.getY(), z = position.getZ();
+    return x >= minX && y >= minY && z >= minZ && x <= maxX && y <= maxY && z <= maxZ;
   }
 
   public boolean isWithin(@NonNull Location location) {
-    Preconditions.checkNotNull(location, "Location must not be null");
-    Preconditions.checkState(isCompleted(), "Box must be completed");
-    Vector min = minmax[Point.MIN.ordinal()];
-    Vector max = minmax[Point.MAX.ordinal()];
-    Preconditions.checkNotNull(min);
-    Preconditions.checkNotNull(max);
-    return location.getBlockX() >= min.getBlockX()
-        && location.getBlockZ() >= min.getBlockZ()
-        && location.getBlockY() >= min.getBlockY()
-        && location.getBlockX() <= max.getBlockX()
-        && location.getBlockZ() <= max.getBlockZ()
-        && location.getBlockY() <= max.getBlockY();
+    return isWithin(location.getBlockX(), location.getBlockY(), location.getBlockZ());
   }
 
   public boolean isWithinHorizontally(@NonNull Location location) {
-    Preconditions.checkNotNull(location, "Location must not be null");
-    Preconditions.checkState(isCompleted(), "Box must be completed");
-    Vector min = minmax[Point.MIN.ordinal()];
-    Vector max = minmax[Point.MAX.ordinal()];
-    Preconditions.checkNotNull(min);
-    Preconditions.checkNotNull(max);
-    return location.getBlockX() >= min.getBlockX()
-        && location.getBlockZ() >= min.getBlockZ()
-        && location.getBlockX() <= max.getBlockX()
-        && location.getBlockZ() <= max.getBlockZ();
+    return isWithinHorizontally(location.getBlockX(), location.getBlockZ());
   }
 
   public boolean isWithin(@NonNull BoundingBox boundingBox) {
-    Preconditions.checkNotNull(boundingBox, "BoundingBox must not be null");
-    Preconditions.checkState(isCompleted(), "Box must be completed");
-    Vector min = minmax[Point.MIN.ordinal()];
-    Vector max = minmax[Point.MAX.ordinal()];
-    return boundingBox.getMinX() >= min.getBlockX()
-        && boundingBox.getMinZ() >= min.getBlockZ()
-        && boundingBox.getMinY() >= min.getBlockY()
-        && boundingBox.getMaxX() <= max.getBlockX()
-        && boundingBox.getMaxZ() <= max.getBlockZ()
-        && boundingBox.getMaxY() <= max.getBlockY();
+    checkBounded();
+    return boundingBox.getMinX() >= minBlockX
+        && boundingBox.getMinZ() >= minBlockZ
+        && boundingBox.getMinY() >= minBlockY
+        && boundingBox.getMaxX() <= maxBlockX
+        && boundingBox.getMaxZ() <= maxBlockZ
+        && boundingBox.getMaxY() <= maxBlockY;
+  }
+
+  /**
+   * Classifies the block cuboid spanning from the given minimum to the given maximum block
+   * coordinates (inclusive) against this box.
+   */
+  public @NonNull Containment classify(
+      int fromX, int fromY, int fromZ, int toX, int toY, int toZ) {
+    checkBounded();
+    if (toX < minBlockX || toY < minBlockY || toZ < minBlockZ
+        || fromX > maxBlockX || fromY > maxBlockY || fromZ > maxBlockZ)
+      return Containment.OUTSIDE;
+    if (fromX >= minBlockX && fromY >= minBlockY && fromZ >= minBlockZ
+        && toX <= maxBlockX && toY <= maxBlockY && toZ <= maxBlockZ)
+      return Containment.INSIDE;
+    return Containment.PARTIAL;
+  }
+
+  /**
+   * Classifies the chunk at given chunk coordinates against this box horizontally, that is
+   * regardless of the height of the box.
+   */
+  public @NonNull Containment classifyChunk(int chunkX, int chunkZ) {
+    checkBounded();
+    int fromX = chunkX << 4, fromZ = chunkZ << 4;
+    return classify(fromX, minBlockY, fromZ, fromX + 15, maxBlockY, fromZ + 15);
   }
 
   public BoundingBox toBoundingBox() {
@@ -127,11 +216,25 @@ public final class ArenaBox implements ConfigurationSerializable, CompletableSet
         max.getX(), max.getY(), max.getZ());
   }
 
+  private void checkBounded() {
+    if (!bounded) throw new IllegalStateException("Box must be completed");
+  }
+
   @Override
   public @NonNull Map<String, Object> serialize() {
     return Map.of("points", points);
   }
 
+  /** The relation of a region to this box */
+  public enum Containment {
+    /** The region is entirely within the box */
+    INSIDE,
+    /** The region intersects with the box, but is not entirely within it */
+    PARTIAL,
+    /** The region does not intersect with the box */
+    OUTSIDE
+  }
+
   public enum Point {
     MIN, MAX;
 
@@ -6,7 +6,11 @@ import io.github.aparx.bufig.utils.ConversionUtils;
 import io.github.aparx.skywarz.game.SpawnGroup;
 import io.github.aparx.skywarz.game.SpawnList;
 import io.github.aparx.skywarz.game.arena.settings.ArenaSettings;
+import io.github.aparx.skywarz.game.chest.ChestConfig;
+import io.github.aparx.skywarz.game.chest.ChestItems;
+import io.github.aparx.skywarz.game.chest.ChestTier;
 import io.github.aparx.skywarz.game.team.TeamEnum;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Bukkit;
@@ -14,12 +18,16 @@ import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.SerializableAs;
+import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -39,6 +47,16 @@ public class ArenaData implements IArenaData, ConfigurationSerializable {
   private @NonNull EnumMap<TeamEnum, SpawnGroup> spawns;
   private @NonNull ArenaSettings settings;
 
+  /** The tiers of chests tagged within this arena by their block position */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final @NonNull Map<Vector, ChestTier> chestTiers = new HashMap<>();
+
+  /** The items of the chest tiers that are specific to this arena */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private final @NonNull EnumMap<ChestTier, ChestItems> loot = new EnumMap<>(ChestTier.class);
+
   public ArenaData() {
     this(new ArenaBox(), new EnumMap<>(TeamEnum.class), ArenaSettings.of());
   }
@@ -60,6 +78,16 @@ public class ArenaData implements IArenaData, ConfigurationSerializable {
         (ArenaSettings) data.get("settings"));
     newData.setLobby((Location) data.get("lobby"));
     newData.setSpectator((Location) data.get("spectator"));
+    if (data.get("chests") instanceof Map)
+      ((Map<?, ?>) data.get("chests")).forEach((tier, vectors) -> {
+        ChestTier chestTier = ChestTier.valueOf(String.valueOf(tier).toUpperCase());
+        for (Object vector : (Collection<?>) vectors)
+          newData.setChestTier((Vector) vector, chestTier);
+      });
+    if (data.get("loot") instanceof Map)
+      ((Map<?, ?>) data.get("loot")).forEach((tier, items) -> newData.loot.put(
+          ChestTier.valueOf(String.valueOf(tier).toUpperCase()),
+          ChestItems.of((Collection<?>) items)));
     if (data.containsKey("world")) {
       World world = Bukkit.getWorld((String) data.get("world"));
       Preconditions.checkNotNull(world, "World of arena has become invalid");
@@ -78,6 +106,15 @@ public class ArenaData implements IArenaData, ConfigurationSerializable {
       map.put("world", getWorld().getName());
     map.put("spawns", ConversionUtils.toGenericStringMap(getSpawns()));
     map.put("settings", getSettings());
+    Map<String, List<Vector>> chests = new HashMap<>();
+    chestTiers.forEach((vector, tier) -> chests.computeIfAbsent(
+        tier.name().toLowerCase(), (key) -> new ArrayList<>()).add(vector));
+    map.put("chests", chests);
+    if (!loot.isEmpty()) {
+      Map<String, Object> lootMap = new HashMap<>();
+      loot.forEach((tier, items) -> lootMap.put(tier.name().toLowerCase(), items.values()));
+      map.put("loot", lootMap);
+    }
     return map;
   }
 
@@ -105,9 +142,40 @@ public class ArenaData implements IArenaData, ConfigurationSerializable {
     this.spawns = spawns;
   }
 
+  /** Returns the tier of the chest at given block {@code position}, by default island. */
+  public @NonNull ChestTier getChestTier(@NonNull Vector position) {
+    Preconditions.checkNotNull(position, "Position must not be null");
+    return chestTiers.getOrDefault(toBlockVector(position), ChestTier.ISLAND);
+  }
+
+  /** Tags the chest at given block {@code position}, where the island tier removes the tag. */
+  public void setChestTier(@NonNull Vector position, @NonNull ChestTier tier) {
+    Preconditions.checkNotNull(position, "Position must not be null");
+    Preconditions.checkNotNull(tier, "Tier must not be null");
+    if (tier == ChestTier.ISLAND) chestTiers.remove(toBlockVector(position));
+    else chestTiers.put(toBlockVector(position), tier);
+  }
+
+  /**
+   * Returns the items of chests of given {@code tier}, specific to this arena or global. Tiers
+   * without any items fall back to the items of island chests.
+   */
+  public @NonNull ChestItems getLoot(@NonNull ChestTier tier) {
+    Preconditions.checkNotNull(tier, "Tier must not be null");
+    ChestItems items = loot.get(tier);
+    if (items != null && !items.isEmpty()) return items;
+    items = ChestConfig.getInstance().getItems(tier);
+    if (!items.isEmpty() || tier == ChestTier.ISLAND) return items;
+    return getLoot(ChestTier.ISLAND);
+  }
+
   @CanIgnoreReturnValue
   public SpawnGroup createSpawnsIfAbsent(@NonNull TeamEnum team) {
     return spawns.computeIfAbsent(team, (key) -> new SpawnList());
   }
 
+  private static Vector toBlockVector(@NonNull Vector position) {
+    return new Vector(position.getBlockX(), position.getBlockY(), position.getBlockZ());
+  }
+
 }
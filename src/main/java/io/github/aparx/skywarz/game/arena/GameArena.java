@@ -9,6 +9,7 @@ import io.github.aparx.skywarz.Magics;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.game.SpawnGroup;
 import io.github.aparx.skywarz.game.arena.reset.ArenaReset;
+import io.github.aparx.skywarz.game.arena.reset.ArenaResetMode;
 import io.github.aparx.skywarz.game.arena.reset.DefaultArenaReset;
 import io.github.aparx.skywarz.game.arena.settings.ArenaSettings;
 import io.github.aparx.skywarz.game.arena.sign.ArenaSignHandler;
@@ -42,8 +43,13 @@ public final class GameArena extends ConfigObject implements CompletableSetup {
   @Document("The data of this arena, do not modify unless you know the consequences!")
   private @NonNull ArenaData data;
 
+  @Getter(AccessLevel.NONE)
   private @NonNull ArenaReset reset = new DefaultArenaReset(this);
 
+  /** True if the reset has been set explicitly and is not derived from the reset mode rule */
+  @Getter(AccessLevel.NONE)
+  private boolean customReset;
+
   private final ArenaSignHandler signHandler = new ArenaSignHandler(this);
 
   public GameArena(@NonNull String initialName) {
@@ -110,10 +116,24 @@ public final class GameArena extends ConfigObject implements CompletableSetup {
     return Skywars.getInstance().getMatchManager().find(this);
   }
 
+  /**
+   * Returns the reset of this arena, which unless set explicitly is created according to the
+   * arena's {@code ArenaRule.RESET_MODE}, once the arena is neither acquired nor resetting.
+   */
+  public @NonNull ArenaReset getReset() {
+    ArenaResetMode mode = data.getSettings().getResetMode();
+    if (!customReset && !mode.isModeOf(reset)
+        && !reset.isResetting() && !isAcquiredByMatch())
+      reset = mode.create(this);
+    return reset;
+  }
+
   public void setReset(@NonNull ArenaReset reset) {
     Preconditions.checkNotNull(reset, "Reset must not be null");
     Preconditions.checkState(!isAcquiredByMatch(), "Arena is currently acquired by a match");
+    Preconditions.checkState(!this.reset.isResetting(), "Arena is currently being reset");
     this.reset = reset;
+    this.customReset = true;
   }
 
   @Override
@@ -0,0 +1,140 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.utils.TimedProcedure;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Synchronized;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Task that restores blocks of an arena over multiple ticks on the main thread, spending at
+ * most {@code budget} milliseconds per tick.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 10:14
+ * @since 1.0
+ */
+@Getter
+public abstract class AbstractRestoreTask {
+
+  /** The amount of blocks that are restored before the tick budget is checked again */
+  protected static final int BUDGET_CHECK_INTERVAL = 32;
+
+  /** Tasks restoring over multiple ticks, that are flushed if the plugin disables meanwhile */
+  private static final Set<AbstractRestoreTask> running = ConcurrentHashMap.newKeySet();
+
+  private final long budgetNanos;
+
+  private final TimedProcedure procedure = new TimedProcedure();
+
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+  private int ticks;
+
+  @Getter(AccessLevel.NONE)
+  private BukkitTask task;
+
+  public AbstractRestoreTask(double budgetMillis) {
+    Preconditions.checkArgument(budgetMillis > 0, "Budget must be positive");
+    this.budgetNanos = (long) (budgetMillis * 1E6);
+  }
+
+  /**
+   * Restores all remaining blocks of all running tasks immediately.
+   * <p>Called when the plugin unloads, as the tasks are cancelled along with the plugin and the
+   * blocks to restore are only kept in memory.
+   */
+  public static void flushAll() {
+    for (AbstractRestoreTask task : new ArrayList<>(running))
+      task.flush();
+  }
+
+  /**
+   * Restores blocks until either all blocks are restored or {@code deadlineNanos} is reached.
+   *
+   * @return true if all blocks have been restored
+   */
+  protected abstract boolean restore(long deadlineNanos);
+
+  /** Returns the total amount of units (i.e. blocks) this task restores. */
+  public abstract int size();
+
+  /** Called on the main thread once all blocks have been restored, before completion. */
+  protected void onComplete() {}
+
+  /**
+   * Starts restoring the blocks of this task.
+   * <p>If the plugin is disabling, no further ticks can be scheduled and thus all blocks are
+   * restored immediately.
+   *
+   * @return the future completed once all blocks have been restored
+   */
+  @Synchronized
+  @CanIgnoreReturnValue
+  public CompletableFuture<Void> start() {
+    if (task != null || isDone()) return completion;
+    procedure.start();
+    procedure.setProgress(0, size());
+    Plugin plugin = Skywars.getInstance().getPlugin();
+    if (plugin == null || !plugin.isEnabled())
+      flush();
+    else {
+      task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0, 1);
+      running.add(this);
+    }
+    return completion;
+  }
+
+  /** Restores all remaining blocks immediately, regardless of the tick budget. */
+  @Synchronized
+  public void flush() {
+    if (isDone()) return;
+    step(Long.MAX_VALUE);
+  }
+
+  @Synchronized
+  public boolean isDone() {
+    return completion.isDone();
+  }
+
+  @Synchronized
+  void tick() {
+    if (isDone()) return;
+    step(System.nanoTime() + budgetNanos);
+  }
+
+  private void step(long deadlineNanos) {
+    try {
+      ++ticks;
+      if (restore(deadlineNanos)) {
+        cancelTask();
+        procedure.finish();
+        onComplete();
+        completion.complete(null);
+      }
+    } catch (Exception e) {
+      cancelTask();
+      procedure.finish();
+      Skywars.logger().log(Level.SEVERE, "Could not restore arena blocks", e);
+      completion.completeExceptionally(e);
+    }
+  }
+
+  private void cancelTask() {
+    if (task != null) task.cancel();
+    task = null;
+    running.remove(this);
+  }
+
+}
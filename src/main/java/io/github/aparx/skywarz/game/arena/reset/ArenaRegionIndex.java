@@ -0,0 +1,145 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.github.aparx.skywarz.game.arena.ArenaData;
+import io.github.aparx.skywarz.utils.ChunkKeys;
+import io.github.aparx.skywarz.utils.array.LongIntHashMap;
+import lombok.Synchronized;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.util.Vector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.*;
+
+/**
+ * Spatial index that resolves the arena reset owning a block through the chunk the block is in.
+ * <p>Each registered reset is indexed by every chunk its arena's box intersects, thus a lookup
+ * is a single primitive hash lookup followed by a box check against the few resets sharing that
+ * chunk. The index is rebuilt on every (rare) registration change and published as an
+ * immutable snapshot, so lookups neither lock nor allocate.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-12 09:14
+ * @since 1.0
+ */
+public final class ArenaRegionIndex {
+
+  private final Set<DefaultArenaReset> resets = new LinkedHashSet<>();
+
+  private volatile Set<DefaultArenaReset> registered = ImmutableSet.of();
+
+  private volatile Map<UUID, WorldIndex> worlds = ImmutableMap.of();
+
+  @Synchronized
+  @CanIgnoreReturnValue
+  public boolean register(@NonNull DefaultArenaReset reset) {
+    Preconditions.checkNotNull(reset, "Reset must not be null");
+    if (!resets.add(reset)) return false;
+    rebuild();
+    return true;
+  }
+
+  @Synchronized
+  @CanIgnoreReturnValue
+  public boolean unregister(@NonNull DefaultArenaReset reset) {
+    Preconditions.checkNotNull(reset, "Reset must not be null");
+    if (!resets.remove(reset)) return false;
+    rebuild();
+    return true;
+  }
+
+  public boolean contains(@NonNull DefaultArenaReset reset) {
+    return registered.contains(reset);
+  }
+
+  public boolean isEmpty() {
+    return registered.isEmpty();
+  }
+
+  public @Nullable DefaultArenaReset find(@NonNull Block block) {
+    return find(block.getWorld(), block.getX(), block.getY(), block.getZ());
+  }
+
+  public @Nullable DefaultArenaReset find(@NonNull Location location) {
+    World world = location.getWorld();
+    if (world == null) return null;
+    return find(world, location.getBlockX(), location.getBlockY(), location.getBlockZ());
+  }
+
+  /** Returns the reset whose arena's box contains given block position, or null if none. */
+  public @Nullable DefaultArenaReset find(@NonNull World world, int x, int y, int z) {
+    WorldIndex index = worlds.get(world.getUID());
+    if (index == null) return null;
+    int slot = index.slots.get(ChunkKeys.ofBlock(x, z));
+    if (slot == LongIntHashMap.NO_VALUE) return null;
+    for (Entry entry : index.buckets[slot])
+      if (entry.contains(x, y, z))
+        return entry.reset;
+    return null;
+  }
+
+  private void rebuild() {
+    Map<UUID, Map<Long, List<Entry>>> byWorld = new HashMap<>();
+    for (DefaultArenaReset reset : resets) {
+      ArenaData data = reset.getArena().getData();
+      Entry entry = new Entry(reset, data.getBox().getMinimum(), data.getBox().getMaximum());
+      Map<Long, List<Entry>> chunks =
+          byWorld.computeIfAbsent(data.getWorld().getUID(), (k) -> new HashMap<>());
+      for (int chunkX = entry.minX >> 4; chunkX <= entry.maxX >> 4; ++chunkX)
+        for (int chunkZ = entry.minZ >> 4; chunkZ <= entry.maxZ >> 4; ++chunkZ)
+          chunks.computeIfAbsent(ChunkKeys.of(chunkX, chunkZ), (k) -> new ArrayList<>(1))
+              .add(entry);
+    }
+    ImmutableMap.Builder<UUID, WorldIndex> builder = ImmutableMap.builder();
+    byWorld.forEach((worldId, chunks) -> builder.put(worldId, new WorldIndex(chunks)));
+    this.worlds = builder.build();
+    this.registered = ImmutableSet.copyOf(resets);
+  }
+
+  private static final class WorldIndex {
+
+    private final LongIntHashMap slots;
+
+    private final Entry[][] buckets;
+
+    WorldIndex(Map<Long, List<Entry>> chunks) {
+      this.slots = new LongIntHashMap(chunks.size());
+      this.buckets = new Entry[chunks.size()][];
+      int slot = 0;
+      for (Map.Entry<Long, List<Entry>> chunk : chunks.entrySet()) {
+        slots.put(chunk.getKey(), slot);
+        buckets[slot++] = chunk.getValue().toArray(new Entry[0]);
+      }
+    }
+  }
+
+  private static final class Entry {
+
+    private final DefaultArenaReset reset;
+
+    private final int minX, minY, minZ;
+
+    private final int maxX, maxY, maxZ;
+
+    Entry(DefaultArenaReset reset, Vector min, Vector max) {
+      this.reset = reset;
+      this.minX = min.getBlockX();
+      this.minY = min.getBlockY();
+      this.minZ = min.getBlockZ();
+      this.maxX = max.getBlockX();
+      this.maxY = max.getBlockY();
+      this.maxZ = max.getBlockZ();
+    }
+
+    boolean contains(int x, int y, int z) {
+      return x >= minX && y >= minY && z >= minZ && x <= maxX && y <= maxY && z <= maxZ;
+    }
+  }
+
+}
@@ -1,10 +1,16 @@
 package io.github.aparx.skywarz.game.arena.reset;
 
 import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.game.arena.ArenaData;
 import io.github.aparx.skywarz.game.arena.GameArena;
+import io.github.aparx.skywarz.game.chest.ChestHandler;
+import org.bukkit.entity.ArmorStand;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Item;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -13,6 +19,13 @@ import java.lang.ref.WeakReference;
  */
 public abstract class ArenaReset {
 
+  /**
+   * The amount of blocks the Arena's bounding box is expanded to clear items in that area.
+   * <p>This is to ensure that if a player dies at the edge of the arena and drops items, those
+   * items are actually cleared.
+   */
+  protected static final double ITEM_CLEAR_BOX_EXPANSION = 2.0;
+
   private final WeakReference<GameArena> arena;
 
   public ArenaReset(@NonNull GameArena arena) {
@@ -26,7 +39,42 @@ public abstract class ArenaReset {
    */
   public abstract void capture();
 
-  public abstract void reset();
+  /**
+   * Restores the arena to the state it was in when {@link #capture()} was invoked.
+   * <p>The restoration may be spread over multiple ticks, thus the arena must not be reused
+   * until the returned future has completed.
+   *
+   * @return the future that is completed once the arena has been fully restored
+   */
+  public abstract CompletableFuture<?> reset();
+
+  /** Returns true if a previously requested {@link #reset()} is still being processed. */
+  public abstract boolean isResetting();
+
+  /**
+   * Invoked when the arena's data has been changed through setup, causing any persistent state
+   * captured from a previous setup to be discarded.
+   */
+  public void invalidate() {}
+
+  /** Removes all chest holograms left within the arena's box. */
+  protected void removeHolograms() {
+    ArenaData data = getArena().getData();
+    data.getWorld().getEntitiesByClass(ArmorStand.class).stream()
+        .filter((as) -> data.getBox().isWithin(as.getBoundingBox()))
+        .filter((as) -> as.getCustomName() != null)
+        .filter((as) -> ChestHandler.HOLOGRAM_NAME_PATTERN.matcher(as.getCustomName()).matches())
+        .forEach(Entity::remove);
+  }
+
+  /** Removes all dropped items within the arena's box expanded by {@code expansion}. */
+  protected void removeItems(double expansion) {
+    ArenaData data = getArena().getData();
+    data.getWorld().getNearbyEntities(data.getBox().toBoundingBox().expand(expansion))
+        .stream()
+        .filter((e) -> e instanceof Item)
+        .forEach(Entity::remove);
+  }
 
   public GameArena getArena() {
     GameArena arena = this.arena.get();
@@ -0,0 +1,41 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.game.arena.GameArena;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.function.Function;
+
+/**
+ * The ways an arena can be reset, selectable per arena through its settings.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 12:20
+ * @since 1.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ArenaResetMode {
+
+  /** Restores only the blocks changed through tracked events */
+  EVENT(DefaultArenaReset.class, DefaultArenaReset::new),
+
+  /** Restores the full arena box to a snapshot captured once and stored on disk */
+  SCHEMATIC(SchematicArenaReset.class, SchematicArenaReset::new);
+
+  private final @NonNull Class<? extends ArenaReset> type;
+
+  private final @NonNull Function<GameArena, ArenaReset> factory;
+
+  public @NonNull ArenaReset create(@NonNull GameArena arena) {
+    Preconditions.checkNotNull(arena, "Arena must not be null");
+    return factory.apply(arena);
+  }
+
+  public boolean isModeOf(@NonNull ArenaReset reset) {
+    return reset.getClass() == type;
+  }
+
+}
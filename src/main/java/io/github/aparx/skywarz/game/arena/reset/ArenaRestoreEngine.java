@@ -0,0 +1,65 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.World;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Restores all blocks recorded in a {@code BlockChangeJournal} over multiple ticks on the main
+ * thread.
+ * <p>Blocks are restored grouped by their chunk and sorted by their position within that chunk,
+ * so that consecutive writes hit the same chunk section. Each tick at most {@code budget}
+ * milliseconds are spent restoring blocks, the remaining blocks are restored in the next tick.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-08 14:12
+ * @since 1.0
+ */
+public final class ArenaRestoreEngine extends AbstractRestoreTask {
+
+  private final World world;
+
+  private final BlockChangeJournal journal;
+
+  private final long[] keys;
+
+  private int cursor;
+
+  public ArenaRestoreEngine(
+      @NonNull World world, @NonNull BlockChangeJournal journal, double budgetMillis) {
+    super(budgetMillis);
+    Preconditions.checkNotNull(world, "World must not be null");
+    Preconditions.checkNotNull(journal, "Journal must not be null");
+    this.world = world;
+    this.journal = journal;
+    this.keys = journal.toSortedKeys();
+  }
+
+  @Override
+  public int size() {
+    return keys.length;
+  }
+
+  @Override
+  protected boolean restore(long deadlineNanos) {
+    final int size = keys.length;
+    while (cursor < size) {
+      apply(keys[cursor++]);
+      if (cursor % BUDGET_CHECK_INTERVAL == 0 && System.nanoTime() >= deadlineNanos)
+        break;
+    }
+    getProcedure().setProgress(cursor, size);
+    return cursor >= size;
+  }
+
+  @Override
+  protected void onComplete() {
+    journal.clear();
+  }
+
+  private void apply(long key) {
+    world.getBlockAt(journal.unpackX(key), journal.unpackY(key), journal.unpackZ(key))
+        .setBlockData(journal.getData(key), false);
+  }
+
+}
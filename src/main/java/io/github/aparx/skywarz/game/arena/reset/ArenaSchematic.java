@@ -0,0 +1,234 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.game.arena.ArenaBox;
+import io.github.aparx.skywarz.utils.ChunkKeys;
+import lombok.Getter;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Immutable full copy of all blocks within an arena's box, backed by a memory-mapped file.
+ * <p>The file format consists of a header (magic, version, box origin and size), followed by a
+ * palette of distinct block states as strings, followed by one palette index per block in
+ * {@code y, z, x} order. Indices are stored with one byte per block if the palette has at most
+ * 256 entries, or with two bytes otherwise.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 10:40
+ * @since 1.0
+ */
+@Getter
+public final class ArenaSchematic {
+
+  private static final int MAGIC = 0x534B5A53; // SKZS
+
+  private static final short VERSION = 1;
+
+  private static final int MAX_PALETTE_SIZE = 1 << 16;
+
+  private final int minX, minY, minZ;
+
+  private final int sizeX, sizeY, sizeZ;
+
+  private final BlockData @NonNull [] palette;
+
+  /** The material of each palette entry, used to cheaply diff against live blocks */
+  private final Material @NonNull [] paletteMaterials;
+
+  /** True for each palette entry that has block states beyond its material */
+  private final boolean @NonNull [] paletteStateful;
+
+  private final int indexWidth;
+
+  private final ByteBuffer indices;
+
+  private ArenaSchematic(
+      int minX, int minY, int minZ, int sizeX, int sizeY, int sizeZ,
+      BlockData @NonNull [] palette, int indexWidth, @NonNull ByteBuffer indices) {
+    this.minX = minX;
+    this.minY = minY;
+    this.minZ = minZ;
+    this.sizeX = sizeX;
+    this.sizeY = sizeY;
+    this.sizeZ = sizeZ;
+    this.palette = palette;
+    this.indexWidth = indexWidth;
+    this.indices = indices;
+    this.paletteMaterials = new Material[palette.length];
+    this.paletteStateful = new boolean[palette.length];
+    for (int i = 0; i < palette.length; ++i) {
+      paletteMaterials[i] = palette[i].getMaterial();
+      paletteStateful[i] = palette[i].getAsString().indexOf('[') != -1;
+    }
+  }
+
+  /**
+   * Loads the schematic stored in {@code file} by memory-mapping its block indices.
+   *
+   * @throws IOException if the file cannot be read or is not a valid schematic
+   */
+  public static @NonNull ArenaSchematic load(@NonNull File file) throws IOException {
+    Preconditions.checkNotNull(file, "File must not be null");
+    try (RandomAccessFile access = new RandomAccessFile(file, "r");
+         FileChannel channel = access.getChannel()) {
+      // the mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION)
+        throw new IOException("Unsupported schematic format: " + file);
+      int minX = buffer.getInt(), minY = buffer.getInt(), minZ = buffer.getInt();
+      int sizeX = buffer.getInt(), sizeY = buffer.getInt(), sizeZ = buffer.getInt();
+      BlockData[] palette = new BlockData[buffer.getInt()];
+      for (int i = 0; i < palette.length; ++i) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        palette[i] = Bukkit.createBlockData(new String(bytes, StandardCharsets.UTF_8));
+      }
+      int indexWidth = buffer.get();
+      long volume = (long) sizeX * sizeY * sizeZ;
+      if (buffer.remaining() != volume * indexWidth)
+        throw new IOException("Schematic is truncated: " + file);
+      return new ArenaSchematic(minX, minY, minZ, sizeX, sizeY, sizeZ,
+          palette, indexWidth, buffer.slice());
+    }
+  }
+
+  /**
+   * Captures all blocks within {@code box} into {@code file} and loads the written file.
+   * <p>This method must be called on the main thread, since it takes a snapshot of every
+   * chunk intersecting the box. The snapshots are then encoded and written asynchronously.
+   *
+   * @return future completed with the loaded schematic once the file has been written
+   */
+  public static CompletableFuture<ArenaSchematic> capture(
+      @NonNull World world, @NonNull ArenaBox box, @NonNull File file) {
+    Preconditions.checkNotNull(world, "World must not be null");
+    Preconditions.checkNotNull(box, "Box must not be null");
+    Preconditions.checkNotNull(file, "File must not be null");
+    Vector min = box.getMinimum();
+    Vector max = box.getMaximum();
+    Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+    for (int chunkX = min.getBlockX() >> 4; chunkX <= max.getBlockX() >> 4; ++chunkX)
+      for (int chunkZ = min.getBlockZ() >> 4; chunkZ <= max.getBlockZ() >> 4; ++chunkZ)
+        chunks.put(ChunkKeys.of(chunkX, chunkZ),
+            world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+    CompletableFuture<ArenaSchematic> future = new CompletableFuture<>();
+    Bukkit.getScheduler().runTaskAsynchronously(Skywars.plugin(), () -> {
+      try {
+        write(file, min, max, chunks);
+        future.complete(load(file));
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    });
+    return future;
+  }
+
+  private static void write(
+      File file, Vector min, Vector max, Map<Long, ChunkSnapshot> chunks) throws IOException {
+    int minX = min.getBlockX(), minY = min.getBlockY(), minZ = min.getBlockZ();
+    int maxX = max.getBlockX(), maxY = max.getBlockY(), maxZ = max.getBlockZ();
+    // (1) collect the palette in a first pass, to know the required index width upfront
+    BlockDataPalette palette = new BlockDataPalette();
+    for (int y = minY; y <= maxY; ++y)
+      for (int z = minZ; z <= maxZ; ++z)
+        for (int x = minX; x <= maxX; ++x)
+          palette.intern(getBlockData(chunks, x, y, z));
+    Preconditions.checkState(palette.size() <= MAX_PALETTE_SIZE, "Palette is too large");
+    int indexWidth = palette.size() <= 256 ? 1 : 2;
+    File parent = file.getAbsoluteFile().getParentFile();
+    if (parent != null && !parent.exists())
+      Preconditions.checkState(parent.mkdirs(), "Could not create directory");
+    File temporary = new File(file.getPath() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(temporary)))) {
+      out.writeInt(MAGIC);
+      out.writeShort(VERSION);
+      out.writeInt(minX);
+      out.writeInt(minY);
+      out.writeInt(minZ);
+      out.writeInt(1 + maxX - minX);
+      out.writeInt(1 + maxY - minY);
+      out.writeInt(1 + maxZ - minZ);
+      out.writeInt(palette.size());
+      for (int i = 0; i < palette.size(); ++i) {
+        byte[] bytes = palette.get(i).getAsString().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+      out.writeByte(indexWidth);
+      // (2) write the index of every block in a second pass
+      for (int y = minY; y <= maxY; ++y)
+        for (int z = minZ; z <= maxZ; ++z)
+          for (int x = minX; x <= maxX; ++x) {
+            int index = palette.intern(getBlockData(chunks, x, y, z));
+            if (indexWidth == 1) out.writeByte(index);
+            else out.writeShort(index);
+          }
+    }
+    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  private static BlockData getBlockData(Map<Long, ChunkSnapshot> chunks, int x, int y, int z) {
+    ChunkSnapshot chunk = chunks.get(ChunkKeys.ofBlock(x, z));
+    return chunk.getBlockData(x & 15, y, z & 15);
+  }
+
+  public boolean isWithin(int x, int y, int z) {
+    int relX = x - minX, relY = y - minY, relZ = z - minZ;
+    return relX >= 0 && relY >= 0 && relZ >= 0
+        && relX < sizeX && relY < sizeY && relZ < sizeZ;
+  }
+
+  /** Returns the palette index of the block at given absolute position within the box. */
+  public int getIndex(int x, int y, int z) {
+    Preconditions.checkArgument(isWithin(x, y, z), "Position is outside of the schematic");
+    int offset = ((y - minY) * sizeZ + (z - minZ)) * sizeX + (x - minX);
+    if (indexWidth == 1)
+      return indices.get(offset) & 0xFF;
+    return indices.getShort(offset << 1) & 0xFFFF;
+  }
+
+  public @NonNull BlockData getBlockData(int x, int y, int z) {
+    return palette[getIndex(x, y, z)];
+  }
+
+  public @NonNull BlockData getPaletteEntry(int index) {
+    return palette[index];
+  }
+
+  public @NonNull Material getPaletteMaterial(int index) {
+    return paletteMaterials[index];
+  }
+
+  public boolean isPaletteStateful(int index) {
+    return paletteStateful[index];
+  }
+
+  /** Returns true if this schematic was captured from a box of the same corners as given. */
+  public boolean matches(@NonNull ArenaBox box) {
+    Vector min = box.getMinimum(), max = box.getMaximum();
+    return min.getBlockX() == minX && min.getBlockY() == minY && min.getBlockZ() == minZ
+        && max.getBlockX() == minX + sizeX - 1
+        && max.getBlockY() == minY + sizeY - 1
+        && max.getBlockZ() == minZ + sizeZ - 1;
+  }
+
+}
@@ -0,0 +1,145 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.github.aparx.skywarz.game.arena.ArenaBox;
+import io.github.aparx.skywarz.utils.array.LongIntHashMap;
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.util.Vector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * Journal that remembers the original state of every block changed within an arena.
+ * <p>Positions are packed into a single {@code long} relative to the (chunk aligned) minimum of
+ * the arena's box, and the block data is interned into a {@link BlockDataPalette}. The packed
+ * layout (most to least significant bits) is {@code chunkX(20) chunkZ(20) y(16) z(4) x(4)},
+ * thus sorting the keys numerically groups them by chunk and by height within that chunk.
+ * <p>Only the first recorded state of a position is kept, since that is the state the position
+ * has to be restored to. This journal is not thread-safe, as all block events it records are
+ * fired on the main thread.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 12:05
+ * @since 1.0
+ */
+public final class BlockChangeJournal {
+
+  /** Horizontal offset from the box minimum, so positions outside of the box can be recorded */
+  private static final int HORIZONTAL_BIAS = 1 << 23;
+
+  /** Vertical offset from the box minimum, so positions below the box can be recorded */
+  private static final int VERTICAL_BIAS = 1 << 15;
+
+  private static final int HORIZONTAL_BITS = 24;
+
+  private static final int VERTICAL_BITS = 16;
+
+  private final int originX, originY, originZ;
+
+  private final LongIntHashMap changes = new LongIntHashMap();
+
+  private final BlockDataPalette palette = new BlockDataPalette();
+
+  public BlockChangeJournal(@NonNull ArenaBox box) {
+    Preconditions.checkNotNull(box, "Box must not be null");
+    Preconditions.checkArgument(box.isCompleted(), "Box must be completed");
+    Vector min = box.getMinimum();
+    this.originX = ((min.getBlockX() >> 4) << 4) - HORIZONTAL_BIAS;
+    this.originY = min.getBlockY() - VERTICAL_BIAS;
+    this.originZ = ((min.getBlockZ() >> 4) << 4) - HORIZONTAL_BIAS;
+  }
+
+  /**
+   * Records {@code data} as the original state of given position, if the position has not
+   * been recorded yet.
+   *
+   * @return true if the position was recorded, false if it has been recorded already or is
+   * too far away from the arena to be recorded
+   */
+  @CanIgnoreReturnValue
+  public boolean record(int x, int y, int z, @NonNull BlockData data) {
+    Preconditions.checkNotNull(data, "Data must not be null");
+    if (!isRecordable(x, y, z)) return false;
+    long key = pack(x, y, z);
+    if (changes.containsKey(key)) return false;
+    return changes.putIfAbsent(key, palette.intern(data));
+  }
+
+  @CanIgnoreReturnValue
+  public boolean record(@NonNull Block block) {
+    Preconditions.checkNotNull(block, "Block must not be null");
+    return record(block.getX(), block.getY(), block.getZ(), block.getBlockData());
+  }
+
+  @CanIgnoreReturnValue
+  public boolean record(@NonNull Location location, @NonNull BlockData data) {
+    Preconditions.checkNotNull(location, "Location must not be null");
+    return record(location.getBlockX(), location.getBlockY(), location.getBlockZ(), data);
+  }
+
+  public boolean contains(int x, int y, int z) {
+    return isRecordable(x, y, z) && changes.containsKey(pack(x, y, z));
+  }
+
+  public boolean isRecordable(int x, int y, int z) {
+    return ((long) x - originX) >>> HORIZONTAL_BITS == 0
+        && ((long) z - originZ) >>> HORIZONTAL_BITS == 0
+        && ((long) y - originY) >>> VERTICAL_BITS == 0;
+  }
+
+  public int size() {
+    return changes.size();
+  }
+
+  public boolean isEmpty() {
+    return changes.isEmpty();
+  }
+
+  public int getPaletteSize() {
+    return palette.size();
+  }
+
+  public void clear() {
+    changes.clear();
+    palette.clear();
+  }
+
+  /** Returns all recorded keys, sorted such that keys of the same chunk are adjacent. */
+  public long[] toSortedKeys() {
+    long[] keys = changes.keys();
+    Arrays.sort(keys);
+    return keys;
+  }
+
+  public @NonNull BlockData getData(long key) {
+    int index = changes.get(key);
+    Preconditions.checkArgument(index != LongIntHashMap.NO_VALUE, "Key is not recorded");
+    return palette.get(index);
+  }
+
+  public long pack(int x, int y, int z) {
+    long relX = x - originX, relY = y - originY, relZ = z - originZ;
+    return (relX >>> 4) << 44
+        | (relZ >>> 4) << 24
+        | relY << 8
+        | (relZ & 15) << 4
+        | (relX & 15);
+  }
+
+  public int unpackX(long key) {
+    return originX + (int) (((key >>> 44) << 4) | (key & 15));
+  }
+
+  public int unpackY(long key) {
+    return originY + (int) ((key >>> 8) & 0xFFFF);
+  }
+
+  public int unpackZ(long key) {
+    return originZ + (int) ((((key >>> 24) & 0xFFFFF) << 4) | ((key >>> 4) & 15));
+  }
+
+}
@@ -0,0 +1,59 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.block.data.BlockData;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Palette that interns equal {@code BlockData} instances to a shared index.
+ * <p>Since most changed blocks within an arena share only a few distinct states (air, stone,
+ * wool and such), storing an index per block instead of a cloned {@code BlockData} drastically
+ * reduces the memory required to remember block changes.
+ * <p>This palette is not thread-safe.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 11:48
+ * @since 1.0
+ */
+public final class BlockDataPalette {
+
+  private final List<BlockData> entries = new ArrayList<>();
+
+  private final Map<BlockData, Integer> indices = new HashMap<>();
+
+  /**
+   * Returns the index of {@code data} within this palette and adds a copy of it, if no equal
+   * block data is interned yet.
+   */
+  public @NonNegative int intern(@NonNull BlockData data) {
+    Preconditions.checkNotNull(data, "Data must not be null");
+    Integer index = indices.get(data);
+    if (index != null) return index;
+    BlockData copy = data.clone();
+    int newIndex = entries.size();
+    entries.add(copy);
+    indices.put(copy, newIndex);
+    return newIndex;
+  }
+
+  public @NonNull BlockData get(@NonNegative int index) {
+    Preconditions.checkElementIndex(index, entries.size());
+    return entries.get(index);
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  public void clear() {
+    entries.clear();
+    indices.clear();
+  }
+
+}
@@ -1,32 +1,25 @@
 package io.github.aparx.skywarz.game.arena.reset;
 
-import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
-import io.github.aparx.skywarz.game.arena.ArenaData;
+import io.github.aparx.skywarz.game.arena.ArenaBox;
 import io.github.aparx.skywarz.game.arena.GameArena;
-import io.github.aparx.skywarz.game.chest.ChestHandler;
+import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.utils.TimedProcedure;
 import io.github.aparx.skywarz.utils.material.MaterialTag;
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockState;
 import org.bukkit.block.data.BlockData;
-import org.bukkit.entity.ArmorStand;
-import org.bukkit.entity.Entity;
-import org.bukkit.entity.Item;
-import org.bukkit.event.HandlerList;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.*;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.logging.Level;
-import java.util.regex.Pattern;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -36,16 +29,17 @@ import java.util.regex.Pattern;
 @Getter
 public class DefaultArenaReset extends ArenaReset {
 
-  /**
-   * The amount of blocks the Arena's bounding box is expanded to clear items in that area.
-   * <p>This is to ensure that if a player dies at the edge of the arena and drops items, those
-   * items are actually cleared.
-   */
-  private static final double ITEM_CLEAR_BOX_EXPANSION = 2.0;
+  /** The journal of all blocks changed since the last capture, or null if never captured */
+  private volatile BlockChangeJournal journal;
 
-  private final Set<BlockSnapshot> blocks = Collections.synchronizedSet(new HashSet<>());
+  /** The flood-fill used to capture connected structures, created alongside the journal */
+  private volatile StructureCapture structureCapture;
 
-  private final DefaultArenaResetListener listener = new DefaultArenaResetListener(this);
+  @Getter(AccessLevel.NONE)
+  private volatile ArenaRestoreEngine restoreEngine;
+
+  @Getter(AccessLevel.NONE)
+  private volatile CompletableFuture<?> restoreFuture;
 
   public DefaultArenaReset(@NonNull GameArena arena) {
     super(arena);
@@ -53,107 +47,97 @@ public class DefaultArenaReset extends ArenaReset {
 
   @Override
   public void capture() {
-    blocks.clear();
-    Bukkit.getPluginManager().registerEvents(listener, Skywars.plugin());
-    ArenaData data = getArena().getData();
-    data.getWorld().getEntitiesByClass(ArmorStand.class).stream()
-        .filter((as) -> data.getBox().isWithin(as.getBoundingBox()))
-        .filter((as) -> as.getCustomName() != null)
-        .filter((as) -> ChestHandler.HOLOGRAM_NAME_PATTERN.matcher(as.getCustomName()).matches())
-        .forEach(Entity::remove);
+    if (restoreEngine != null)
+      // an unfinished restore would otherwise overwrite blocks of the new capture
+      restoreEngine.flush();
+    ArenaBox box = getArena().getData().getBox();
+    journal = new BlockChangeJournal(box);
+    structureCapture = new StructureCapture(box);
+    DefaultArenaResetListener.getInstance().register(this);
+    removeHolograms();
   }
 
   @Override
-  public void reset() {
-    HandlerList.unregisterAll(listener);
-    TimedProcedure.executeProcedure((time) -> {
-      GameArena arena = getArena();
-      Skywars.logger().log(Level.INFO, "Resetting {0} (...)", arena.getName());
-      blocks.forEach((snapshot) -> {
-        Location location = snapshot.getLocation();
-        World world = location.getWorld();
-        if (world != null)
-          world.getBlockAt(location).setBlockData(snapshot.getBlockData());
-      });
-      blocks.clear();
-      World world = arena.getData().getWorld();
-      world.getNearbyEntities(arena.getData()
-              .getBox().toBoundingBox()
-              .expand(ITEM_CLEAR_BOX_EXPANSION))
-          .stream()
-          .filter((e) -> e instanceof Item)
-          .forEach(Entity::remove);
-      Skywars.logger().log(Level.INFO, "Reset of {0} completed in {1}",
-          new Object[]{arena.getName(), time.toPerformanceString()});
+  public CompletableFuture<?> reset() {
+    DefaultArenaResetListener.getInstance().unregister(this);
+    GameArena arena = getArena();
+    Skywars.logger().log(Level.INFO, "Resetting {0} (...)", arena.getName());
+    BlockChangeJournal journal = this.journal;
+    if (journal == null)
+      // arena has never been captured, thus there is nothing to restore
+      journal = new BlockChangeJournal(arena.getData().getBox());
+    this.journal = null;
+    StructureCapture capture = this.structureCapture;
+    this.structureCapture = null;
+    if (capture != null && capture.getCaptureCount() != 0)
+      Skywars.logger().log(Level.INFO, "Captured {0} structures in {1} (avg. {2} visited, "
+              + "max. {3} visited, {4} capped)",
+          new Object[]{capture.getCaptureCount(), arena.getName(),
+              String.format("%.1f", capture.getAverageVisitedCount()),
+              capture.getMaxVisitedCount(), capture.getCappedCount()});
+    ArenaRestoreEngine engine = new ArenaRestoreEngine(arena.getData().getWorld(),
+        journal, MainConfig.getInstance().getResetTickBudget());
+    this.restoreEngine = engine;
+    return this.restoreFuture = engine.start().thenRun(() -> {
+      removeItems(ITEM_CLEAR_BOX_EXPANSION);
+      TimedProcedure procedure = engine.getProcedure();
+      Skywars.logger().log(Level.INFO, "Reset of {0} completed in {1} ({2} blocks, {3} ticks)",
+          new Object[]{arena.getName(), procedure.toPerformanceString(),
+              engine.size(), engine.getTicks()});
     });
   }
 
+  @Override
+  public boolean isResetting() {
+    CompletableFuture<?> future = this.restoreFuture;
+    return future != null && !future.isDone();
+  }
+
+  /** Returns the progress of the current or last reset, or an empty optional if none exists */
+  public Optional<TimedProcedure> getRestoreProgress() {
+    return Optional.ofNullable(restoreEngine).map(ArenaRestoreEngine::getProcedure);
+  }
+
+  /**
+   * Records {@code data} as the original state of the block at {@code location}.
+   *
+   * @return true if the location has not been recorded before
+   */
   @CanIgnoreReturnValue
-  public boolean addSnapshot(BlockSnapshot snapshot) {
-    return blocks.add(snapshot);
+  public boolean addSnapshot(@NonNull Location location, @NonNull BlockData data) {
+    BlockChangeJournal journal = this.journal;
+    return journal != null && journal.record(location, data);
   }
 
   @CanIgnoreReturnValue
-  public boolean addStructure(BlockSnapshot snapshot) {
-    return addStructure(snapshot, MaterialTag.connected);
+  public boolean addBlock(@NonNull Block block) {
+    BlockChangeJournal journal = this.journal;
+    return journal != null && journal.record(block);
   }
 
   @CanIgnoreReturnValue
-  public boolean addStructure(BlockSnapshot snapshot, Predicate<Material> predicate) {
-    if (!addSnapshot(snapshot)) return false;
-    Location location = snapshot.getLocation();
+  public boolean addStructure(@NonNull Block block) {
+    return addStructure(block, MaterialTag.connected);
+  }
+
+  @CanIgnoreReturnValue
+  public boolean addStructure(@NonNull Location location, @NonNull BlockData data) {
+    if (!addSnapshot(location, data)) return false;
     World world = location.getWorld();
-    if (world == null) return false;
-    int posX = location.getBlockX();
-    int posY = location.getBlockY();
-    int posZ = location.getBlockZ();
-    for (int x = -1; x <= 1; ++x) {
-      for (int y = -1; y <= 1; ++y) {
-        for (int z = -1; z <= 1; ++z) {
-          Block blockAt = world.getBlockAt(posX + x, posY + y, posZ + z);
-          if (predicate.test(blockAt.getType()))
-            addStructure(BlockSnapshot.take(blockAt), predicate);
-        }
-      }
-    }
+    StructureCapture capture = this.structureCapture;
+    BlockChangeJournal journal = this.journal;
+    if (world != null && capture != null && journal != null)
+      capture.expand(world.getBlockAt(location), MaterialTag.connected,
+          journal, MainConfig.getInstance().getResetMaxStructureVolume());
     return true;
   }
 
-  @Getter
-  @RequiredArgsConstructor
-  public static final class BlockSnapshot {
-    private final @NonNull Location location;
-    private final @NonNull BlockData blockData;
-
-    public static BlockSnapshot take(@NonNull Block block) {
-      Preconditions.checkNotNull(block, "Block must not be null");
-      return new BlockSnapshot(block.getLocation(), block.getBlockData().clone());
-    }
-
-    public static BlockSnapshot take(@NonNull BlockState state) {
-      Preconditions.checkNotNull(state, "Block must not be null");
-      return new BlockSnapshot(state.getLocation(), state.getBlockData().clone());
-    }
-
-    @Override
-    public boolean equals(Object o) {
-      if (this == o) return true;
-      if (o == null || getClass() != o.getClass()) return false;
-      BlockSnapshot that = (BlockSnapshot) o;
-      return Objects.equals(location, that.location);
-    }
-
-    @Override
-    public int hashCode() {
-      return Objects.hash(location);
-    }
-
-    @Override
-    public String toString() {
-      return "LocationSnapshot{" +
-          "location=" + location +
-          ", blockData=" + blockData +
-          '}';
-    }
+  @CanIgnoreReturnValue
+  public boolean addStructure(@NonNull Block block, Predicate<Material> predicate) {
+    BlockChangeJournal journal = this.journal;
+    StructureCapture capture = this.structureCapture;
+    if (journal == null || capture == null) return false;
+    return capture.capture(block, predicate, journal,
+        MainConfig.getInstance().getResetMaxStructureVolume()) != -1;
   }
 }
@@ -1,24 +1,21 @@
 package io.github.aparx.skywarz.game.arena.reset;
 
-import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.entity.data.types.PlayerMatchData;
 import io.github.aparx.skywarz.game.arena.GameArena;
 import io.github.aparx.skywarz.game.arena.ArenaBox;
-import io.github.aparx.skywarz.game.arena.snapshot.ArenaDataSnapshot;
-import io.github.aparx.skywarz.game.arena.snapshot.ArenaSnapshot;
 import io.github.aparx.skywarz.game.match.GameMatch;
 import io.github.aparx.skywarz.game.match.GameMatchState;
-import io.github.aparx.skywarz.utils.collection.WeakHashSet;
 import io.github.aparx.skywarz.utils.material.MaterialTag;
 import lombok.Getter;
-import org.apache.commons.lang.ArrayUtils;
+import lombok.Synchronized;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
-import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -33,12 +30,15 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.inventory.ItemStack;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
-import java.util.*;
-import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
+ * Listener shared by all {@code DefaultArenaReset} instances that are currently capturing.
+ * <p>Instead of every reset listening to every event and checking whether the event concerns
+ * its own arena, events are routed through an {@code ArenaRegionIndex} directly to the reset
+ * owning the affected block. The listener is only registered as long as at least one reset is
+ * capturing.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-06 08:38
  * @since 1.0
@@ -46,22 +46,25 @@ import java.util.stream.Collectors;
 @Getter
 public final class DefaultArenaResetListener implements Listener {
 
-  private final DefaultArenaReset reset;
+  @Getter
+  private static final DefaultArenaResetListener instance = new DefaultArenaResetListener();
 
-  private final WeakHashSet<Entity> entityBlockChanges = new WeakHashSet<>();
+  private final ArenaRegionIndex index = new ArenaRegionIndex();
 
-  public DefaultArenaResetListener(@NonNull DefaultArenaReset reset) {
-    Preconditions.checkNotNull(reset);
-    this.reset = reset;
+  private DefaultArenaResetListener() {}
+
+  /** Starts routing events within the arena of {@code reset} to it. */
+  @Synchronized
+  public void register(@NonNull DefaultArenaReset reset) {
+    boolean wasEmpty = index.isEmpty();
+    if (index.register(reset) && wasEmpty)
+      Bukkit.getPluginManager().registerEvents(this, Skywars.plugin());
   }
 
-  public @NonNull GameArena getArena() {
-    try {
-      return reset.getArena();
-    } catch (Exception e) {
+  @Synchronized
+  public void unregister(@NonNull DefaultArenaReset reset) {
+    if (index.unregister(reset) && index.isEmpty())
       HandlerList.unregisterAll(this);
-      throw e;
-    }
   }
 
   @EventHandler(priority = EventPriority.HIGH)
@@ -69,9 +72,7 @@ public final class DefaultArenaResetListener implements Listener {
     if (!event.isCancelled())
       // this only captures entity/block changes within the arena. If a block falls out of
       // the arena, it will not be captured. TODO: maybe implement a tracking of the entity
-      handle(event.getBlock(), () -> {
-        getReset().addStructure(DefaultArenaReset.BlockSnapshot.take(event.getBlock()));
-      });
+      addResetHandle(event.getBlock());
   }
 
   @EventHandler(priority = EventPriority.HIGH)
@@ -83,33 +84,34 @@ public final class DefaultArenaResetListener implements Listener {
   @EventHandler(priority = EventPriority.HIGH)
   void onEntityExplode(EntityExplodeEvent event) {
     if (event.isCancelled()) return;
-    List<Location> added = new ArrayList<>();
-    handle(event.getEntity().getWorld(), event.blockList(), (block, match) -> {
-      GameArena arena = match.getArena().getSource();
-      Preconditions.checkNotNull(arena, "Source became invalid");
-      if (!added.isEmpty() || arena.getData().getBox().isWithin(event.getEntity().getBoundingBox()))
-        // only force the removal of blocks within the event if the entity itself is in the arena
-        added.add(block.getLocation());
-      reset.addStructure(DefaultArenaReset.BlockSnapshot.take(block));
-    });
-    if (!added.isEmpty())
-      // at least one block is within an arena: remove all blocks outside the arena
-      event.blockList().removeAll(event.blockList().stream()
-          .filter((block) -> !added.contains(block.getLocation()))
-          .collect(Collectors.toList()));
+    Entity entity = event.getEntity();
+    DefaultArenaReset source = index.find(entity.getLocation());
+    if (source != null && !source.getArena().getData().getBox()
+        .isWithin(entity.getBoundingBox()))
+      source = null;
+    boolean sourceAffected = false;
+    for (Block block : event.blockList()) {
+      DefaultArenaReset reset = index.find(block);
+      if (reset == null) continue;
+      sourceAffected |= reset == source;
+      reset.addStructure(block);
+    }
+    if (sourceAffected) {
+      // entity explodes within an arena: remove all blocks outside that arena
+      final DefaultArenaReset owner = source;
+      event.blockList().removeIf((block) -> index.find(block) != owner);
+    }
   }
 
   @EventHandler(priority = EventPriority.HIGH)
   void onBlockBreak(BlockBreakEvent event) {
     if (event.isCancelled()) return;
-    handle(event.getPlayer(), (match, arena) -> {
+    handle(event.getPlayer(), (reset, arena) -> {
       Location location = event.getBlock().getLocation();
       if (!arena.getData().getBox().isWithin(location))
         event.setCancelled(true);
       else
-        reset.addStructure(new DefaultArenaReset.BlockSnapshot(
-            event.getBlock().getLocation(), event.getBlock().getBlockData().clone()
-        ));
+        reset.addStructure(event.getBlock());
     });
   }
 
@@ -117,16 +119,15 @@ public final class DefaultArenaResetListener implements Listener {
   void onBlockPlace(BlockPlaceEvent event) {
     if (event.isCancelled()) return;
     BlockState blockReplacedState = event.getBlockReplacedState();
-    handle(event.getPlayer(), (match, arena) -> {
+    handle(event.getPlayer(), (reset, arena) -> {
       Location location = event.getBlock().getLocation();
       if (!arena.getData().getBox().isWithin(location))
         event.setCancelled(true);
       else {
-        DefaultArenaReset.BlockSnapshot snapshot = new DefaultArenaReset.BlockSnapshot(
-            location, blockReplacedState.getBlockData().clone());
+        BlockData replacedData = blockReplacedState.getBlockData();
         if (MaterialTag.connected.isTagged(blockReplacedState.getType()))
-          reset.addStructure(snapshot);
-        else reset.addSnapshot(snapshot);
+          reset.addStructure(location, replacedData);
+        else reset.addSnapshot(location, replacedData);
       }
     });
   }
@@ -135,7 +136,7 @@ public final class DefaultArenaResetListener implements Listener {
   void onInteract(PlayerInteractEvent event) {
     Block clickedBlock = event.getClickedBlock();
     if (clickedBlock == null) return;
-    handle(event.getPlayer(), (match, arena) -> {
+    handle(event.getPlayer(), (reset, arena) -> {
       ArenaBox box = arena.getData().getBox();
       if (!box.isWithin(clickedBlock.getBoundingBox()))
         event.setCancelled(true);
@@ -148,8 +149,8 @@ public final class DefaultArenaResetListener implements Listener {
         event.setCancelled(true);
       else if (action == Action.RIGHT_CLICK_BLOCK
           && MaterialTag.emptyableBucket.isTagged(item.getType())) {
-        reset.addStructure(DefaultArenaReset.BlockSnapshot.take(relative));
-        reset.addSnapshot(DefaultArenaReset.BlockSnapshot.take(clickedBlock));
+        reset.addStructure(relative);
+        reset.addBlock(clickedBlock);
       }
     });
   }
@@ -157,14 +158,21 @@ public final class DefaultArenaResetListener implements Listener {
   @EventHandler(priority = EventPriority.HIGH)
   void onInteract(PlayerInteractEntityEvent event) {
     if (event.getRightClicked() instanceof ItemFrame)
-      handle(event.getPlayer(), (match, arena) -> event.setCancelled(true));
+      handle(event.getPlayer(), (reset, arena) -> event.setCancelled(true));
   }
 
   @EventHandler(priority = EventPriority.HIGH)
   void onBlockTravel(BlockFromToEvent event) {
-    if (!event.isCancelled())
-      event.setCancelled(addResetHandle(event.getBlock())
-          != addResetHandle(event.getToBlock()));
+    if (event.isCancelled()) return;
+    DefaultArenaReset from = index.find(event.getBlock());
+    DefaultArenaReset to = index.find(event.getToBlock());
+    if (from != to)
+      // prevent fluids from flowing into or out of an arena
+      event.setCancelled(true);
+    else if (from != null) {
+      from.addStructure(event.getBlock());
+      from.addStructure(event.getToBlock());
+    }
   }
 
   @EventHandler(priority = EventPriority.MONITOR)
@@ -189,76 +197,31 @@ public final class DefaultArenaResetListener implements Listener {
   void onDestroyHanging(HangingBreakByEntityEvent event) {
     Entity remover = event.getRemover();
     Hanging entity = event.getEntity();
-    if (!event.isCancelled())
-      handle(entity.getLocation(), (match, location) -> event.setCancelled(true));
+    if (!event.isCancelled() && index.find(entity.getLocation()) != null)
+      event.setCancelled(true);
     if (!event.isCancelled() && remover instanceof Player)
-      handle((Player) remover, (match, arena) -> event.setCancelled(true));
+      handle((Player) remover, (reset, arena) -> event.setCancelled(true));
   }
 
   @CanIgnoreReturnValue
   boolean addResetHandle(Block block) {
-    AtomicBoolean contained = new AtomicBoolean();
-    handle(block, () -> {
-      contained.set(true);
-      reset.addStructure(DefaultArenaReset.BlockSnapshot.take(block));
-    });
-    return contained.get();
+    DefaultArenaReset reset = index.find(block);
+    if (reset == null) return false;
+    reset.addStructure(block);
+    return true;
   }
 
-  private Optional<GameMatch> findMatch() {
-    return Skywars.getInstance().getMatchManager().find(getArena());
-  }
-
-  void handle(World world, List<Block> blocks, BiConsumer<Block, GameMatch> callback) {
-    findMatch().ifPresent((match) -> {
-      ArenaSnapshot arena = match.getArena();
-      GameArena source = arena.getSource();
-      if (world.equals(match.getArena().getData().getWorld()))
-        blocks.forEach((block) -> {
-          Preconditions.checkState(block.getWorld().equals(world));
-          Location location = block.getLocation();
-          if (source != null && source.getData().getBox().isWithin(location))
-            callback.accept(block, match);
-        });
-    });
-  }
-
-  void handle(Block block, Runnable callback) {
-    handle(block.getWorld(), List.of(block), (b, match) -> {
-      GameArena source = match.getArena().getSource();
-      Preconditions.checkNotNull(source, "Source became invalid");
-      callback.run();
-    });
-  }
-
-  void handle(Player entity, BiConsumer<GameMatch, GameArena> callback) {
+  void handle(Player entity, BiConsumer<DefaultArenaReset, GameArena> callback) {
     SkywarsPlayer.findPlayer(entity).ifPresent((player) -> {
       PlayerMatchData data = player.getMatchData();
-      findMatch()
-          .filter((x) -> data.isInMatch() && x.equals(data.getMatch()))
-          .filter((x) -> x.getState().isAfterOrEqual(GameMatchState.PLAYING))
-          .ifPresent((match) -> {
-            GameArena source = match.getArena().getSource();
-            if (source != null) callback.accept(match, source);
-          });
-    });
-  }
-
-  void handle(Location location, BiConsumer<GameMatch, Location> callback) {
-    handle(new Location[]{location}, callback);
-  }
-
-  void handle(Location[] locations, BiConsumer<GameMatch, Location> callback) {
-    if (ArrayUtils.isEmpty(locations)) return;
-    findMatch().ifPresent((match) -> {
-      for (Location location : locations) {
-        ArenaDataSnapshot data = match.getArena().getData();
-        if (data.getWorld().equals(location.getWorld()))
-          if (match.getState().isAfterOrEqual(GameMatchState.PLAYING)
-              && data.getBox().isWithin(location))
-            callback.accept(match, location);
-      }
+      if (!data.isInMatch()) return;
+      GameMatch match = data.getMatch();
+      if (match == null || !match.getState().isAfterOrEqual(GameMatchState.PLAYING)) return;
+      GameArena source = match.getArena().getSource();
+      if (source != null && source.getReset() instanceof DefaultArenaReset
+          && index.contains((DefaultArenaReset) source.getReset()))
+        callback.accept((DefaultArenaReset) source.getReset(), source);
     });
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.game.arena.ArenaBox;
+import io.github.aparx.skywarz.game.arena.GameArena;
+import io.github.aparx.skywarz.handler.MainConfig;
+import io.github.aparx.skywarz.utils.TimedProcedure;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Arena reset that restores the arena to a full snapshot of its box, rather than to the blocks
+ * recorded through events.
+ * <p>The snapshot is captured once, the first time a match is played in the arena, and is
+ * stored as an {@code ArenaSchematic} next to the arena's file. On later startups the stored
+ * schematic is memory-mapped instead of being captured again. Resetting diffs the live blocks
+ * against the schematic, thus blocks changed by other plugins or by events not tracked are
+ * restored as well.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 11:58
+ * @since 1.0
+ */
+public class SchematicArenaReset extends ArenaReset {
+
+  public static final String FILE_EXTENSION = "snapshot";
+
+  private volatile CompletableFuture<ArenaSchematic> schematicFuture;
+
+  private volatile SchematicRestoreTask restoreTask;
+
+  private volatile CompletableFuture<?> restoreFuture;
+
+  public SchematicArenaReset(@NonNull GameArena arena) {
+    super(arena);
+  }
+
+  public static File createSchematicFile(@NonNull String arenaName) {
+    return new File(Skywars.getInstance().getArenaManager().getDirectory(),
+        arenaName + '.' + FILE_EXTENSION);
+  }
+
+  public File getFile() {
+    return createSchematicFile(getArena().getName());
+  }
+
+  @Override
+  public void capture() {
+    if (restoreTask != null)
+      // an unfinished restore would otherwise overwrite blocks of the new capture
+      restoreTask.flush();
+    if (schematicFuture == null || schematicFuture.isCompletedExceptionally())
+      schematicFuture = loadOrCapture();
+    removeHolograms();
+  }
+
+  @Override
+  public CompletableFuture<?> reset() {
+    GameArena arena = getArena();
+    CompletableFuture<ArenaSchematic> schematicFuture = this.schematicFuture;
+    if (schematicFuture == null)
+      // arena has never been captured, thus there is nothing to restore
+      return CompletableFuture.completedFuture(null);
+    Skywars.logger().log(Level.INFO, "Resetting {0} (...)", arena.getName());
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    this.restoreFuture = future;
+    schematicFuture.whenComplete((schematic, throwable) -> {
+      if (throwable != null) {
+        Skywars.logger().log(Level.SEVERE, "Could not capture snapshot of arena", throwable);
+        future.completeExceptionally(throwable);
+        return;
+      }
+      runOnMainThread(() -> startRestore(arena, schematic).whenComplete((v, t) -> {
+        if (t != null) future.completeExceptionally(t);
+        else future.complete(null);
+      }));
+    });
+    return future;
+  }
+
+  @Override
+  public boolean isResetting() {
+    CompletableFuture<?> future = this.restoreFuture;
+    return future != null && !future.isDone();
+  }
+
+  /** Deletes the stored schematic, causing it to be captured again on the next capture. */
+  @Override
+  public void invalidate() {
+    Preconditions.checkState(!isResetting(), "Arena is currently being reset");
+    schematicFuture = null;
+    File file = getFile();
+    if (file.exists() && !file.delete())
+      Skywars.logger().log(Level.WARNING, "Could not delete {0}", file);
+  }
+
+  private CompletableFuture<ArenaSchematic> loadOrCapture() {
+    GameArena arena = getArena();
+    ArenaBox box = arena.getData().getBox();
+    File file = getFile();
+    if (file.exists()) {
+      try {
+        ArenaSchematic schematic = ArenaSchematic.load(file);
+        if (schematic.matches(box))
+          return CompletableFuture.completedFuture(schematic);
+        Skywars.logger().log(Level.INFO, "Snapshot of {0} is outdated", arena.getName());
+      } catch (IOException | RuntimeException e) {
+        Skywars.logger().log(Level.WARNING, "Could not load snapshot of " + arena.getName(), e);
+      }
+    }
+    Skywars.logger().log(Level.INFO, "Capturing snapshot of {0} (...)", arena.getName());
+    return ArenaSchematic.capture(arena.getData().getWorld(), box, file);
+  }
+
+  private CompletableFuture<Void> startRestore(GameArena arena, ArenaSchematic schematic) {
+    SchematicRestoreTask task = new SchematicRestoreTask(arena.getData().getWorld(),
+        schematic, MainConfig.getInstance().getResetTickBudget());
+    this.restoreTask = task;
+    return task.start().thenRun(() -> {
+      removeItems(ITEM_CLEAR_BOX_EXPANSION);
+      TimedProcedure procedure = task.getProcedure();
+      Skywars.logger().log(Level.INFO, "Reset of {0} completed in {1} ({2} of {3} blocks "
+              + "restored, {4} ticks)",
+          new Object[]{arena.getName(), procedure.toPerformanceString(),
+              task.getRestoredCount(), task.size(), task.getTicks()});
+    });
+  }
+
+  private static void runOnMainThread(Runnable runnable) {
+    Plugin plugin = Skywars.getInstance().getPlugin();
+    if (Bukkit.isPrimaryThread() || plugin == null || !plugin.isEnabled())
+      runnable.run();
+    else
+      Bukkit.getScheduler().runTask(plugin, runnable);
+  }
+
+}
@@ -0,0 +1,105 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Restores an arena to the state stored in an {@code ArenaSchematic} over multiple ticks on the
+ * main thread, by diffing the live blocks against the schematic.
+ * <p>The box is processed chunk by chunk and layer by layer. For each chunk a snapshot of the
+ * live chunk is taken once, against which the schematic is compared: first by material and
+ * only if the expected block has additional states by its full block data. Only differing
+ * blocks are written.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 11:32
+ * @since 1.0
+ */
+public final class SchematicRestoreTask extends AbstractRestoreTask {
+
+  private final World world;
+
+  private final ArenaSchematic schematic;
+
+  private final int minChunkX, minChunkZ;
+
+  private final int chunkCountX, chunkCount;
+
+  /** The amount of blocks that differed from the schematic and thus have been written */
+  @Getter
+  private int restoredCount;
+
+  private int chunkCursor;
+
+  private int layerCursor;
+
+  private ChunkSnapshot snapshot;
+
+  public SchematicRestoreTask(
+      @NonNull World world, @NonNull ArenaSchematic schematic, double budgetMillis) {
+    super(budgetMillis);
+    Preconditions.checkNotNull(world, "World must not be null");
+    Preconditions.checkNotNull(schematic, "Schematic must not be null");
+    this.world = world;
+    this.schematic = schematic;
+    this.minChunkX = schematic.getMinX() >> 4;
+    this.minChunkZ = schematic.getMinZ() >> 4;
+    this.chunkCountX = 1 + ((schematic.getMinX() + schematic.getSizeX() - 1) >> 4) - minChunkX;
+    int chunkCountZ = 1 + ((schematic.getMinZ() + schematic.getSizeZ() - 1) >> 4) - minChunkZ;
+    this.chunkCount = chunkCountX * chunkCountZ;
+  }
+
+  @Override
+  public int size() {
+    return schematic.getSizeX() * schematic.getSizeY() * schematic.getSizeZ();
+  }
+
+  @Override
+  protected boolean restore(long deadlineNanos) {
+    final int sizeY = schematic.getSizeY();
+    while (chunkCursor < chunkCount) {
+      int chunkX = minChunkX + chunkCursor % chunkCountX;
+      int chunkZ = minChunkZ + chunkCursor / chunkCountX;
+      if (snapshot == null)
+        snapshot = world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false);
+      restoreLayer(chunkX, chunkZ, schematic.getMinY() + layerCursor);
+      if (++layerCursor >= sizeY) {
+        layerCursor = 0;
+        snapshot = null;
+        ++chunkCursor;
+      }
+      if (System.nanoTime() >= deadlineNanos) break;
+    }
+    getProcedure().setProgress((long) chunkCursor * sizeY + layerCursor, (long) chunkCount * sizeY);
+    return chunkCursor >= chunkCount;
+  }
+
+  @Override
+  protected void onComplete() {
+    snapshot = null;
+  }
+
+  private void restoreLayer(int chunkX, int chunkZ, int y) {
+    int fromX = Math.max(chunkX << 4, schematic.getMinX());
+    int toX = Math.min((chunkX << 4) + 15, schematic.getMinX() + schematic.getSizeX() - 1);
+    int fromZ = Math.max(chunkZ << 4, schematic.getMinZ());
+    int toZ = Math.min((chunkZ << 4) + 15, schematic.getMinZ() + schematic.getSizeZ() - 1);
+    for (int z = fromZ; z <= toZ; ++z) {
+      for (int x = fromX; x <= toX; ++x) {
+        int index = schematic.getIndex(x, y, z);
+        if (snapshot.getBlockType(x & 15, y, z & 15) == schematic.getPaletteMaterial(index)
+            && (!schematic.isPaletteStateful(index)
+            || snapshot.getBlockData(x & 15, y, z & 15).equals(schematic.getPaletteEntry(index))))
+          continue;
+        BlockData expected = schematic.getPaletteEntry(index);
+        world.getBlockAt(x, y, z).setBlockData(expected, false);
+        ++restoredCount;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+package io.github.aparx.skywarz.game.arena.reset;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.github.aparx.skywarz.game.arena.ArenaBox;
+import lombok.Getter;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.util.Vector;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Predicate;
+
+/**
+ * Iterative flood-fill that records a block and all blocks connected to it into a journal.
+ * <p>The fill is scoped to the arena's box and visits each position of the box at most once
+ * per capture, which is tracked through a bitset that is reused between captures. A capture
+ * stops expanding once it visited {@code maxVolume} positions.
+ * <p>This class is not thread-safe, as all block events it is used for are fired on the main
+ * thread.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-10 09:31
+ * @since 1.0
+ */
+@Getter
+public final class StructureCapture {
+
+  private final int minX, minY, minZ;
+
+  private final int sizeX, sizeY, sizeZ;
+
+  /** The total amount of captures performed */
+  private long captureCount;
+
+  /** The total amount of positions visited over all captures */
+  private long visitedCount;
+
+  /** The highest amount of positions visited in a single capture */
+  private int maxVisitedCount;
+
+  /** The amount of captures that stopped expanding due to reaching the maximum volume */
+  private long cappedCount;
+
+  private final BitSet visited = new BitSet();
+
+  private int[] queue = new int[64];
+
+  public StructureCapture(@NonNull ArenaBox box) {
+    Preconditions.checkNotNull(box, "Box must not be null");
+    Vector min = box.getMinimum();
+    Vector max = box.getMaximum();
+    this.minX = min.getBlockX();
+    this.minY = min.getBlockY();
+    this.minZ = min.getBlockZ();
+    this.sizeX = 1 + max.getBlockX() - minX;
+    this.sizeY = 1 + max.getBlockY() - minY;
+    this.sizeZ = 1 + max.getBlockZ() - minZ;
+    Preconditions.checkArgument((long) sizeX * sizeY * sizeZ <= Integer.MAX_VALUE,
+        "Box volume is too large");
+  }
+
+  /**
+   * Records {@code origin} and all blocks connected to it that match {@code predicate} into
+   * {@code journal}, where connected are all 26 neighbours of a block.
+   * <p>Blocks that are already recorded in the journal are not expanded any further.
+   *
+   * @return the amount of positions visited, or {@code -1} if the origin was recorded already
+   */
+  @CanIgnoreReturnValue
+  public int capture(
+      @NonNull Block origin,
+      @NonNull Predicate<Material> predicate,
+      @NonNull BlockChangeJournal journal,
+      int maxVolume) {
+    Preconditions.checkNotNull(origin, "Origin must not be null");
+    Preconditions.checkNotNull(journal, "Journal must not be null");
+    if (!journal.record(origin)) return -1;
+    return expand(origin, predicate, journal, maxVolume);
+  }
+
+  /**
+   * Records all blocks connected to {@code origin} that match {@code predicate} into
+   * {@code journal}, without recording {@code origin} itself.
+   *
+   * @return the amount of positions visited
+   * @see #capture(Block, Predicate, BlockChangeJournal, int)
+   */
+  @CanIgnoreReturnValue
+  public int expand(
+      @NonNull Block origin,
+      @NonNull Predicate<Material> predicate,
+      @NonNull BlockChangeJournal journal,
+      int maxVolume) {
+    Preconditions.checkNotNull(origin, "Origin must not be null");
+    Preconditions.checkNotNull(predicate, "Predicate must not be null");
+    Preconditions.checkNotNull(journal, "Journal must not be null");
+    int originIndex = toIndex(origin.getX(), origin.getY(), origin.getZ());
+    if (originIndex == -1)
+      // the origin is outside the box, thus its structure is not part of the arena
+      return 0;
+    World world = origin.getWorld();
+    int head = 0, tail = 0, visitedAmount = 1;
+    boolean capped = false;
+    visited.set(originIndex);
+    queue = enqueue(queue, tail++, originIndex);
+    try {
+      while (head < tail && !capped) {
+        int index = queue[head++];
+        int posX = minX + index % sizeX;
+        int posZ = minZ + (index / sizeX) % sizeZ;
+        int posY = minY + index / (sizeX * sizeZ);
+        for (int x = -1; x <= 1 && !capped; ++x) {
+          for (int y = -1; y <= 1 && !capped; ++y) {
+            for (int z = -1; z <= 1; ++z) {
+              int neighbour = toIndex(posX + x, posY + y, posZ + z);
+              if (neighbour == -1 || visited.get(neighbour)) continue;
+              visited.set(neighbour);
+              if (++visitedAmount >= maxVolume) {
+                capped = true;
+                break;
+              }
+              Block block = world.getBlockAt(posX + x, posY + y, posZ + z);
+              if (predicate.test(block.getType()) && journal.record(block))
+                queue = enqueue(queue, tail++, neighbour);
+            }
+          }
+        }
+      }
+    } finally {
+      resetVisited(tail);
+    }
+    ++captureCount;
+    visitedCount += visitedAmount;
+    maxVisitedCount = Math.max(maxVisitedCount, visitedAmount);
+    if (capped) ++cappedCount;
+    return visitedAmount;
+  }
+
+  public double getAverageVisitedCount() {
+    return captureCount != 0 ? (double) visitedCount / captureCount : 0;
+  }
+
+  /** Returns the index of given position within the box, or {@code -1} if it is outside. */
+  private int toIndex(int x, int y, int z) {
+    int relX = x - minX, relY = y - minY, relZ = z - minZ;
+    if (relX < 0 || relY < 0 || relZ < 0 || relX >= sizeX || relY >= sizeY || relZ >= sizeZ)
+      return -1;
+    return (relY * sizeZ + relZ) * sizeX + relX;
+  }
+
+  private void resetVisited(int queueLength) {
+    // clearing the neighbourhood of each queued position is cheaper than clearing the whole
+    // bitset, which may span the entire box
+    for (int i = 0; i < queueLength; ++i) {
+      int index = queue[i];
+      int posX = index % sizeX;
+      int posZ = (index / sizeX) % sizeZ;
+      int posY = index / (sizeX * sizeZ);
+      for (int y = Math.max(posY - 1, 0), maxY = Math.min(posY + 1, sizeY - 1); y <= maxY; ++y)
+        for (int z = Math.max(posZ - 1, 0), maxZ = Math.min(posZ + 1, sizeZ - 1); z <= maxZ; ++z) {
+          int rowIndex = (y * sizeZ + z) * sizeX;
+          visited.clear(rowIndex + Math.max(posX - 1, 0), rowIndex + Math.min(posX + 2, sizeX));
+        }
+    }
+  }
+
+  private static int[] enqueue(int[] queue, int index, int value) {
+    if (index >= queue.length)
+      queue = Arrays.copyOf(queue, queue.length << 1);
+    queue[index] = value;
+    return queue;
+  }
+
+}
@@ -1,5 +1,6 @@
 package io.github.aparx.skywarz.game.arena.settings;
 
+import io.github.aparx.skywarz.game.arena.reset.ArenaResetMode;
 import io.github.aparx.skywarz.game.arena.settings.rule.BooleanArenaRule;
 import io.github.aparx.skywarz.game.arena.settings.rule.EnumArenaRule;
 import io.github.aparx.skywarz.game.arena.settings.rule.IntArenaRule;
@@ -22,7 +23,8 @@ public enum ArenaRule {
   WORLD_WEATHER(new EnumArenaRule<>("world.weather", WeatherType.CLEAR, WeatherType.class)),
   WORLD_TIME(new IntArenaRule("world.time", 6000, 0, 24000)),
   CHEST_REFILL(new BooleanArenaRule("refill", true)),
-  PROTECTION_PHASE(new BooleanArenaRule("phase.protection", true));
+  PROTECTION_PHASE(new BooleanArenaRule("phase.protection", true)),
+  RESET_MODE(new EnumArenaRule<>("reset.mode", ArenaResetMode.EVENT, ArenaResetMode.class));
 
   private final @NonNull AbstractArenaRule<?> rule;
 
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import io.github.aparx.bufig.utils.ConversionUtils;
+import io.github.aparx.skywarz.game.arena.reset.ArenaResetMode;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.WeatherType;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
@@ -91,6 +92,11 @@ public final class ArenaSettings implements ConfigurationSerializable {
     return (boolean) getRuleValueOptional(ArenaRule.PROTECTION_PHASE).orElse(false);
   }
 
+  public @NonNull ArenaResetMode getResetMode() {
+    return (ArenaResetMode) getRuleValueOptional(ArenaRule.RESET_MODE)
+        .orElse(ArenaResetMode.EVENT);
+  }
+
   @CheckReturnValue
   public ArenaSettings withRule(@NonNull ArenaRule rule, Object value) {
     Preconditions.checkNotNull(rule, "Rule must not be null");
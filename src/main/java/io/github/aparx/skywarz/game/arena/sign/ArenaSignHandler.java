@@ -1,13 +1,15 @@
 package io.github.aparx.skywarz.game.arena.sign;
 
 import com.google.common.base.Preconditions;
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.bufig.handler.ConfigProxy;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.game.arena.GameArena;
 import io.github.aparx.skywarz.handler.SkywarsConfigHandler;
+import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
+import io.github.aparx.skywarz.language.VariableKey;
 import io.github.aparx.skywarz.language.VariablePopulator;
+import io.github.aparx.skywarz.language.VariableUsage;
 import io.github.aparx.skywarz.permission.SkywarsPermission;
 import io.github.aparx.skywarz.startup.Main;
 import io.github.aparx.skywarz.utils.collection.KeyValueSet;
@@ -107,9 +109,10 @@ public final class ArenaSignHandler implements Listener {
   }
 
   public LazyVariableLookup createLookup() {
-    LazyVariableLookup lookup = new LazyVariableLookup();
-    VariablePopulator.addArenaOrAcquiree(lookup, getArena(), ArrayPath.of());
-    return lookup;
+    List<String> template = getTemplate();
+    return VariablePopulator.createArenaOrAcquiree(getArena(), VariableKey.ROOT, template != null
+        ? Language.getInstance().getUsage(template)
+        : VariableUsage.ALL);
   }
 
   public @NonNull Optional<GameArena> findArena() {
@@ -1,5 +1,6 @@
 package io.github.aparx.skywarz.game.chest;
 
+import com.google.common.base.Preconditions;
 import io.github.aparx.bufig.configurable.field.ConfigMapping;
 import io.github.aparx.bufig.configurable.field.Document;
 import io.github.aparx.bufig.configurable.object.ConfigObject;
@@ -8,6 +9,7 @@ import io.github.aparx.skywarz.handler.SkywarsConfigHandler;
 import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.enchantments.Enchantment;
+import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.Set;
 
@@ -56,10 +58,54 @@ public final class ChestConfig extends ConfigObject {
       "Enchantments names are done after Bukkit's enchantment enumeration:",
       "https://hub.spigotmc.org/javadocs/bukkit/org/bukkit/enchantments/Enchantment.html"
   })
-  private ChestItems items = new ChestItems();
+  private ChestItems items = createItems();
+
+  @ConfigMapping("middle items")
+  @Document({
+      "A list of all items possibly occurring in chests tagged as middle chests.",
+      "Chests are tagged with \"/sw arena set chest <Arena> <Tier>\" while looking at them.",
+      "Arenas can define their own lists within their \"loot\" section."
+  })
+  private ChestItems middleItems = createMiddleItems();
 
   private ChestConfig() {
     super((proxy) -> Skywars.getInstance().getConfigHandler().getOrCreate("chest"));
+  }
+
+  /**
+   * Returns the global items of chests of given {@code tier}, which are the items of island
+   * chests if the tier has no items.
+   */
+  public ChestItems getItems(@NonNull ChestTier tier) {
+    Preconditions.checkNotNull(tier, "Tier must not be null");
+    return tier == ChestTier.MIDDLE && !middleItems.isEmpty() ? middleItems : items;
+  }
+
+  @Override
+  public void load() {
+    super.load();
+    // chests cannot be filled without items, thus never leave the island items empty
+    if (items == null || items.isEmpty()) {
+      Skywars.logger().warning("No chest items configured, using the default items");
+      items = createItems();
+    }
+    if (middleItems == null) middleItems = new ChestItems();
+    if (middleItems.isEmpty())
+      Skywars.logger().warning("No middle items configured, middle chests use the chest items");
+  }
+
+  @Override
+  public void save() {
+    setHeaderIfAbsent(SkywarsConfigHandler.createHeader(
+        "Chest configuration",
+        "Edit the items and their possibility of appearing in chests!",
+        "The higher the weight, the higher the chance the item is put into a chest."
+    ));
+    super.save();
+  }
+
+  private ChestItems createItems() {
+    ChestItems items = new ChestItems();
     items.addAll(getTiers());
     items.addAll(getBlocks());
     items.addAll(getFood());
@@ -70,16 +116,14 @@ public final class ChestConfig extends ConfigObject {
         new ChestItem(Material.STICK, COMMON),
         new ChestItem(Material.FLINT_AND_STEEL, UNCOMMON)
     ));
+    return items;
   }
 
-  @Override
-  public void save() {
-    setHeaderIfAbsent(SkywarsConfigHandler.createHeader(
-        "Chest configuration",
-        "Edit the items and their possibility of appearing in chests!",
-        "The higher the weight, the higher the chance the item is put into a chest."
-    ));
-    super.save();
+  private ChestItems createMiddleItems() {
+    ChestItems items = new ChestItems();
+    items.addAll(getMiddle());
+    items.addAll(getFood());
+    return items;
   }
 
   private Set<ChestItem> getTiers() {
@@ -138,6 +182,37 @@ public final class ChestConfig extends ConfigObject {
     );
   }
 
+  private Set<ChestItem> getMiddle() {
+    return Set.of(
+        /* STONE TIER */
+        new ChestItem(Material.CHAINMAIL_CHESTPLATE, UNCOMMON),
+        new ChestItem(Material.CHAINMAIL_LEGGINGS, ARMOR_OFFSET + UNCOMMON),
+        new ChestItem(Material.STONE_SWORD, UNCOMMON),
+        /* IRON TIER */
+        new ChestItem(Material.IRON_BOOTS, ARMOR_OFFSET + RARE),
+        new ChestItem(Material.IRON_CHESTPLATE, RARE),
+        new ChestItem(Material.IRON_LEGGINGS, ARMOR_OFFSET + RARE),
+        new ChestItem(Material.IRON_HELMET, ARMOR_OFFSET + RARE),
+        new ChestItem(Material.IRON_SWORD, RARE),
+        new ChestItem(Material.IRON_AXE, TOOL_MULTIPLIER * RARE),
+        new ChestItem(Material.IRON_PICKAXE, TOOL_MULTIPLIER * RARE),
+        new ChestItem(Material.IRON_INGOT, 8, BLOCK_MULTIPLIER * RARE / 2),
+        /* DIAMOND TIER */
+        new ChestItem(Material.DIAMOND_BOOTS, ARMOR_OFFSET + EPIC),
+        new ChestItem(Material.DIAMOND_CHESTPLATE, EPIC),
+        new ChestItem(Material.DIAMOND_LEGGINGS, ARMOR_OFFSET + EPIC),
+        new ChestItem(Material.DIAMOND_HELMET, ARMOR_OFFSET + EPIC),
+        new ChestItem(Material.DIAMOND_SWORD, EPIC),
+        new ChestItem(Material.DIAMOND_PICKAXE, TOOL_MULTIPLIER * EPIC),
+        new ChestItem(Material.DIAMOND, 8, BLOCK_MULTIPLIER * EPIC / 2),
+        /* SPECIAL */
+        new ChestItem(Material.ENDER_PEARL, EPIC),
+        new ChestItem(Material.LAVA_BUCKET, EPIC),
+        new ChestItem(Material.COBWEB, RARE),
+        new ChestItem(Material.STONE, HALF_AMOUNT, BLOCK_MULTIPLIER * UNCOMMON)
+    );
+  }
+
   private Set<ChestItem> getBlocks() {
     return Set.of(
         new ChestItem(Material.COBWEB, UNCOMMON),
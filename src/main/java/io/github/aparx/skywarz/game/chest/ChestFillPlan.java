@@ -0,0 +1,49 @@
+package io.github.aparx.skywarz.game.chest;
+
+import com.google.common.base.Preconditions;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Precomputed content of a chest, that is the slots to fill and the stacks to fill them with.
+ * <p>Plans are created off the main thread, so that filling a chest only sets its items.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 14:35
+ * @since 1.0
+ */
+public final class ChestFillPlan {
+
+  private final int size;
+
+  private final int[] slots;
+
+  /** The shared stacks of the slots, which inventories copy once they are set */
+  private final ItemStack[] stacks;
+
+  ChestFillPlan(int size, int @NonNull [] slots, ItemStack @NonNull [] stacks) {
+    Preconditions.checkArgument(slots.length == stacks.length, "Slots must match stacks");
+    this.size = size;
+    this.slots = slots;
+    this.stacks = stacks;
+  }
+
+  /** Returns the inventory size this plan is created for. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Returns the amount of slots this plan fills. */
+  public int getFilledCount() {
+    return slots.length;
+  }
+
+  public void apply(@NonNull Inventory inventory) {
+    Preconditions.checkNotNull(inventory, "Inventory must not be null");
+    Preconditions.checkArgument(inventory.getSize() >= size, "Inventory is too small");
+    for (int i = 0; i < slots.length; ++i)
+      inventory.setItem(slots[i], stacks[i]);
+  }
+
+}
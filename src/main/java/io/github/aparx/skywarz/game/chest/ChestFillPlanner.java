@@ -0,0 +1,160 @@
+package io.github.aparx.skywarz.game.chest;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.utils.array.BinomialSampler;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.ItemStack;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+
+/**
+ * Planner of chest contents, that keeps a pool of precomputed fill plans per chest tier and
+ * inventory size.
+ * <p>The amount of filled slots is drawn from a binomial distribution of the slot probability,
+ * after which that many distinct slots are chosen. Plans are generated asynchronously ahead of
+ * time and topped up once a pool runs low, while a plan is created on demand if a pool is empty.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 14:40
+ * @since 1.0
+ */
+public final class ChestFillPlanner {
+
+  /** The inventory size of a single chest, for which plans are prepared ahead of time */
+  public static final int SINGLE_CHEST_SIZE = 27;
+
+  /** The amount of plans a pool is filled up to */
+  private static final int POOL_SIZE = 32;
+
+  private final EnumMap<ChestTier, ChestItems> tables;
+
+  private final double probability;
+
+  private final EnumMap<ChestTier, Map<Integer, Pool>> pools = new EnumMap<>(ChestTier.class);
+
+  private final Map<Integer, BinomialSampler> samplers = new ConcurrentHashMap<>();
+
+  /**
+   * @param tables      the items of each chest tier
+   * @param probability the probability of each slot to be filled, between 0 and 1
+   */
+  public ChestFillPlanner(@NonNull Map<ChestTier, ChestItems> tables, double probability) {
+    Preconditions.checkNotNull(tables, "Tables must not be null");
+    Preconditions.checkArgument(probability >= 0 && probability <= 1,
+        "Probability must be between 0 and 1");
+    this.tables = new EnumMap<>(ChestTier.class);
+    for (ChestTier tier : ChestTier.values()) {
+      ChestItems items = tables.get(tier);
+      Preconditions.checkArgument(items != null, "Missing items of tier %s", tier);
+      this.tables.put(tier, items);
+      this.pools.put(tier, new ConcurrentHashMap<>());
+    }
+    this.probability = probability;
+  }
+
+  /** Prepares the plans of single chests of all tiers asynchronously. */
+  public void prepare() {
+    for (ChestTier tier : ChestTier.values())
+      getPool(tier, SINGLE_CHEST_SIZE).refillAsync();
+  }
+
+  /** Returns a plan for a chest of given {@code tier} and inventory {@code size}. */
+  public @NonNull ChestFillPlan take(@NonNull ChestTier tier, int size) {
+    Preconditions.checkNotNull(tier, "Tier must not be null");
+    Pool pool = getPool(tier, size);
+    ChestFillPlan plan = pool.poll();
+    if (pool.size() < POOL_SIZE / 2) pool.refillAsync();
+    return plan != null ? plan : create(tier, size, ThreadLocalRandom.current());
+  }
+
+  /** Discards all prepared plans, i.e. because the match is reset. */
+  public void clear() {
+    pools.values().forEach(Map::clear);
+  }
+
+  public @NonNull ChestFillPlan create(@NonNull ChestTier tier, int size, @NonNull Random random) {
+    Preconditions.checkNotNull(tier, "Tier must not be null");
+    Preconditions.checkArgument(size >= 0, "Size must not be negative");
+    ChestItems items = tables.get(tier);
+    // a tier without items leaves its chests empty, rather than failing to fill them
+    int count = items.isEmpty() ? 0 : samplers
+        .computeIfAbsent(size, (n) -> new BinomialSampler(n, probability))
+        .sample(random);
+    // partial Fisher-Yates shuffle, of which the first slots are the distinct chosen ones
+    int[] order = new int[size];
+    for (int i = 0; i < size; ++i)
+      order[i] = i;
+    int[] slots = new int[count];
+    ItemStack[] stacks = new ItemStack[count];
+    for (int i = 0; i < count; ++i) {
+      int j = i + random.nextInt(size - i);
+      int slot = order[j];
+      order[j] = order[i];
+      slots[i] = slot;
+      stacks[i] = items.next(random).nextStack(random);
+    }
+    return new ChestFillPlan(size, slots, stacks);
+  }
+
+  private @NonNull Pool getPool(@NonNull ChestTier tier, int size) {
+    return pools.get(tier).computeIfAbsent(size, (n) -> new Pool(tier, n));
+  }
+
+  private final class Pool {
+
+    private final @NonNull ChestTier tier;
+
+    private final int size;
+
+    private final Queue<ChestFillPlan> plans = new ConcurrentLinkedQueue<>();
+
+    /** The amount of plans, since the size of concurrent queues is not constant time */
+    private final AtomicInteger count = new AtomicInteger();
+
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    Pool(@NonNull ChestTier tier, int size) {
+      this.tier = tier;
+      this.size = size;
+    }
+
+    ChestFillPlan poll() {
+      ChestFillPlan plan = plans.poll();
+      if (plan != null) count.decrementAndGet();
+      return plan;
+    }
+
+    int size() {
+      return count.get();
+    }
+
+    void refillAsync() {
+      if (!refilling.compareAndSet(false, true)) return;
+      Bukkit.getScheduler().runTaskAsynchronously(Skywars.plugin(), () -> {
+        try {
+          Random random = ThreadLocalRandom.current();
+          while (count.get() < POOL_SIZE) {
+            plans.add(create(tier, size, random));
+            count.incrementAndGet();
+          }
+        } catch (RuntimeException e) {
+          Skywars.logger().log(Level.WARNING, "Could not prepare chest contents", e);
+        } finally {
+          refilling.set(false);
+        }
+      });
+    }
+  }
+
+}
@@ -4,6 +4,8 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.game.arena.GameArena;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
 import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.language.VariablePopulator;
 import io.github.aparx.skywarz.utils.sound.SoundRecord;
@@ -19,15 +21,12 @@ import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
 import org.bukkit.entity.ArmorStand;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.util.Vector;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.ref.WeakReference;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
 import java.util.regex.Pattern;
 
 /**
@@ -43,21 +42,46 @@ public class ChestHandler {
   public static final Pattern HOLOGRAM_NAME_PATTERN =
       Pattern.compile(HOLOGRAM_COLOR + "([0-9][0-9](:?))+");
 
+  /** The interval in ticks in which holograms are updated and due refills are performed */
+  private static final long REFILL_UPDATE_INTERVAL = TickDuration.of(TimeUnit.SECONDS, 1).toTicks();
+
   @Getter(AccessLevel.NONE)
   private final WeakReference<GameArena> arena;
 
   @Getter(AccessLevel.NONE)
   private final Map<Location, OpenedChest> opened = new HashMap<>();
 
-  private final @NonNull ChestItems items;
+  private final @NonNull ChestFillPlanner planner;
 
   private final TickDuration refillDelay;
 
-  public ChestHandler(@NonNull GameArena arena, @NonNull ChestItems items) {
+  /** Chests waiting for their refill, the chest that is refilled next being first */
+  @Getter(AccessLevel.NONE)
+  private final Queue<OpenedChest> refills =
+      new PriorityQueue<>(Comparator.comparingLong(OpenedChest::getRefillTime));
+
+  /** The ticks elapsed while refills were scheduled, which deadlines are relative to */
+  @Getter(AccessLevel.NONE)
+  private long refillClock;
+
+  @Getter(AccessLevel.NONE)
+  private SkywarsTickLoop.@Nullable LoopTask refillTask;
+
+  public ChestHandler(@NonNull GameArena arena) {
     Preconditions.checkNotNull(arena, "Arena must not be null");
     this.arena = new WeakReference<>(arena);
-    this.items = items;
     this.refillDelay = MainConfig.getInstance().getDurationRefill();
+    EnumMap<ChestTier, ChestItems> tables = new EnumMap<>(ChestTier.class);
+    for (ChestTier tier : ChestTier.values())
+      tables.put(tier, arena.getData().getLoot(tier));
+    // a slot is filled if a roll in [0, 100) does not exceed the configured probability
+    int probability = ChestConfig.getInstance().getProbability();
+    this.planner = new ChestFillPlanner(tables, Math.min(Math.max(probability + 1, 0), 100) / 100d);
+  }
+
+  /** Prepares the contents of chests asynchronously, so that they are filled without delay. */
+  public void prepare() {
+    planner.prepare();
   }
 
   public void reset() {
@@ -65,6 +89,12 @@ public class ChestHandler {
       findArena().ifPresent((arena) -> opened.forEach((location, chest) -> chest.reset()));
     } finally {
       opened.clear();
+      refills.clear();
+      planner.clear();
+      if (refillTask != null) {
+        refillTask.cancel();
+        refillTask = null;
+      }
     }
   }
 
@@ -97,41 +127,64 @@ public class ChestHandler {
     return opened.containsKey(vector.toLocation(getArena().getData().getWorld()));
   }
 
+  private void scheduleRefill(@NonNull OpenedChest chest) {
+    chest.setRefillTime(refillClock + Math.max(refillDelay.toTicks(), 1));
+    refills.add(chest);
+    if (refillTask == null)
+      refillTask = Skywars.getInstance().getTickLoop().schedule(TickSubsystem.CHEST,
+          REFILL_UPDATE_INTERVAL, REFILL_UPDATE_INTERVAL, this::updateRefills);
+  }
+
+  private void cancelRefill(@NonNull OpenedChest chest) {
+    // the refill task is cancelled once it finds no more refills
+    refills.remove(chest);
+  }
+
+  /** Refills all chests that are due and updates the holograms of all other chests. */
+  private void updateRefills() {
+    refillClock += REFILL_UPDATE_INTERVAL;
+    for (OpenedChest chest; (chest = refills.peek()) != null
+        && chest.getRefillTime() <= refillClock; ) {
+      refills.poll();
+      chest.refill();
+    }
+    for (OpenedChest chest : refills)
+      chest.updateHologram();
+    if (refills.isEmpty() && refillTask != null) {
+      refillTask.cancel();
+      refillTask = null;
+    }
+  }
+
   @Getter
   @Setter
   @RequiredArgsConstructor
   private class OpenedChest {
     private final @NonNull Location location;
     private @Nullable ArmorStand armorStand;
-    private @Nullable BukkitTask bukkitTask;
+    /** The time on the refill clock at which this chest is refilled */
+    private long refillTime;
+    /** The text last shown by the hologram, to only rename it once the text changes */
+    private @Nullable String hologramText;
 
     public void fill(@NonNull Inventory inventory) {
       this.reset();
       GameArena arena = getArena();
-      int probability = ChestConfig.getInstance().getProbability();
-      for (int i = 0, n = inventory.getSize(); i < n; ++i)
-        if (ThreadLocalRandom.current().nextInt(0, 100) <= probability) {
-          ItemStack stack = items.next().getStack();
-          int newAmount = stack.getAmount();
-          if (stack.getAmount() > 1)
-            newAmount = ThreadLocalRandom.current().nextInt(1, stack.getAmount());
-          if (newAmount != stack.getAmount())
-            (stack = stack.clone()).setAmount(newAmount);
-          inventory.setItem(i, stack);
-        }
+      ChestTier tier = arena.getData().getChestTier(location.toVector());
+      planner.take(tier, inventory.getSize()).apply(inventory);
       if (arena.getData().getSettings().getChestRefill()) {
         armorStand = spawnHologram();
-        bukkitTask = createRefillUpdateTask();
+        scheduleRefill(this);
+        updateHologram();
       }
     }
 
     public void reset() {
-      if (bukkitTask != null)
-        bukkitTask.cancel();
+      cancelRefill(this);
       if (armorStand != null)
         armorStand.remove();
       armorStand = null;
-      bukkitTask = null;
+      hologramText = null;
       Optional.ofNullable(getChest()).ifPresent((chest) -> {
         chest.getBlockInventory().clear();
       });
@@ -144,27 +197,41 @@ public class ChestHandler {
       return null;
     }
 
-    private BukkitTask createRefillUpdateTask() {
-      TimeTicker ticker = new TimeTicker(TimeUnit.SECONDS);
-      return Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), () -> {
-        Chest chest = getChest();
-        if (chest == null) {
-          reset();
-          opened.remove(getLocation());
-        } else if (armorStand != null && armorStand.isValid()) {
-          // create a new dummy ticker to invert this ticker to represent time left
-          TimeTicker left = new TimeTicker(TimeUnit.TICKS);
-          left.set(refillDelay.toTicks() - ticker.getElapsed(TimeUnit.TICKS));
-          armorStand.setCustomName(HOLOGRAM_COLOR + VariablePopulator.formatRelativeDate(left));
-        } else if (ticker.hasElapsed(refillDelay)) {
-          fill(chest.getBlockInventory());
-          Location center = getHorizontalCenter().add(0, 1.05, 0);
-          World world = Objects.requireNonNull(location.getWorld());
-          world.spawnParticle(Particle.FLAME, center, 3, 0, 0, 0, 0, null);
-          SoundRecord.CHEST_REFILLED.play(center);
-        }
-        ticker.tick();
-      }, 0, ticker.getInterval().toTicks());
+    private boolean isChunkLoaded() {
+      World world = location.getWorld();
+      return world != null
+          && world.isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    private void refill() {
+      if (!isChunkLoaded()) {
+        // postpone until the chest is loaded, instead of loading the chunk to refill it
+        refillTime = refillClock + REFILL_UPDATE_INTERVAL;
+        refills.add(this);
+        return;
+      }
+      Chest chest = getChest();
+      if (chest == null) {
+        reset();
+        opened.remove(getLocation());
+        return;
+      }
+      fill(chest.getBlockInventory());
+      Location center = getHorizontalCenter().add(0, 1.05, 0);
+      World world = Objects.requireNonNull(location.getWorld());
+      world.spawnParticle(Particle.FLAME, center, 3, 0, 0, 0, 0, null);
+      SoundRecord.CHEST_REFILLED.play(center);
+    }
+
+    private void updateHologram() {
+      // invalid while the chunk is not loaded, in which case there is nobody to see it
+      if (armorStand == null || !armorStand.isValid()) return;
+      TimeTicker left = new TimeTicker(TimeUnit.TICKS);
+      left.set(Math.max(refillTime - refillClock, 0));
+      String text = HOLOGRAM_COLOR + VariablePopulator.formatRelativeDate(left);
+      if (text.equals(hologramText)) return;
+      armorStand.setCustomName(text);
+      hologramText = text;
     }
 
     private Location getHorizontalCenter() {
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CheckReturnValue;
 import io.github.aparx.skywarz.utils.item.ItemBuilder;
 import io.github.aparx.skywarz.utils.item.WrappedItemStack;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.Material;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
@@ -15,6 +16,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -28,6 +30,10 @@ public final class ChestItem extends WrappedItemStack implements ConfigurationSe
   /** Weight of this item actually occurring */
   private final double weight;
 
+  /** Copies of the stack for each amount up to the amount of the stack, starting at one */
+  @Getter(AccessLevel.NONE)
+  private final ItemStack[] templates;
+
   public ChestItem(@NonNull Material material, int amount, double weight) {
     this(ItemBuilder.builder(material).amount(amount).build(), weight);
   }
@@ -41,6 +47,21 @@ public final class ChestItem extends WrappedItemStack implements ConfigurationSe
     Preconditions.checkArgument(weight >= 0 && weight <= 100,
         "Weight must be between 0 and 100");
     this.weight = weight;
+    this.templates = new ItemStack[Math.max(stack.getAmount(), 1)];
+    for (int i = 0; i < templates.length - 1; ++i)
+      (templates[i] = stack.clone()).setAmount(1 + i);
+    templates[templates.length - 1] = stack;
+  }
+
+  /**
+   * Returns the stack with a random amount below the amount of this item, or the stack itself
+   * if its amount is one.
+   * <p>The returned stack is shared and must not be modified. Inventories copy stacks that are
+   * set, thus the stack can be put into inventories as is.
+   */
+  public @NonNull ItemStack nextStack(@NonNull Random random) {
+    if (templates.length == 1) return templates[0];
+    return templates[random.nextInt(templates.length - 1)];
   }
 
   @CheckReturnValue
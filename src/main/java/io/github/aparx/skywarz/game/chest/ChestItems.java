@@ -3,10 +3,13 @@ package io.github.aparx.skywarz.game.chest;
 import com.google.common.base.Preconditions;
 import io.github.aparx.bufig.configurable.field.ConfigField;
 import io.github.aparx.bufig.configurable.field.ConfigFieldValueMutator;
+import io.github.aparx.skywarz.utils.array.AliasSampler;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.material.Chest;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ThreadLocalRandom;
@@ -26,10 +29,14 @@ public class ChestItems implements ConfigurationSerializable {
         (field, value) -> ChestItems.of(value)));
   }
 
-  private final @NonNull NavigableMap<Double, ChestItem> map = new TreeMap<>();
+  private final @NonNull List<ChestItem> list = new ArrayList<>();
 
   private double total;
 
+  /** The sampler of all items, which is built on first use after the items changed */
+  @Getter(AccessLevel.NONE)
+  private transient @Nullable AliasSampler<ChestItem> sampler;
+
   public static ChestItems deserialize(Map<String, Object> args) {
     Object object = args.get("data");
     if (!(object instanceof Collection))
@@ -37,7 +44,7 @@ public class ChestItems implements ConfigurationSerializable {
     return of((Collection<?>) object);
   }
 
-  private static ChestItems of(Collection<?> collection) {
+  public static ChestItems of(@NonNull Collection<?> collection) {
     Preconditions.checkNotNull(collection, "Collection must not be null");
     ChestItems items = new ChestItems();
     for (Object o : collection)
@@ -54,7 +61,8 @@ public class ChestItems implements ConfigurationSerializable {
   public void add(@NonNull ChestItem item) {
     Preconditions.checkNotNull(item, "Item must not be null");
     total += item.getWeight();
-    map.put(total, item);
+    list.add(item);
+    sampler = null;
   }
 
   public void addAll(@NonNull Collection<? extends ChestItem> collection) {
@@ -62,16 +70,24 @@ public class ChestItems implements ConfigurationSerializable {
     collection.forEach(this::add);
   }
 
+  /** Returns true if no item can be drawn, that is if there are no items of positive weight. */
+  public boolean isEmpty() {
+    return list.isEmpty() || total <= 0;
+  }
+
   public @NonNull ChestItem next() {
     return next(ThreadLocalRandom.current());
   }
 
   public @NonNull ChestItem next(@NonNull Random random) {
     Preconditions.checkNotNull(random, "Random must not be null");
-    return map.ceilingEntry(random.nextDouble() * total).getValue();
+    AliasSampler<ChestItem> sampler = this.sampler;
+    if (sampler == null)
+      this.sampler = sampler = new AliasSampler<>(list, ChestItem::getWeight);
+    return sampler.next(random);
   }
 
   public @NonNull Collection<ChestItem> values() {
-    return new ArrayList<>(map.values());
+    return new ArrayList<>(list);
   }
 }
@@ -0,0 +1,18 @@
+package io.github.aparx.skywarz.game.chest;
+
+/**
+ * The tiers of chests within an arena, each filled from its own loot table.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 14:10
+ * @since 1.0
+ */
+public enum ChestTier {
+
+  /** Chests on the islands of the teams, which is the tier of all chests not tagged otherwise */
+  ISLAND,
+
+  /** Chests in the middle of the arena, which usually contain better loot */
+  MIDDLE
+
+}
@@ -5,6 +5,8 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.game.inventory.content.InventoryContentView;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
 import io.github.aparx.skywarz.utils.collection.WeakHashSet;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import io.github.aparx.skywarz.utils.tick.TimeTicker;
@@ -23,7 +25,6 @@ import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.SkullMeta;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -48,7 +49,7 @@ public class SpecialInventory<T extends InventoryContentView> implements Listene
 
   private Inventory inventory;
 
-  private volatile BukkitTask task;
+  private volatile SkywarsTickLoop.LoopTask task;
 
   private final TimeTicker updateTicker = new TimeTicker();
 
@@ -206,9 +207,8 @@ public class SpecialInventory<T extends InventoryContentView> implements Listene
   @CanIgnoreReturnValue
   protected boolean start(TickDuration interval) {
     if (task != null) return false;
-    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(),
-        () -> updateInventory(updateTicker.tick()),
-        interval.toTicks(), interval.toTicks());
+    task = Skywars.getInstance().getTickLoop().schedule(TickSubsystem.INVENTORY,
+        interval.toTicks(), interval.toTicks(), () -> updateInventory(updateTicker.tick()));
 
     Bukkit.getPluginManager().registerEvent(
         InventoryClickEvent.class, this, EventPriority.NORMAL,
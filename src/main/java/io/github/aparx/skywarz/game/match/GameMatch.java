@@ -11,7 +11,6 @@ import io.github.aparx.skywarz.events.match.MatchLeaveEvent;
 import io.github.aparx.skywarz.events.match.MatchPointsCalculateEvent;
 import io.github.aparx.skywarz.game.arena.settings.ArenaSettings;
 import io.github.aparx.skywarz.game.arena.reset.ArenaReset;
-import io.github.aparx.skywarz.game.chest.ChestConfig;
 import io.github.aparx.skywarz.game.chest.ChestHandler;
 import io.github.aparx.skywarz.game.kit.GameKit;
 import io.github.aparx.skywarz.game.kit.GameKitManager;
@@ -75,6 +74,8 @@ public class GameMatch implements Snowflake<UUID>, RegisterNotifiable {
 
   private final MatchScoreboardHandlers scoreboardHandlers = new MatchScoreboardHandlers(this);
 
+  private final MatchVariableFrame variableFrame = new MatchVariableFrame(this);
+
   private final WeakPlayerGroup audience = new WeakPlayerGroup() {
     @Override
     public boolean add(SkywarsPlayer player) {
@@ -98,7 +99,7 @@ public class GameMatch implements Snowflake<UUID>, RegisterNotifiable {
     Preconditions.checkNotNull(arena, "Arena must not be null");
     this.id = id;
     this.arena = new ArenaSnapshot(arena);
-    this.chestHandler = new ChestHandler(arena, ChestConfig.getInstance().getItems());
+    this.chestHandler = new ChestHandler(arena);
   }
 
   /** Called by the {@code MatchManager} when this match has been registered. */
@@ -112,6 +113,7 @@ public class GameMatch implements Snowflake<UUID>, RegisterNotifiable {
     this.arena = new ArenaSnapshot(arenaSource);
     this.teamMap.createTeams();
     this.kits = GameKitManager.getInstance().createSnapshot();
+    chestHandler.prepare();
     cycler.cycleJump(GameMatchState.IDLE);
 
     getWatchTask().start();
@@ -174,6 +176,7 @@ public class GameMatch implements Snowflake<UUID>, RegisterNotifiable {
         audience.sendMessage(Language.getInstance()
             .get(MessageKeys.Match.JOIN_BROADCAST)
             .substitute(player.getOnline(), ArrayPath.of("player")));
+      variableFrame.invalidate();
       Objects.requireNonNull(arena.getSource()).getSignHandler().update();
       return true;
     } catch (Exception e) {
@@ -206,6 +209,7 @@ public class GameMatch implements Snowflake<UUID>, RegisterNotifiable {
       Preconditions.checkNotNull(snapshot, "Cannot restore entity (snapshot removed)");
       snapshot.restore(entity);
     });
+    variableFrame.invalidate();
     Objects.requireNonNull(arena.getSource()).getSignHandler().update();
     Bukkit.getPluginManager().callEvent(new MatchLeaveEvent(this, player));
     return true;
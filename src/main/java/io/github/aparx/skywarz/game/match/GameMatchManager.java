@@ -1,8 +1,8 @@
 package io.github.aparx.skywarz.game.match;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Multimaps;
-import com.google.common.collect.SetMultimap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
@@ -13,7 +13,6 @@ import io.github.aparx.skywarz.game.match.listener.SkywarsMatchListener;
 import io.github.aparx.skywarz.handler.DefaultSkywarsHandler;
 import io.github.aparx.skywarz.utils.collection.KeyValueSet;
 import io.github.aparx.skywarz.utils.collection.KeyValueSets;
-import io.github.aparx.skywarz.utils.collection.WeakHashSet;
 import lombok.Synchronized;
 import org.bukkit.Bukkit;
 import org.bukkit.World;
@@ -35,10 +34,11 @@ public final class GameMatchManager extends DefaultSkywarsHandler implements Ite
 
   private static final SkywarsMatchListener LISTENER = new SkywarsMatchListener();
 
+  /** The registered matches, only ever accessed while synchronized */
   private final KeyValueSet<UUID, GameMatch> internalSet = KeyValueSets.ofNotifable();
-  private final WeakHashMap<GameArena, GameMatch> byArena = new WeakHashMap<>();
-  private final SetMultimap<World, GameMatch> byWorld =
-      Multimaps.newSetMultimap(new WeakHashMap<>(), WeakHashSet::new);
+
+  /** Snapshot of {@code internalSet} that is replaced on every change, read without locking */
+  private volatile MatchIndex index = MatchIndex.EMPTY;
 
   @Override
   protected void onLoad() {
@@ -51,7 +51,7 @@ public final class GameMatchManager extends DefaultSkywarsHandler implements Ite
     new ArrayList<>(internalSet).forEach(this::remove);
 
     internalSet.clear();
-    byArena.clear();
+    index = MatchIndex.EMPTY;
     HandlerList.unregisterAll(LISTENER);
   }
 
@@ -76,11 +76,11 @@ public final class GameMatchManager extends DefaultSkywarsHandler implements Ite
   }
 
   public int size() {
-    return internalSet.size();
+    return index.byId.size();
   }
 
   public boolean isEmpty() {
-    return internalSet.isEmpty();
+    return index.byId.isEmpty();
   }
 
   @Synchronized
@@ -91,6 +91,8 @@ public final class GameMatchManager extends DefaultSkywarsHandler implements Ite
     Preconditions.checkNotNull(source, "Arena source is invalid");
     Preconditions.checkState(!source.isAcquiredByMatch(),
         "There already is a match running at this arena currently");
+    Preconditions.checkState(!source.getReset().isResetting(),
+        "The arena is currently being reset");
     return add(match);
   }
 
@@ -118,8 +120,7 @@ public final class GameMatchManager extends DefaultSkywarsHandler implements Ite
   public boolean add(@NonNull GameMatch match) {
     Preconditions.checkNotNull(match, "Match must not be null");
     if (!internalSet.add(match)) return false;
-    byArena.put(match.getArena().getSource(), match);
-    byWorld.put(match.getArena().getData().getWorld(), match);
+    index = new MatchIndex(internalSet);
     return true;
   }
 
@@ -128,70 +129,93 @@ public final class GameMatchManager extends DefaultSkywarsHandler implements Ite
   public boolean remove(@NonNull GameMatch match) {
     Preconditions.checkNotNull(match, "Match must not be null");
     if (!internalSet.remove(match)) return false;
-    byArena.remove(match.getArena().getSource());
-    // TODO check if this actually would throw any exceptions long-term
-    byWorld.removeAll(match.getArena().getData().getWorld());
+    index = new MatchIndex(internalSet);
     return true;
   }
 
-  @Synchronized
   public Optional<GameMatch> find(@NonNull UUID matchId) {
     Preconditions.checkNotNull(matchId, "ID must not be null");
-    return internalSet.find(matchId);
+    return Optional.ofNullable(index.byId.get(matchId));
   }
 
-  @Synchronized
   public Optional<GameMatch> find(@NonNull GameArena arena) {
     Preconditions.checkNotNull(arena, "Arena must not be null");
-    return Optional.ofNullable(byArena.get(arena));
+    return Optional.ofNullable(index.byArena.get(arena));
   }
 
-  @Synchronized
   public Set<GameMatch> find(@NonNull World world) {
     Preconditions.checkNotNull(world, "World must not be null");
-    return byWorld.get(world);
+    return index.byWorld.getOrDefault(world.getUID(), ImmutableSet.of());
   }
 
-  @Synchronized
   @CanIgnoreReturnValue
   public GameMatch get(@NonNull UUID matchId) {
     return find(matchId).orElseThrow();
   }
 
-  @Synchronized
   @CanIgnoreReturnValue
   public GameMatch get(@NonNull GameArena arena) {
     return find(arena).orElseThrow();
   }
 
-  @Synchronized
   @CanIgnoreReturnValue
   public Set<GameMatch> get(@NonNull World world) {
     return find(world);
   }
 
-  @Synchronized
   public boolean contains(UUID matchId) {
-    return matchId != null && internalSet.containsKey(matchId);
+    return matchId != null && index.byId.containsKey(matchId);
   }
 
-  @Synchronized
   public boolean contains(GameMatch match) {
-    return match != null && internalSet.contains(match);
+    return match != null && match.equals(index.byId.get(match.getId()));
   }
 
-  @Synchronized
   public boolean contains(GameArena arena) {
-    return arena != null && byArena.containsKey(arena);
+    return arena != null && index.byArena.containsKey(arena);
   }
 
-  @Synchronized
   public boolean contains(World world) {
-    return world != null && byWorld.containsKey(world) && !byWorld.get(world).isEmpty();
+    return world != null && index.byWorld.containsKey(world.getUID());
   }
 
+  /** Returns an iterator over a snapshot of all matches registered at the time of calling. */
   @Override
   public @NonNull Iterator<GameMatch> iterator() {
-    return internalSet.iterator();
+    return index.byId.values().iterator();
+  }
+
+  /**
+   * Immutable snapshot of all registered matches and their lookup indexes.
+   * <p>A new snapshot is built on every registration and removal, which both are rare compared
+   * to lookups, so that lookups from event handlers and other threads never have to lock.
+   */
+  private static final class MatchIndex {
+
+    static final MatchIndex EMPTY = new MatchIndex(List.of());
+
+    final ImmutableMap<UUID, GameMatch> byId;
+
+    final ImmutableMap<GameArena, GameMatch> byArena;
+
+    final ImmutableMap<UUID, ImmutableSet<GameMatch>> byWorld;
+
+    MatchIndex(Collection<GameMatch> matches) {
+      ImmutableMap.Builder<UUID, GameMatch> byId = ImmutableMap.builder();
+      Map<GameArena, GameMatch> byArena = new HashMap<>();
+      Map<UUID, ImmutableSet.Builder<GameMatch>> byWorld = new HashMap<>();
+      for (GameMatch match : matches) {
+        byId.put(match.getId(), match);
+        GameArena source = match.getArena().getSource();
+        if (source != null) byArena.put(source, match);
+        byWorld.computeIfAbsent(match.getArena().getData().getWorld().getUID(),
+            (k) -> ImmutableSet.builder()).add(match);
+      }
+      this.byId = byId.build();
+      this.byArena = ImmutableMap.copyOf(byArena);
+      ImmutableMap.Builder<UUID, ImmutableSet<GameMatch>> worlds = ImmutableMap.builder();
+      byWorld.forEach((worldId, builder) -> worlds.put(worldId, builder.build()));
+      this.byWorld = worlds.build();
+    }
   }
 }
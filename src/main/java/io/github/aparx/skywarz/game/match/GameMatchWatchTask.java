@@ -4,14 +4,14 @@ import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.WeakPlayerGroup;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
 import io.github.aparx.skywarz.utils.tick.TimeTicker;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import io.github.aparx.skywarz.utils.tick.TimeUnit;
 import io.github.aparx.skywarz.utils.tick.Ticker;
 import lombok.NonNull;
 import lombok.Synchronized;
-import org.bukkit.Bukkit;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.lang.ref.WeakReference;
 import java.util.logging.Level;
@@ -23,7 +23,7 @@ import java.util.logging.Level;
  */
 public final class GameMatchWatchTask {
 
-  private BukkitTask task;
+  private SkywarsTickLoop.LoopTask task;
 
   private final TickDuration interval = TickDuration.of(TimeUnit.SECONDS, 5);
 
@@ -41,9 +41,8 @@ public final class GameMatchWatchTask {
   public boolean start() {
     if (task != null) return false;
     TickDuration minPlayerlessTime = TickDuration.of(TimeUnit.SECONDS, 15);
-    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), () -> {
-      tick(minPlayerlessTime);
-    }, 0, interval.toTicks());
+    task = Skywars.getInstance().getTickLoop().schedule(TickSubsystem.WATCH, 0,
+        interval.toTicks(), () -> tick(minPlayerlessTime));
     return true;
   }
 
@@ -0,0 +1,105 @@
+package io.github.aparx.skywarz.game.match;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.language.LazyVariableLookup;
+import io.github.aparx.skywarz.language.VariableKey;
+import io.github.aparx.skywarz.language.VariablePopulator;
+import io.github.aparx.skywarz.language.VariableUsage;
+import org.bukkit.Bukkit;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The variables of a match, shared by all messages that are created within the same tick of a
+ * match phase (i.e. countdowns, scoreboards, signs and the server list).
+ * <p>The shared variables are populated lazily on their first lookup and cached until the frame
+ * is invalidated, which happens on every tick of the current phase and whenever the audience
+ * of the match changes. Lookups obtained from this frame are layered on top of the shared
+ * variables, thus callers may add variables of their own without affecting other consumers.
+ * <p>Lookups obtained off the main thread are not shared, since the shared variables are not
+ * thread-safe.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 11:05
+ * @since 1.0
+ */
+public final class MatchVariableFrame {
+
+  private final @NonNull WeakReference<GameMatch> match;
+
+  /** The shared variables of the current tick, one for each prefix and null value used */
+  private final List<Layer> layers = new ArrayList<>(2);
+
+  public MatchVariableFrame(@NonNull GameMatch match) {
+    Preconditions.checkNotNull(match, "Match must not be null");
+    this.match = new WeakReference<>(match);
+  }
+
+  /** Discards all shared variables, so they are populated again on their next lookup. */
+  public void invalidate() {
+    layers.clear();
+  }
+
+  /** Returns a new lookup containing the variables of the match at offset {@code prefix}. */
+  public @NonNull LazyVariableLookup lookup(@NonNull VariableKey prefix) {
+    return lookup(prefix, null, VariableUsage.ALL);
+  }
+
+  /**
+   * Returns a new lookup containing the variables of the match at offset {@code prefix}, whose
+   * own variables are populated only if required by {@code usage}.
+   *
+   * @param prefix    the offset of the match variables
+   * @param nullValue the value of match variables that are absent (i.e. no winner)
+   * @param usage     the variables required by the messages the lookup is used for
+   */
+  public @NonNull LazyVariableLookup lookup(
+      @NonNull VariableKey prefix, @Nullable Object nullValue, @NonNull VariableUsage usage) {
+    Preconditions.checkNotNull(prefix, "Prefix must not be null");
+    Preconditions.checkNotNull(usage, "Usage must not be null");
+    return new LazyVariableLookup(getShared(prefix, nullValue), usage);
+  }
+
+  private @NonNull LazyVariableLookup getShared(
+      @NonNull VariableKey prefix, @Nullable Object nullValue) {
+    if (!Bukkit.isPrimaryThread())
+      return populate(prefix, nullValue);
+    for (Layer layer : layers)
+      if (layer.prefix.equals(prefix) && Objects.equals(layer.nullValue, nullValue))
+        return layer.lookup;
+    LazyVariableLookup lookup = populate(prefix, nullValue);
+    layers.add(new Layer(prefix, nullValue, lookup));
+    return lookup;
+  }
+
+  private @NonNull LazyVariableLookup populate(
+      @NonNull VariableKey prefix, @Nullable Object nullValue) {
+    GameMatch match = this.match.get();
+    Preconditions.checkState(match != null, "Match has become invalid");
+    LazyVariableLookup lookup = new LazyVariableLookup();
+    VariablePopulator.addMatch(lookup, match, prefix, nullValue);
+    return lookup;
+  }
+
+  private static final class Layer {
+
+    private final @NonNull VariableKey prefix;
+
+    private final @Nullable Object nullValue;
+
+    private final @NonNull LazyVariableLookup lookup;
+
+    Layer(@NonNull VariableKey prefix, @Nullable Object nullValue,
+          @NonNull LazyVariableLookup lookup) {
+      this.prefix = prefix;
+      this.nullValue = nullValue;
+      this.lookup = lookup;
+    }
+  }
+
+}
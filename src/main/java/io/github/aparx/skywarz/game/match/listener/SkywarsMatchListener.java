@@ -2,7 +2,6 @@ package io.github.aparx.skywarz.game.match.listener;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.command.arguments.CommandArgList;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.entity.data.types.PlayerMatchData;
@@ -13,6 +12,7 @@ import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.language.VariablePopulator;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
@@ -54,8 +54,8 @@ public class SkywarsMatchListener implements Listener {
           match.getAudience().sendMessage("%s: %s", entity.getDisplayName(), event.getMessage());
         } else if (matchData.isSpectator()) {
           LazyVariableLookup lookup = new LazyVariableLookup();
-          VariablePopulator.addPlayer(lookup, event.getPlayer(), ArrayPath.of("sender"));
-          lookup.set(ArrayPath.of("message"), event.getMessage());
+          VariablePopulator.addPlayer(lookup, event.getPlayer(), VariableKeys.SENDER);
+          lookup.set(VariableKeys.MESSAGE, event.getMessage());
           String message = Language.getInstance().substitute(MessageKeys.Match.CHAT_SPECTATOR,
               lookup);
           match.getAudience().dead().forEach((dead) -> dead.sendMessage(message));
@@ -68,8 +68,8 @@ public class SkywarsMatchListener implements Listener {
           boolean isEveryone = team.size() <= 1 || (!arg.isEmpty()
               && everyoneChatTags.contains(arg.toLowerCase()));
           LazyVariableLookup lookup = new LazyVariableLookup();
-          VariablePopulator.addPlayer(lookup, event.getPlayer(), ArrayPath.of("sender"));
-          lookup.set(ArrayPath.of("message"), isEveryone
+          VariablePopulator.addPlayer(lookup, event.getPlayer(), VariableKeys.SENDER);
+          lookup.set(VariableKeys.MESSAGE, isEveryone
               ? argList.join(Math.min(1, argList.length() - 1))
               : event.getMessage());
           (isEveryone ? match.getAudience() : team).sendFormattedMessage(
@@ -9,6 +9,9 @@ import io.github.aparx.skywarz.events.match.phase.MatchPhaseStopEvent;
 import io.github.aparx.skywarz.events.match.phase.MatchPhaseTickEvent;
 import io.github.aparx.skywarz.game.match.GameMatch;
 import io.github.aparx.skywarz.game.match.GameMatchState;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
+import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.utils.tick.TimeTicker;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import lombok.AccessLevel;
@@ -17,7 +20,6 @@ import lombok.Setter;
 import lombok.Synchronized;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Listener;
-import org.bukkit.scheduler.BukkitTask;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -41,10 +43,17 @@ public abstract class GamePhase implements Listener {
   private final @NonNull GameMatchState state;
 
   @Getter(AccessLevel.NONE)
-  private volatile BukkitTask task;
+  private volatile SkywarsTickLoop.LoopTask task;
 
   private final @NonNull TimeTicker ticker;
 
+  /** The ticks until the next phase tick event is called, at most once per configured interval */
+  @Getter(AccessLevel.NONE)
+  private long eventCountdown;
+
+  @Getter(AccessLevel.NONE)
+  private long eventInterval;
+
   @Setter(AccessLevel.PROTECTED)
   private @Nullable GamePhaseListener<?> listener;
 
@@ -90,9 +99,13 @@ public abstract class GamePhase implements Listener {
   @CanIgnoreReturnValue
   public final boolean start() {
     if (task != null) return false;
+    findMatch().ifPresent((match) -> match.getVariableFrame().invalidate());
     onStart();
     ticker.reset();
-    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), this::tick, 0L, interval.toTicks());
+    eventCountdown = 0;
+    eventInterval = MainConfig.getInstance().getDurationPhaseTickEvent().toTicks();
+    task = Skywars.getInstance().getTickLoop()
+        .schedule(TickSubsystem.PHASE, 0, interval.toTicks(), this::tick);
     Bukkit.getPluginManager().callEvent(
         new MatchPhaseStartEvent(findMatch().orElseThrow(), this));
     return true;
@@ -122,11 +135,13 @@ public abstract class GamePhase implements Listener {
         stop(StopReason.UNKNOWN);
         return;
       }
+      // variables of the previous tick are outdated
+      matchOptional.get().getVariableFrame().invalidate();
       if (ticker.hasElapsed(duration)) {
         stop(StopReason.TIME);
         getCycler().cycleNext();
       } else {
-        Bukkit.getPluginManager().callEvent(new MatchPhaseTickEvent(matchOptional.get(), this));
+        callTickEventIfDue(matchOptional.get());
         updateTick();
         ticker.tick();
       }
@@ -137,6 +152,14 @@ public abstract class GamePhase implements Listener {
     }
   }
 
+  private void callTickEventIfDue(@NonNull GameMatch match) {
+    if ((eventCountdown -= interval.toTicks()) > 0) return;
+    // avoid allocating and calling the event each tick, while nobody listens to it
+    if (!MatchPhaseTickEvent.hasListeners()) return;
+    eventCountdown = eventInterval;
+    Bukkit.getPluginManager().callEvent(new MatchPhaseTickEvent(match, this));
+  }
+
   public @NonNull GameMatch getMatch() {
     return cycler.getMatch();
   }
@@ -145,6 +168,10 @@ public abstract class GamePhase implements Listener {
     return cycler.findMatch();
   }
 
+  public boolean isMatch(GameMatch match) {
+    return cycler.isMatch(match);
+  }
+
   public enum StopReason {
     /** Phase has been stopped manually for a for this phase possibly unknown reason. */
     UNKNOWN,
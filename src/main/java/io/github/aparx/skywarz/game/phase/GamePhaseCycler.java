@@ -112,4 +112,9 @@ public final class GamePhaseCycler {
     return Optional.ofNullable(this.match.get());
   }
 
+  /** Returns true if {@code match} is the (still valid) match of this cycler. */
+  public boolean isMatch(GameMatch match) {
+    return match != null && match == this.match.get();
+  }
+
 }
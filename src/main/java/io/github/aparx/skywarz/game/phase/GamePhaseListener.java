@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.entity.data.types.PlayerMatchData;
+import io.github.aparx.skywarz.entity.data.types.PlayerMatchRoute;
 import io.github.aparx.skywarz.game.match.GameMatch;
 import lombok.Getter;
 import org.bukkit.Bukkit;
@@ -11,6 +12,7 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Objects;
 import java.util.Optional;
@@ -54,6 +56,19 @@ public abstract class GamePhaseListener<T extends GamePhase> implements Listener
     return SkywarsPlayer.findPlayer(entity).flatMap(playerFilter);
   }
 
+  /**
+   * Returns the cached route of {@code entity} if it participates in the match of this phase,
+   * otherwise null.
+   * <p>Unlike {@link #filterMatchFromPlayer(Player)}, this neither creates the player nor
+   * allocates, which is preferable for frequently fired events.
+   */
+  protected @Nullable PlayerMatchRoute findRoute(Player entity) {
+    SkywarsPlayer player = SkywarsPlayer.getPlayerIfPresent(entity);
+    if (player == null) return null;
+    PlayerMatchRoute route = player.getMatchData().getRoute();
+    return route != null && getPhase().isMatch(route.getMatch()) ? route : null;
+  }
+
   protected Optional<GameMatch> filterMatch(GameMatch match) {
     return Optional.ofNullable(match).filter((data) -> {
       return Objects.equals(data, getPhase().findMatch().orElse(null));
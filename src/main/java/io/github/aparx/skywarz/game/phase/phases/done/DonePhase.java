@@ -19,7 +19,7 @@ import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
-import io.github.aparx.skywarz.language.VariablePopulator;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import io.github.aparx.skywarz.utils.tick.TimeUnit;
 import org.apache.commons.lang3.StringUtils;
@@ -107,8 +107,7 @@ public class DonePhase extends GamePhase {
     long secsLeft = duration - getTicker().getElapsed(TimeUnit.SECONDS);
     if (getTicker().isCycling(TimeUnit.SECONDS)) {
       if (secsLeft != duration && (secsLeft % 5 == 0 || secsLeft <= 3)) {
-        LazyVariableLookup lookup = new LazyVariableLookup();
-        VariablePopulator.addMatch(lookup, match, ArrayPath.of("match"));
+        LazyVariableLookup lookup = match.getVariableFrame().lookup(VariableKeys.MATCH);
         match.getAudience().sendFormattedMessage(MessageKeys.Match.COUNTDOWN_CLOSING, lookup);
       }
     }
@@ -25,7 +25,7 @@ import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
-import io.github.aparx.skywarz.language.VariablePopulator;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.permission.SkywarsPermission;
 import io.github.aparx.skywarz.utils.collection.KeyedByClassSet;
 import io.github.aparx.skywarz.utils.sound.SoundRecord;
@@ -111,8 +111,7 @@ public class IdlePhase extends GamePhase {
             || (secsLeft <= 20 && secsLeft % 5 == 0)
             || (secsLeft <= 60 && secsLeft % 15 == 0)
             || secsLeft % 30 == 0)) {
-          LazyVariableLookup lookup = new LazyVariableLookup();
-          VariablePopulator.addMatch(lookup, match, ArrayPath.of("match"));
+          LazyVariableLookup lookup = match.getVariableFrame().lookup(VariableKeys.MATCH);
           players.forEach((player) -> {
             player.sendFormattedMessage(MessageKeys.Match.COUNTDOWN_START, lookup);
             SoundRecord.TIMER_TICK.play(player);
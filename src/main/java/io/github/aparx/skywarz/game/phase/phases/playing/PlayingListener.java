@@ -1,13 +1,12 @@
 package io.github.aparx.skywarz.game.phase.phases.playing;
 
 import com.google.common.base.Preconditions;
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.entity.data.stats.PlayerStatsKey;
-import io.github.aparx.skywarz.entity.data.types.PlayerMatchData;
-import io.github.aparx.skywarz.game.arena.GameArena;
+import io.github.aparx.skywarz.entity.data.types.PlayerMatchRoute;
 import io.github.aparx.skywarz.game.arena.ArenaBox;
+import io.github.aparx.skywarz.game.match.GameMatch;
 import io.github.aparx.skywarz.game.phase.GamePhaseListener;
 import io.github.aparx.skywarz.game.phase.features.GameSpectator;
 import io.github.aparx.skywarz.game.scoreboard.MatchScoreboard;
@@ -15,6 +14,7 @@ import io.github.aparx.skywarz.game.scoreboard.SpecialScoreboard;
 import io.github.aparx.skywarz.game.team.GameTeam;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.language.VariablePopulator;
 import org.bukkit.*;
 import org.bukkit.block.Block;
@@ -30,6 +30,7 @@ import org.bukkit.event.entity.*;
 import org.bukkit.event.player.*;
 import org.bukkit.inventory.meta.FireworkMeta;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.Objects;
 
@@ -40,6 +41,9 @@ import java.util.Objects;
  */
 public class PlayingListener extends GamePhaseListener<PlayingPhase> {
 
+  /** The box of the match's arena, resolved once, as it does not change during a match */
+  private @Nullable ArenaBox box;
+
   public PlayingListener(@NonNull PlayingPhase phase) {
     super(phase);
   }
@@ -93,91 +97,88 @@ public class PlayingListener extends GamePhaseListener<PlayingPhase> {
     Location target = event.getTo();
     if (target == null) return;
     Location origin = event.getFrom();
-    if ((target.getBlockX() != origin.getBlockX()
-        || target.getBlockY() != origin.getBlockY()
-        || target.getBlockZ() != origin.getBlockZ())
-        && Objects.equals(target.getWorld(), origin.getWorld()))
-      filterMatchFromPlayer(event.getPlayer()).ifPresentOrElse((match) -> {
-        GameArena source = match.getArena().getSource();
-        if (source == null) return;
-        ArenaBox box = source.getData().getBox();
-        if (SkywarsPlayer.getPlayer(event.getPlayer()).getMatchData().isSpectator()) {
-          // disallow spectators that once entered the arena to not leave the arena
-          // we only disallow spectators that have been in already, for when the spectator spawn
-          // lays outside the arena (which usually is not the case)
-          if (!box.isWithinHorizontally(target) && box.isWithinHorizontally(origin))
-            event.setTo(event.getFrom());
-        } else {
-          if (!box.isWithinHorizontally(target))
-            event.setTo(event.getFrom());
-          else if (event.getTo().getY() < box.getPoint(ArenaBox.Point.MIN).orElseThrow().getY())
-            event.getPlayer().setHealth(0.0); // intentionally kill player
-        }
+    if ((target.getBlockX() == origin.getBlockX()
+        && target.getBlockY() == origin.getBlockY()
+        && target.getBlockZ() == origin.getBlockZ())
+        || !Objects.equals(target.getWorld(), origin.getWorld()))
+      return;
+    PlayerMatchRoute route = findRoute(event.getPlayer());
+    if (route != null) {
+      if (route.isSpectator()) {
+        // disallow spectators that once entered the arena to not leave the arena
+        // we only disallow spectators that have been in already, for when the spectator spawn
+        // lays outside the arena (which usually is not the case)
+        if (!route.isWithinHorizontally(target) && route.isWithinHorizontally(origin))
+          event.setTo(event.getFrom());
+      } else {
+        if (!route.isWithinHorizontally(target))
+          event.setTo(event.getFrom());
+        else if (target.getY() < route.getMinY())
+          event.getPlayer().setHealth(0.0); // intentionally kill player
+      }
+    } else {
+      // disallow players that do not participate in the match to enter the arena
+      ArenaBox box = findBox();
+      if (box != null && box.isWithin(target) && !box.isWithin(origin))
+        event.setTo(event.getFrom());
+    }
+  }
 
-      }, () -> {
-        // disallow players that do not participate in the match to enter the arena
-        getPhase().findMatch().ifPresent((match) -> {
-          ArenaBox box = match.getArena().getData().getBox();
-          if (box.isWithin(target) && !box.isWithin(origin))
-            event.setTo(event.getFrom());
-        });
-      });
+  private @Nullable ArenaBox findBox() {
+    ArenaBox box = this.box;
+    if (box != null) return box;
+    GameMatch match = getPhase().findMatch().orElse(null);
+    if (match == null) return null;
+    return this.box = match.getArena().getData().getBox();
   }
 
   @EventHandler(priority = EventPriority.HIGH)
   void onInteract(PlayerInteractEvent event) {
-    Player player = event.getPlayer();
-    filterMatchFromPlayer(player).ifPresent((match) -> {
-      PlayerMatchData data = SkywarsPlayer.getPlayer(player).getMatchData();
-      event.setCancelled(data.isSpectator());
-    });
+    PlayerMatchRoute route = findRoute(event.getPlayer());
+    if (route != null)
+      event.setCancelled(route.isSpectator());
   }
 
   @EventHandler(priority = EventPriority.NORMAL)
   void onPassiveDamage(EntityDamageEvent event) {
     Entity damagee = event.getEntity();
-    if (!event.isCancelled() && damagee instanceof Player)
-      filterMatchFromPlayer((Player) damagee).ifPresent((match) -> {
-        PlayerMatchData data = SkywarsPlayer.getPlayer((Player) damagee).getMatchData();
-        event.setCancelled(getPhase().isProtectionPhase() || data.isSpectator());
-      });
+    if (event.isCancelled() || !(damagee instanceof Player)) return;
+    PlayerMatchRoute route = findRoute((Player) damagee);
+    if (route != null)
+      event.setCancelled(getPhase().isProtectionPhase() || route.isSpectator());
   }
 
   @EventHandler(priority = EventPriority.NORMAL)
   void onActiveDamage(EntityDamageByEntityEvent event) {
     Entity damager = event.getDamager();
     Entity damagee = event.getEntity();
-    if (!event.isCancelled() && damager instanceof Player)
-      filterMatchFromPlayer((Player) damager).ifPresent((match) -> {
-        PlayerMatchData damagerData = SkywarsPlayer.getPlayer((Player) damager).getMatchData();
-        event.setCancelled(getPhase().isProtectionPhase() || damagerData.isSpectator());
-        if (!event.isCancelled() && damagee instanceof Player)
-          filterMatchFromPlayer((Player) damagee).ifPresent((__) -> {
-            PlayerMatchData damageeData = SkywarsPlayer.getPlayer((Player) damagee).getMatchData();
-            if (damageeData.isInTeam() && damagerData.isInTeam()
-                && Objects.equals(damageeData.getTeam(), damagerData.getTeam()))
-              event.setCancelled(true);
-          });
-      });
+    if (event.isCancelled() || !(damager instanceof Player)) return;
+    PlayerMatchRoute damagerRoute = findRoute((Player) damager);
+    if (damagerRoute == null) return;
+    event.setCancelled(getPhase().isProtectionPhase() || damagerRoute.isSpectator());
+    if (!event.isCancelled() && damagee instanceof Player) {
+      PlayerMatchRoute damageeRoute = findRoute((Player) damagee);
+      if (damageeRoute != null && damageeRoute.isTeammate(damagerRoute))
+        event.setCancelled(true);
+    }
   }
 
   @EventHandler(priority = EventPriority.NORMAL)
   void onPickup(EntityPickupItemEvent event) {
     LivingEntity entity = event.getEntity();
-    if (!event.isCancelled() && entity instanceof Player)
-      filterMatchFromPlayer((Player) entity).ifPresent((match) -> {
-        event.setCancelled(SkywarsPlayer.getPlayer((Player) entity).getMatchData().isSpectator());
-      });
+    if (event.isCancelled() || !(entity instanceof Player)) return;
+    PlayerMatchRoute route = findRoute((Player) entity);
+    if (route != null)
+      event.setCancelled(route.isSpectator());
   }
 
   @EventHandler(priority = EventPriority.NORMAL)
   void onFoodChange(FoodLevelChangeEvent event) {
     Entity entity = event.getEntity();
-    if (!event.isCancelled() && entity instanceof Player)
-      filterMatchFromPlayer((Player) entity).ifPresent((match) -> {
-        PlayerMatchData data = SkywarsPlayer.getPlayer((Player) entity).getMatchData();
-        event.setCancelled(getPhase().isProtectionPhase() || data.isSpectator());
-      });
+    if (event.isCancelled() || !(entity instanceof Player)) return;
+    PlayerMatchRoute route = findRoute((Player) entity);
+    if (route != null)
+      event.setCancelled(getPhase().isProtectionPhase() || route.isSpectator());
   }
 
   @EventHandler(priority = EventPriority.NORMAL)
@@ -197,14 +198,14 @@ public class PlayingListener extends GamePhaseListener<PlayingPhase> {
         SkywarsPlayer killerPlayer = SkywarsPlayer.getPlayer(killer);
         // Stats update: increment killer's kills
         killerPlayer.getMatchData().getStatistics().increment(PlayerStatsKey.KILLS);
-        VariablePopulator.addPlayer(map, killer, ArrayPath.of("killer"));
+        VariablePopulator.addPlayer(map, killer, VariableKeys.KILLER);
         // force scoreboard update on killer
         match.getScoreboardHandlers()
             .getHandler(MatchScoreboard.PLAYING_ALIVE)
             .findScoreboard(killerPlayer)
             .ifPresent(SpecialScoreboard::render);
       }
-      VariablePopulator.addPlayer(map, entity, ArrayPath.of("player"));
+      VariablePopulator.addPlayer(map, entity, VariableKeys.PLAYER);
       event.setDeathMessage(null);
       match.getAudience().sendFormattedMessage(killer != null
               ? MessageKeys.Match.KILLED
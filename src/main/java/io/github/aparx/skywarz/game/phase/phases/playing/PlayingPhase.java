@@ -24,6 +24,7 @@ import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.language.MessageKeys;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.language.VariablePopulator;
 import io.github.aparx.skywarz.utils.sound.SoundRecord;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
@@ -150,9 +151,8 @@ public class PlayingPhase extends GamePhase {
       if (ticker.isCycling(TimeUnit.SECONDS) && (
           (secsLeft <= 10 && secsLeft % 5 == 0)
               || secsLeft % 15 == 0 || secsLeft <= 3)) {
-        LazyVariableLookup lookup = new LazyVariableLookup();
-        VariablePopulator.addMatch(lookup, match, ArrayPath.of("match"));
-        VariablePopulator.addFiniteTicker(lookup, ticker, duration, ArrayPath.of("time"));
+        LazyVariableLookup lookup = match.getVariableFrame().lookup(VariableKeys.MATCH);
+        VariablePopulator.addFiniteTicker(lookup, ticker, duration, VariableKeys.TIME);
         String message = Language.getInstance().substitute(
             MessageKeys.Match.COUNTDOWN_PROTECTION, lookup);
         match.getAudience().forEach((member) -> {
@@ -161,8 +161,7 @@ public class PlayingPhase extends GamePhase {
         });
       }
     } else if (wasProtecting) {
-      LazyVariableLookup lookup = new LazyVariableLookup();
-      VariablePopulator.addMatch(lookup, match, ArrayPath.of("match"));
+      LazyVariableLookup lookup = match.getVariableFrame().lookup(VariableKeys.MATCH);
       String message = Language.getInstance().substitute(
           MessageKeys.Match.PROTECTION_ENDED, lookup);
       match.getAudience().forEach((member) -> {
@@ -12,8 +12,11 @@ import io.github.aparx.skywarz.game.match.GameMatchState;
 import io.github.aparx.skywarz.handler.SkywarsConfigHandler;
 import io.github.aparx.skywarz.language.Language;
 import io.github.aparx.skywarz.language.LazyVariableLookup;
+import io.github.aparx.skywarz.language.VariableKeys;
 import io.github.aparx.skywarz.language.VariablePopulator;
+import io.github.aparx.skywarz.language.VariableUsage;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -30,6 +33,8 @@ import java.util.List;
 @Getter
 public class GameScoreboard extends ConfigObject {
 
+  private static final String NULL_VALUE = "-";
+
   private final @NonNull GameMatchState state;
 
   private final @NonNull TickDuration updateInterval;
@@ -46,6 +51,16 @@ public class GameScoreboard extends ConfigObject {
   })
   private @NonNull List<String> templateLines;
 
+  /** The variables referenced by {@code usageTitle} and {@code usageLines} */
+  @Getter(AccessLevel.NONE)
+  private @Nullable VariableUsage usage;
+
+  @Getter(AccessLevel.NONE)
+  private @Nullable String usageTitle;
+
+  @Getter(AccessLevel.NONE)
+  private @Nullable List<String> usageLines;
+
   public GameScoreboard(
       @NonNull GameMatchState state,
       @Nullable String name,
@@ -85,18 +100,53 @@ public class GameScoreboard extends ConfigObject {
   }
 
   public SpecialScoreboard createScoreboard(@NonNull GameMatch match, @Nullable Player viewer) {
-    return new SpecialScoreboard(updateInterval, (sb) -> createContent(sb, match, viewer));
+    return new SpecialScoreboard(updateInterval,
+        (sb) -> createContent(sb, match, createMatchLookup(match), viewer));
+  }
+
+  /**
+   * Creates the match-wide layer of variables, that is shared by all viewers of a match and
+   * layered on top of the variables shared within the current tick of the match.
+   *
+   * @see #createContent(SpecialScoreboard, GameMatch, LazyVariableLookup, Player)
+   */
+  @CheckReturnValue
+  public LazyVariableLookup createMatchLookup(@NonNull GameMatch match) {
+    return match.getVariableFrame().lookup(VariableKeys.MATCH, NULL_VALUE, getUsage());
+  }
+
+  /**
+   * Returns the variables referenced by the title and lines of this scoreboard, which is
+   * analyzed again only when the title or lines are replaced.
+   */
+  public @NonNull VariableUsage getUsage() {
+    String title = this.title;
+    List<String> lines = this.templateLines;
+    VariableUsage usage = this.usage;
+    if (usage != null && title == usageTitle && lines == usageLines)
+      return usage;
+    Language language = Language.getInstance();
+    usage = language.getUsage(lines);
+    if (title != null)
+      usage = usage.union(language.localize(title).getUsage());
+    this.usageTitle = title;
+    this.usageLines = lines;
+    return this.usage = usage;
   }
 
+  /**
+   * Creates the content of given scoreboard for {@code viewer}, by layering the viewer's
+   * variables on top of the given (shared) {@code matchLookup}.
+   */
   @CheckReturnValue
   protected ScoreboardContent createContent(
-      @NonNull SpecialScoreboard scoreboard, @NonNull GameMatch match, @Nullable Player viewer) {
-    LazyVariableLookup lookup = new LazyVariableLookup();
-    final String nullValue = "-";
-    // this should be moved out of a player's individual scoreboard, to save resources
-    VariablePopulator.addMatch(lookup, match, ArrayPath.of("match"), nullValue);
+      @NonNull SpecialScoreboard scoreboard,
+      @NonNull GameMatch match,
+      @NonNull LazyVariableLookup matchLookup,
+      @Nullable Player viewer) {
+    LazyVariableLookup lookup = new LazyVariableLookup(matchLookup);
     if (viewer != null)
-      VariablePopulator.addPlayer(lookup, viewer, ArrayPath.of("player"), nullValue);
+      VariablePopulator.addPlayer(lookup, viewer, VariableKeys.PLAYER, NULL_VALUE);
     String[] array = new String[templateLines.size()];
     for (int i = 0; i < array.length; ++i)
       array[i] = Language.getInstance().substitute(templateLines.get(i), lookup);
@@ -1,18 +1,29 @@
 package io.github.aparx.skywarz.game.scoreboard;
 
 import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.game.match.GameMatch;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
+import io.github.aparx.skywarz.language.LazyVariableLookup;
 import lombok.AccessLevel;
 import lombok.Getter;
+import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Optional;
 import java.util.WeakHashMap;
 
 /**
+ * Handler of all scoreboards of one {@code MatchScoreboard} within a match.
+ * <p>All scoreboards of this handler are updated together by a single task. Each update first
+ * creates the match-wide variables once and then renders every viewer's scoreboard on top of
+ * them, so the match part is not recomputed for every viewer.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-08 12:23
  * @since 1.0
@@ -27,6 +38,13 @@ public final class MatchScoreboardHandler {
 
   private final WeakHashMap<SkywarsPlayer, SpecialScoreboard> scoreboardMap = new WeakHashMap<>();
 
+  /** The match-wide variables of the current update, or null outside an update */
+  @Getter(AccessLevel.NONE)
+  private @Nullable LazyVariableLookup matchLookup;
+
+  @Getter(AccessLevel.NONE)
+  private SkywarsTickLoop.@Nullable LoopTask task;
+
   public MatchScoreboardHandler(@NonNull MatchScoreboard scoreboard, @NonNull GameMatch match) {
     Preconditions.checkNotNull(scoreboard, "Scoreboard must not be null");
     Preconditions.checkNotNull(match, "Match must not be null");
@@ -39,8 +57,14 @@ public final class MatchScoreboardHandler {
   }
 
   public SpecialScoreboard getOrCreateScoreboard(@Nullable SkywarsPlayer player) {
-    return scoreboardMap.computeIfAbsent(player, (k) ->
-        scoreboard.getScoreboard().createScoreboard(getMatch(), k != null ? k.getOnline() : null));
+    startTaskIfNeeded();
+    return scoreboardMap.computeIfAbsent(player, (k) -> {
+      GameScoreboard gameScoreboard = scoreboard.getScoreboard();
+      GameMatch match = getMatch();
+      Player viewer = k != null ? k.getOnline() : null;
+      return new SpecialScoreboard((sb) -> gameScoreboard.createContent(
+          sb, match, getMatchLookup(), viewer));
+    });
   }
 
   public Optional<SpecialScoreboard> findScoreboard(@Nullable SkywarsPlayer player) {
@@ -55,4 +79,43 @@ public final class MatchScoreboardHandler {
     return findMatch().orElseThrow();
   }
 
+  /**
+   * Returns the match-wide variables of the current update, or freshly created variables if
+   * called outside an update (i.e. when a single scoreboard is rendered immediately).
+   */
+  @NonNull LazyVariableLookup getMatchLookup() {
+    LazyVariableLookup lookup = this.matchLookup;
+    if (lookup != null) return lookup;
+    return scoreboard.getScoreboard().createMatchLookup(getMatch());
+  }
+
+  /** Updates all scoreboards of this handler, sharing the match-wide variables. */
+  public void update() {
+    GameMatch match = this.match.get();
+    if (match == null || scoreboardMap.values().stream().noneMatch(SpecialScoreboard::isActive)) {
+      stopTask();
+      return;
+    }
+    matchLookup = scoreboard.getScoreboard().createMatchLookup(match);
+    try {
+      for (SpecialScoreboard special : new ArrayList<>(scoreboardMap.values()))
+        special.update();
+    } finally {
+      matchLookup = null;
+    }
+  }
+
+  private void startTaskIfNeeded() {
+    if (task != null) return;
+    // the first update is delayed, so that the scoreboard created is shown in the meantime
+    long interval = scoreboard.getScoreboard().getUpdateInterval().toTicks();
+    task = Skywars.getInstance().getTickLoop()
+        .schedule(TickSubsystem.SCOREBOARD, 1, interval, this::update);
+  }
+
+  private void stopTask() {
+    if (task != null) task.cancel();
+    task = null;
+  }
+
 }
@@ -6,18 +6,26 @@ import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.entity.WeakPlayerGroup;
+import io.github.aparx.skywarz.game.tick.SkywarsTickLoop;
+import io.github.aparx.skywarz.game.tick.TickSubsystem;
+import io.github.aparx.skywarz.handler.MainConfig;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Synchronized;
+import org.apache.commons.lang3.StringUtils;
 import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
 import org.bukkit.event.*;
 import org.bukkit.event.player.PlayerQuitEvent;
-import org.bukkit.scheduler.BukkitTask;
 import org.bukkit.scoreboard.*;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
 
 /**
@@ -31,23 +39,71 @@ public class SpecialScoreboard implements Listener {
   public static final String OBJECTIVE_NAME = "main";
   public static final String OBJECTIVE_CRITERIA = "dummy";
 
+  /** The name prefix of the teams holding the text of each line, in team line mode */
+  public static final String LINE_TEAM_PREFIX = "line";
+
+  /** The maximum length of a team's prefix and suffix */
+  private static final int MAX_AFFIX_LENGTH = 64;
+
+  /** The entries of the first lines, which is all lines a sidebar can display */
+  private static final String[] LINE_ENTRIES = new String[15];
+
+  /** Packets sent by renders that reset and re-score changed lines */
+  private static final LongAdder scoreLinePacketCount = new LongAdder();
+
+  /** Packets sent by renders that update the prefix and suffix of fixed line entries */
+  private static final LongAdder teamLinePacketCount = new LongAdder();
+
+  private static final LongAdder scoreLineRenderCount = new LongAdder();
+
+  private static final LongAdder teamLineRenderCount = new LongAdder();
+
+  static {
+    for (int i = 0; i < LINE_ENTRIES.length; ++i)
+      LINE_ENTRIES[i] = createLineEntry(i);
+  }
+
   @Getter(AccessLevel.NONE)
   private final WeakPlayerGroup viewers = new WeakPlayerGroup();
 
-  private final @NonNull TickDuration updateInterval;
+  /** The interval this scoreboard updates itself in, or null if it is updated externally */
+  private final @Nullable TickDuration updateInterval;
   private final @NonNull Function<SpecialScoreboard, @NonNull ScoreboardContent> contentFactory;
 
   private @Nullable Scoreboard scoreboard;
   private @Nullable Objective objective;
 
+  private @Nullable String lastTitle;
+
   private @Nullable ImmutableList<String> lastLines;
 
-  private @Nullable BukkitTask task;
+  /** True if lines are shown through team prefixes, decided when the scoreboard is created */
+  private boolean teamLines;
+
+  private SkywarsTickLoop.@Nullable LoopTask task;
+
+  /** True while this scoreboard has viewers and thus is updated */
+  private boolean isActive;
 
   public SpecialScoreboard(
       @NonNull TickDuration updateInterval,
       @NonNull Function<SpecialScoreboard, @NonNull ScoreboardContent> contentFactory) {
+    this(contentFactory, updateInterval);
     Preconditions.checkNotNull(updateInterval, "Interval must not be null");
+  }
+
+  /**
+   * Creates a scoreboard that does not update itself, but is updated externally by calling
+   * {@link #update()}, for example by a handler updating many scoreboards at once.
+   */
+  public SpecialScoreboard(
+      @NonNull Function<SpecialScoreboard, @NonNull ScoreboardContent> contentFactory) {
+    this(contentFactory, null);
+  }
+
+  private SpecialScoreboard(
+      @NonNull Function<SpecialScoreboard, @NonNull ScoreboardContent> contentFactory,
+      @Nullable TickDuration updateInterval) {
     Preconditions.checkNotNull(contentFactory, "Factory must not be null");
     this.updateInterval = updateInterval;
     this.contentFactory = contentFactory;
@@ -61,14 +117,14 @@ public class SpecialScoreboard implements Listener {
     Preconditions.checkNotNull(scoreboard, "Scoreboard is null");
     viewer.findOnline().ifPresent((player) -> player.setScoreboard(scoreboard));
     if (!viewers.add(viewer)) return false;
-    if (task != null) return true;
-    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), () -> {
-      // remove viewers from which the scoreboard differs
-      viewers.forEach((x) -> x.findOnline()
-          .filter((online) -> online.getScoreboard() != scoreboard)
-          .ifPresent((__) -> viewers.remove(x)));
-      this.render();
-    }, 0, updateInterval.toTicks());
+    if (isActive) return true;
+    isActive = true;
+    if (updateInterval != null)
+      task = Skywars.getInstance().getTickLoop().schedule(TickSubsystem.SCOREBOARD,
+          0, updateInterval.toTicks(), this::update);
+    else
+      // render immediately, rather than waiting for the next external update
+      render();
     // TODO this is not really needed since SkywarsPlayer is weakly referenced
     Bukkit.getPluginManager().registerEvent(PlayerQuitEvent.class, this, EventPriority.NORMAL,
         (listener, event) -> SkywarsPlayer
@@ -92,26 +148,172 @@ public class SpecialScoreboard implements Listener {
     return true;
   }
 
+  /** Removes viewers that no longer see this scoreboard and renders it, if still active. */
+  @Synchronized
+  public void update() {
+    // remove viewers from which the scoreboard differs
+    viewers.forEach((x) -> x.findOnline()
+        .filter((online) -> online.getScoreboard() != scoreboard)
+        .ifPresent((__) -> viewers.remove(x)));
+    render();
+  }
+
+  /**
+   * Renders the current content of this scoreboard.
+   * <p>Only lines that have changed since the last render are sent to the viewers, lines that
+   * remain at their position are left untouched. If this scoreboard uses team lines, a changed
+   * line only updates the prefix and suffix of its team, otherwise its score is replaced.
+   */
   @Synchronized
   public void render() {
-    if (resetScoreboardIfNeeded()) return;
-    Preconditions.checkNotNull(scoreboard, "Scoreboard has not been created");
-    Preconditions.checkNotNull(objective, "Objective has not been created");
-    if (lastLines != null)
-      lastLines.forEach((line) -> scoreboard.resetScores(line));
+    if (resetScoreboardIfNeeded() || !isActive) return;
     if (scoreboard == null)
       createScoreboard();
+    Preconditions.checkNotNull(scoreboard, "Scoreboard has not been created");
+    Preconditions.checkNotNull(objective, "Objective has not been created");
     ScoreboardContent newContent = contentFactory.apply(this);
     Preconditions.checkNotNull(newContent, "Factory allocated null as ScoreboardContent");
-    objective.setDisplayName(newContent.getTitle());
+    int sent = 0;
+    if (!newContent.getTitle().equals(lastTitle)) {
+      objective.setDisplayName(newContent.getTitle());
+      ++sent;
+    }
+    this.lastTitle = newContent.getTitle();
     final int length = newContent.length();
     ImmutableList.Builder<String> lastLineBuilder = ImmutableList.builderWithExpectedSize(length);
-    newContent.forEach((line, index) -> {
-      // Register a new score but also add it to the last line
-      objective.getScore(String.valueOf(line)).setScore(length - index);
-      lastLineBuilder.add(String.valueOf(line));
-    });
-    this.lastLines = lastLineBuilder.build();
+    newContent.forEach((line, index) -> lastLineBuilder.add(String.valueOf(line)));
+    ImmutableList<String> newLines = lastLineBuilder.build();
+    sent += teamLines
+        ? renderTeamLines(scoreboard, objective, newLines, lastLines)
+        : renderScoreLines(scoreboard, objective, newLines, lastLines);
+    this.lastLines = newLines;
+    // every change is sent to every viewer of this scoreboard
+    long packets = (long) sent * viewers.getOnlineCount();
+    if (teamLines) {
+      teamLinePacketCount.add(packets);
+      teamLineRenderCount.increment();
+    } else {
+      scoreLinePacketCount.add(packets);
+      scoreLineRenderCount.increment();
+    }
+  }
+
+  /** Returns the total amount of scoreboard packets sent to viewers by all scoreboards. */
+  public static long getSentPacketCount() {
+    return scoreLinePacketCount.sum() + teamLinePacketCount.sum();
+  }
+
+  /** Returns the amount of packets sent by renders that re-score changed lines. */
+  public static long getScoreLinePacketCount() {
+    return scoreLinePacketCount.sum();
+  }
+
+  /** Returns the amount of packets sent by renders that update team prefixes and suffixes. */
+  public static long getTeamLinePacketCount() {
+    return teamLinePacketCount.sum();
+  }
+
+  public static long getScoreLineRenderCount() {
+    return scoreLineRenderCount.sum();
+  }
+
+  public static long getTeamLineRenderCount() {
+    return teamLineRenderCount.sum();
+  }
+
+  private static int renderScoreLines(
+      Scoreboard scoreboard, Objective objective,
+      List<String> newLines, @Nullable List<String> oldLines) {
+    int sent = 0;
+    if (oldLines != null) {
+      Set<String> retained = new HashSet<>(newLines);
+      for (String line : oldLines)
+        if (!retained.contains(line)) {
+          scoreboard.resetScores(line);
+          ++sent;
+        }
+    }
+    // scores are relative to the length, thus if it changed every line has to be set again
+    final int length = newLines.size();
+    boolean sameLength = oldLines != null && oldLines.size() == length;
+    for (int i = 0; i < length; ++i) {
+      String line = newLines.get(i);
+      if (!sameLength || !line.equals(oldLines.get(i))) {
+        objective.getScore(line).setScore(length - i);
+        ++sent;
+      }
+    }
+    return sent;
+  }
+
+  private static int renderTeamLines(
+      Scoreboard scoreboard, Objective objective,
+      List<String> newLines, @Nullable List<String> oldLines) {
+    int sent = 0;
+    final int length = newLines.size();
+    final int oldLength = oldLines != null ? oldLines.size() : 0;
+    for (int i = length; i < oldLength; ++i) {
+      scoreboard.resetScores(getLineEntry(i));
+      ++sent;
+    }
+    for (int i = 0; i < length; ++i) {
+      String entry = getLineEntry(i);
+      Team team = scoreboard.getTeam(LINE_TEAM_PREFIX + i);
+      if (team == null) {
+        team = scoreboard.registerNewTeam(LINE_TEAM_PREFIX + i);
+        team.addEntry(entry);
+        sent += 2;
+      }
+      sent += setLineText(team, newLines.get(i));
+      // scores are relative to the length, thus if it changed every line has to be set again
+      if (length != oldLength) {
+        objective.getScore(entry).setScore(length - i);
+        ++sent;
+      }
+    }
+    return sent;
+  }
+
+  /** Shows {@code text} through the prefix and suffix of {@code team}, if they differ. */
+  private static int setLineText(Team team, String text) {
+    String prefix = text, suffix = StringUtils.EMPTY;
+    if (text.length() > MAX_AFFIX_LENGTH) {
+      int split = MAX_AFFIX_LENGTH;
+      if (text.charAt(split - 1) == ChatColor.COLOR_CHAR)
+        --split; // do not separate a color code from its character
+      prefix = text.substring(0, split);
+      suffix = ChatColor.getLastColors(prefix) + text.substring(split);
+      if (suffix.length() > MAX_AFFIX_LENGTH)
+        suffix = StringUtils.removeEnd(
+            suffix.substring(0, MAX_AFFIX_LENGTH), String.valueOf(ChatColor.COLOR_CHAR));
+    }
+    int sent = 0;
+    if (!prefix.equals(team.getPrefix())) {
+      team.setPrefix(prefix);
+      ++sent;
+    }
+    if (!suffix.equals(team.getSuffix())) {
+      team.setSuffix(suffix);
+      ++sent;
+    }
+    return sent;
+  }
+
+  /** Returns the invisible, unique entry that represents the line at {@code index}. */
+  private static String getLineEntry(int index) {
+    if (index < LINE_ENTRIES.length)
+      return LINE_ENTRIES[index];
+    return createLineEntry(index);
+  }
+
+  private static String createLineEntry(int index) {
+    ChatColor[] colors = ChatColor.values();
+    StringBuilder builder = new StringBuilder();
+    do {
+      builder.append(colors[index % colors.length]);
+      index /= colors.length;
+    } while (index != 0);
+    return builder.append(ChatColor.RESET).toString();
   }
 
   @Synchronized
@@ -130,18 +332,25 @@ public class SpecialScoreboard implements Listener {
     this.scoreboard = scoreboardManager.getNewScoreboard();
     this.objective = scoreboard.registerNewObjective(OBJECTIVE_NAME, OBJECTIVE_CRITERIA, " ");
     this.objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+    this.teamLines = MainConfig.getInstance().isScoreboardTeamLines();
+    this.lastTitle = null;
+    this.lastLines = null;
     return this.scoreboard;
   }
 
   @Synchronized
   protected boolean resetScoreboardIfNeeded() {
-    if (task == null || !viewers.isEmpty())
+    if (!isActive || !viewers.isEmpty())
       return false;
     HandlerList.unregisterAll(this);
-    task.cancel();
+    if (task != null)
+      task.cancel();
     task = null;
+    isActive = false;
     scoreboard = null;
     objective = null;
+    lastTitle = null;
+    lastLines = null;
     return true;
   }
 
@@ -7,6 +7,7 @@ import io.github.aparx.skywarz.game.scoreboard.GameScoreboard;
 import io.github.aparx.skywarz.game.scoreboard.ScoreboardContent;
 import io.github.aparx.skywarz.game.scoreboard.SpecialScoreboard;
 import io.github.aparx.skywarz.game.team.TeamMap;
+import io.github.aparx.skywarz.language.LazyVariableLookup;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import org.bukkit.entity.Player;
 import org.bukkit.scoreboard.Scoreboard;
@@ -51,7 +52,10 @@ public class PlayingScoreboard extends GameScoreboard {
 
   @Override
   protected ScoreboardContent createContent(
-      @NonNull SpecialScoreboard special, @NonNull GameMatch match, @Nullable Player viewer) {
+      @NonNull SpecialScoreboard special,
+      @NonNull GameMatch match,
+      @NonNull LazyVariableLookup matchLookup,
+      @Nullable Player viewer) {
     Scoreboard scoreboard = special.getScoreboard();
     Preconditions.checkNotNull(scoreboard, "Scoreboard is null");
     TeamMap teamMap = match.getTeamMap();
@@ -67,6 +71,6 @@ public class PlayingScoreboard extends GameScoreboard {
       gameTeam.alive().forEach((member) -> finalTeam.addEntry(member.getName()));
       finalTeam.setOption(Team.Option.COLLISION_RULE, Team.OptionStatus.FOR_OWN_TEAM);
     });
-    return super.createContent(special, match, viewer);
+    return super.createContent(special, match, matchLookup, viewer);
   }
 }
@@ -0,0 +1,167 @@
+package io.github.aparx.skywarz.game.tick;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.skywarz.Skywars;
+import io.github.aparx.skywarz.handler.DefaultSkywarsHandler;
+import io.github.aparx.skywarz.utils.LatencyHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Single loop ticking the repeating tasks of all matches, instead of one scheduler task each.
+ * <p>The loop runs once every server tick. Each task runs every {@code interval} ticks of the
+ * loop. The due tasks are run in batches per subsystem, in the order of the subsystems, and the
+ * time of each batch is recorded so that the most expensive subsystem can be found.
+ * <p>Tasks are scheduled from any thread, but they are run on the main thread. Tasks scheduled
+ * during a tick are run from the next tick on.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-17 09:20
+ * @since 1.0
+ */
+public final class SkywarsTickLoop extends DefaultSkywarsHandler {
+
+  private final EnumMap<TickSubsystem, List<LoopTask>> tasks = new EnumMap<>(TickSubsystem.class);
+
+  private final EnumMap<TickSubsystem, LatencyHistogram> tickTimes =
+      new EnumMap<>(TickSubsystem.class);
+
+  /** Tasks scheduled since the last tick, that are added to the tasks in the next tick */
+  private final Queue<LoopTask> scheduled = new ConcurrentLinkedQueue<>();
+
+  private @Nullable BukkitTask task;
+
+  /** The amount of ticks this loop has run */
+  private long currentTick;
+
+  public SkywarsTickLoop() {
+    for (TickSubsystem subsystem : TickSubsystem.values()) {
+      tasks.put(subsystem, new ArrayList<>());
+      tickTimes.put(subsystem, new LatencyHistogram());
+    }
+  }
+
+  @Override
+  protected void onLoad() {
+    task = Bukkit.getScheduler().runTaskTimer(Skywars.plugin(), this::tick, 1, 1);
+  }
+
+  @Override
+  protected void onUnload() {
+    if (task != null) task.cancel();
+    task = null;
+    scheduled.clear();
+    tasks.values().forEach(List::clear);
+  }
+
+  /**
+   * Schedules {@code action} to run every {@code interval} ticks, starting in {@code delay}
+   * ticks after the next tick of this loop.
+   */
+  public @NonNull LoopTask schedule(
+      @NonNull TickSubsystem subsystem, long delay, long interval, @NonNull Runnable action) {
+    Preconditions.checkNotNull(subsystem, "Subsystem must not be null");
+    Preconditions.checkNotNull(action, "Action must not be null");
+    LoopTask loopTask = new LoopTask(subsystem, Math.max(delay, 0), Math.max(interval, 1), action);
+    scheduled.add(loopTask);
+    return loopTask;
+  }
+
+  /** Returns the histogram of how long each tick of given {@code subsystem} took. */
+  public @NonNull LatencyHistogram getTickTimes(@NonNull TickSubsystem subsystem) {
+    Preconditions.checkNotNull(subsystem, "Subsystem must not be null");
+    return tickTimes.get(subsystem);
+  }
+
+  /** Returns the amount of tasks of given {@code subsystem} that are not cancelled. */
+  public int getTaskCount(@NonNull TickSubsystem subsystem) {
+    Preconditions.checkNotNull(subsystem, "Subsystem must not be null");
+    int count = 0;
+    for (LoopTask loopTask : tasks.get(subsystem))
+      if (!loopTask.isCancelled()) ++count;
+    return count;
+  }
+
+  private void tick() {
+    ++currentTick;
+    for (LoopTask loopTask; (loopTask = scheduled.poll()) != null; ) {
+      if (loopTask.isCancelled()) continue;
+      loopTask.nextTick = currentTick + loopTask.delay;
+      tasks.get(loopTask.subsystem).add(loopTask);
+    }
+    for (TickSubsystem subsystem : TickSubsystem.values()) {
+      List<LoopTask> list = tasks.get(subsystem);
+      if (list.isEmpty()) continue;
+      long startTime = System.nanoTime();
+      boolean ran = false;
+      for (Iterator<LoopTask> iterator = list.iterator(); iterator.hasNext(); ) {
+        LoopTask loopTask = iterator.next();
+        if (loopTask.isCancelled()) {
+          iterator.remove();
+          continue;
+        }
+        if (loopTask.nextTick > currentTick) continue;
+        loopTask.nextTick = currentTick + loopTask.interval;
+        ran = true;
+        try {
+          loopTask.action.run();
+        } catch (Exception e) {
+          Skywars.logger().log(Level.WARNING, "Error in " + subsystem + " tick", e);
+        }
+      }
+      if (ran)
+        tickTimes.get(subsystem).record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /** Repeating task run by the loop, until it is cancelled. */
+  public static final class LoopTask {
+
+    private final @NonNull TickSubsystem subsystem;
+
+    private final long delay;
+
+    private final long interval;
+
+    private final @NonNull Runnable action;
+
+    /** The tick of the loop this task is run in next */
+    private long nextTick;
+
+    private volatile boolean cancelled;
+
+    private LoopTask(
+        @NonNull TickSubsystem subsystem, long delay, long interval, @NonNull Runnable action) {
+      this.subsystem = subsystem;
+      this.delay = delay;
+      this.interval = interval;
+      this.action = action;
+    }
+
+    /** Cancels this task, so that it is not run anymore, even within the current tick. */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    public @NonNull TickSubsystem getSubsystem() {
+      return subsystem;
+    }
+
+  }
+
+}
@@ -0,0 +1,27 @@
+package io.github.aparx.skywarz.game.tick;
+
+/**
+ * The subsystems driven by the {@code SkywarsTickLoop}, in the order they are ticked.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-17 09:10
+ * @since 1.0
+ */
+public enum TickSubsystem {
+
+  /** The game phases of all matches, that advance the state of the matches */
+  PHASE,
+
+  /** The watch tasks of all matches, that close matches without players */
+  WATCH,
+
+  /** The refills and holograms of opened chests */
+  CHEST,
+
+  /** All scoreboards, rendered after the state of their match is updated */
+  SCOREBOARD,
+
+  /** All special inventories, such as the kit and team selectors */
+  INVENTORY
+
+}
@@ -97,6 +97,36 @@ public class MainConfig extends ConfigObject {
   @Document("The interval in which an opened chest is refilled")
   private TickDuration durationRefill = TickDuration.of(TimeUnit.MINUTES, 3);
 
+  @ConfigMapping("duration.phase tick event")
+  @Document({
+      "The minimum interval in which a phase tick event is called for each running match.",
+      "The event is only called if a plugin listens to it, so increase this if a plugin",
+      "does not need to be notified of every single tick of the game phases."
+  })
+  private TickDuration durationPhaseTickEvent = TickDuration.ofTick();
+
+  @ConfigMapping("reset.tick budget")
+  @Document({
+      "The maximum amount of milliseconds an arena reset may take per server tick.",
+      "Arenas with many changed blocks are restored over multiple ticks accordingly."
+  })
+  private double resetTickBudget = 10.0;
+
+  @ConfigMapping("reset.max structure volume")
+  @Document({
+      "The maximum amount of blocks visited when capturing a connected structure, such as",
+      "vines, gravel or torches that are attached to a changed block."
+  })
+  private int resetMaxStructureVolume = 4096;
+
+  @ConfigMapping("scoreboard.team lines")
+  @Document({
+      "If true, each scoreboard line is a fixed invisible entry whose text is shown through a",
+      "team prefix and suffix. Changed lines then only update their text, rather than removing",
+      "and re-adding the whole line, which prevents flickering and sends fewer packets."
+  })
+  private boolean scoreboardTeamLines = true;
+
   private MainConfig() {
     super((proxy) -> Skywars.getInstance().getConfigHandler().getOrCreate("main"));
     Arrays.stream(GameMatchState.values()).forEach((unit) -> {
@@ -5,11 +5,13 @@ import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.bufig.handler.ConfigProxy;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.handler.SkywarsConfigHandler;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -23,8 +25,15 @@ public final class Language implements MessageStorage<ArrayPath> {
   @Getter
   private static final Language instance = new Language();
 
+  /** The maximum amount of ad-hoc contents whose localized messages are kept compiled */
+  private static final int MAX_LOCALIZED_CACHE_SIZE = 512;
+
   private final MessageRegister register = new MessageRegister();
 
+  /** Compiled messages of ad-hoc contents, such as scoreboard or sign lines */
+  @Getter(AccessLevel.NONE)
+  private final Map<String, LocalizedMessage> localized = new ConcurrentHashMap<>();
+
   private final ConfigProxy config = new ConfigProxy((proxy) -> {
     // returns a config targeting the messages file (that is deterministic)
     return Skywars.getInstance().getConfigHandler().getOrCreate("messages");
@@ -45,6 +54,7 @@ public final class Language implements MessageStorage<ArrayPath> {
         "This configuration does *not* contain all translations."
     ));
     config.load();
+    localized.clear();
     // copy over message values set in the config to the register
     for (String key : config.getKeys(true)) {
       ArrayPath path = ArrayPath.parse(key, ArrayPath.DEFAULT_SEPARATOR);
@@ -54,6 +64,8 @@ public final class Language implements MessageStorage<ArrayPath> {
       else if (object instanceof Collection<?>)
         register.store(path, (Collection<?>) object);
     }
+    // analyze the variables each message refers to once, now that all messages are known
+    register.entrySet().forEach((entry) -> entry.getValue().analyzeUsage());
     save();
   }
 
@@ -68,7 +80,24 @@ public final class Language implements MessageStorage<ArrayPath> {
 
   @CheckReturnValue
   public LocalizedMessage localize(@NonNull String content) {
-    return new LocalizedMessage(register.getMessagesLookup(), content);
+    LocalizedMessage message = localized.get(content);
+    if (message != null) return message;
+    message = new LocalizedMessage(register.getMessagesLookup(), content);
+    if (localized.size() >= MAX_LOCALIZED_CACHE_SIZE)
+      // contents are mostly configured lines, thus this only happens with arbitrary contents
+      localized.clear();
+    localized.put(content, message);
+    return message;
+  }
+
+  /** Returns the variables referenced by any of the given (ad-hoc) contents. */
+  @CheckReturnValue
+  public VariableUsage getUsage(@NonNull Collection<String> contents) {
+    VariableUsage usage = VariableUsage.NONE;
+    for (String content : contents)
+      if (content != null)
+        usage = usage.union(localize(content).getUsage());
+    return usage;
   }
 
   @CheckReturnValue
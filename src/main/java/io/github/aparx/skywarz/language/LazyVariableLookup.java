@@ -3,11 +3,15 @@ package io.github.aparx.skywarz.language;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.github.aparx.bufig.ArrayPath;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.apache.commons.text.lookup.StringLookup;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.function.Supplier;
@@ -22,20 +26,71 @@ public class LazyVariableLookup implements StringLookup {
 
   private final @NonNull Map<String, Object> dataMap;
 
+  /** The lookup consulted for keys that are not present in this lookup */
+  private final @Nullable LazyVariableLookup parent;
+
+  /** The variables that are going to be looked up, thus that have to be populated */
+  private final @NonNull VariableUsage usage;
+
+  /** The bound sources in order of binding, resolving variables not present in the map */
+  @Getter(AccessLevel.NONE)
+  private @Nullable List<Binding> bindings;
+
   public LazyVariableLookup() {
-    this(new HashMap<>());
+    this(new HashMap<>(), null, VariableUsage.ALL);
+  }
+
+  /**
+   * Creates a lookup that only populates the variables required by {@code usage}, which are
+   * the variables of the messages this lookup is used for.
+   */
+  public LazyVariableLookup(@NonNull VariableUsage usage) {
+    this(new HashMap<>(), null, usage);
+  }
+
+  /**
+   * Creates a lookup layered on top of {@code parent}, so that variables shared by many lookups
+   * (i.e. those of a match) have to be populated only once. The lookup requires the same
+   * variables as {@code parent}.
+   */
+  public LazyVariableLookup(@Nullable LazyVariableLookup parent) {
+    this(new HashMap<>(), parent, parent != null ? parent.usage : VariableUsage.ALL);
+  }
+
+  /**
+   * Creates a lookup layered on top of {@code parent}, that only populates the variables
+   * required by {@code usage}.
+   */
+  public LazyVariableLookup(@Nullable LazyVariableLookup parent, @NonNull VariableUsage usage) {
+    this(new HashMap<>(), parent, usage);
   }
 
-  private LazyVariableLookup(@NonNull Map<String, Object> objectMap) {
+  private LazyVariableLookup(
+      @NonNull Map<String, Object> objectMap,
+      @Nullable LazyVariableLookup parent,
+      @NonNull VariableUsage usage) {
     Preconditions.checkNotNull(objectMap, "Map must not be null");
+    Preconditions.checkNotNull(usage, "Usage must not be null");
     this.dataMap = objectMap;
+    this.parent = parent;
+    this.usage = usage;
+  }
+
+  /** Returns true if any variable at or below {@code key} may be looked up. */
+  public boolean isRequired(@NonNull VariableKey key) {
+    return usage.requires(key);
   }
 
   @Override
   public String lookup(String key) {
-    if (!dataMap.containsKey(key))
-      return null;
-    Object object = dataMap.get(key);
+    Object object;
+    if (dataMap.containsKey(key))
+      object = dataMap.get(key);
+    else if ((object = resolve(key)) != null)
+      // cache the resolved value, as variables may be referenced multiple times
+      dataMap.put(key, object);
+    else
+      return parent != null ? parent.lookup(key) : null;
     if (object == null)
       return null;
     if (object instanceof Supplier)
@@ -43,6 +98,46 @@ public class LazyVariableLookup implements StringLookup {
     return Objects.toString(object, null);
   }
 
+  /**
+   * Binds {@code source} to {@code prefix}, so that all variables starting with {@code prefix}
+   * that are not set explicitly are resolved through {@code source} once they are looked up.
+   * <p>Sources bound later take precedence over sources bound earlier.
+   */
+  @CanIgnoreReturnValue
+  public @NonNull LazyVariableLookup bind(
+      @NonNull VariableKey prefix, @NonNull VariableSource source) {
+    Preconditions.checkNotNull(prefix, "Prefix must not be null");
+    Preconditions.checkNotNull(source, "Source must not be null");
+    if (bindings == null)
+      bindings = new ArrayList<>(2);
+    bindings.add(new Binding(prefix, source));
+    return this;
+  }
+
+  private @Nullable Object resolve(String key) {
+    if (bindings == null) return null;
+    for (int i = bindings.size() - 1; i >= 0; --i) {
+      Binding binding = bindings.get(i);
+      String name = binding.prefix.relativize(key);
+      if (name == null) continue;
+      Object object = binding.source.resolve(name);
+      if (object != null) return object;
+    }
+    return null;
+  }
+
+  @CanIgnoreReturnValue
+  public @NonNull LazyVariableLookup set(VariableKey key, Object object) {
+    dataMap.put(key.getPath(), object);
+    return this;
+  }
+
+  @CanIgnoreReturnValue
+  public @NonNull LazyVariableLookup setIfAbsent(VariableKey key, Object object) {
+    dataMap.putIfAbsent(key.getPath(), object);
+    return this;
+  }
+
   @CanIgnoreReturnValue
   public @NonNull LazyVariableLookup set(ArrayPath key, Object object) {
     dataMap.put(key.join(), object);
@@ -65,4 +160,16 @@ public class LazyVariableLookup implements StringLookup {
   public @NonNull LazyVariableLookup set(String key, Supplier<?> supplier) {
     return set(ArrayPath.parse(key), supplier);
   }
+
+  private static final class Binding {
+
+    private final @NonNull VariableKey prefix;
+
+    private final @NonNull VariableSource source;
+
+    Binding(@NonNull VariableKey prefix, @NonNull VariableSource source) {
+      this.prefix = prefix;
+      this.source = source;
+    }
+  }
 }
@@ -1,6 +1,7 @@
 package io.github.aparx.skywarz.language;
 
 import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import com.google.errorprone.annotations.CheckReturnValue;
 import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
@@ -17,8 +18,10 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -35,16 +38,21 @@ public final class LocalizedMessage {
 
   private final @NonNull String content;
 
-  private final StringSubstitutor defaultSubstitutor;
+  private final @NonNull MessageTemplate template;
 
+  private final @NonNull StringLookup defaultLookup;
+
+  private volatile StringSubstitutor defaultSubstitutor;
+
+  private volatile VariableUsage usage;
 
   public LocalizedMessage(@NonNull StringLookup defaultLookup, @NonNull String content) {
     Preconditions.checkNotNull(defaultLookup, "Lookup must not be null");
     Preconditions.checkNotNull(content, "Content must not be null");
     this.rawContent = content;
     this.content = processRawContent(rawContent);
-    this.defaultSubstitutor = new StringSubstitutor(defaultLookup,
-        VARIABLE_PREFIX, VARIABLE_SUFFIX, VARIABLE_ESCAPE);
+    this.template = MessageTemplate.compile(this.content);
+    this.defaultLookup = defaultLookup;
   }
 
   public static String processRawContent(@Nullable String rawMessage) {
@@ -66,7 +74,11 @@ public final class LocalizedMessage {
   }
 
   public StringSubstitutor createSubstitutor() {
-    return defaultSubstitutor;
+    StringSubstitutor substitutor = defaultSubstitutor;
+    if (substitutor == null)
+      defaultSubstitutor = substitutor = new StringSubstitutor(defaultLookup,
+          VARIABLE_PREFIX, VARIABLE_SUFFIX, VARIABLE_ESCAPE);
+    return substitutor;
   }
 
   public StringSubstitutor createSubstitutor(@Nullable StringLookup lookup) {
@@ -74,7 +86,7 @@ public final class LocalizedMessage {
       return new StringSubstitutor((variable) -> {
         Object resolve = lookup.lookup(variable);
         if (resolve != null) return resolve.toString();
-        resolve = defaultSubstitutor.getStringLookup().lookup(variable);
+        resolve = defaultLookup.lookup(variable);
         if (resolve != null) return resolve.toString();
         return null;
       }, VARIABLE_PREFIX, VARIABLE_SUFFIX, VARIABLE_ESCAPE);
@@ -91,15 +103,17 @@ public final class LocalizedMessage {
   }
 
   public String substitute(@Nullable Map<String, ?> valueMap) {
-    return substitute(createSubstitutor(valueMap));
+    if (valueMap == null || valueMap.isEmpty())
+      return substitute();
+    return substitute(StringLookupFactory.INSTANCE.mapStringLookup(valueMap));
   }
 
   public String substitute(@Nullable StringLookup lookup) {
-    return substitute(createSubstitutor(lookup));
+    return template.render(lookup, defaultLookup);
   }
 
   public String substitute() {
-    return substitute(defaultSubstitutor);
+    return template.render(null, defaultLookup);
   }
 
   public String substitute(Object @Nullable ... args) {
@@ -113,32 +127,61 @@ public final class LocalizedMessage {
 
   public String substitute(@NonNull SkywarsPlayer player, @NonNull ArrayPath prefix) {
     LazyVariableLookup map = new LazyVariableLookup();
-    player.findOnline().ifPresent((o) -> VariablePopulator.addPlayer(map, o, prefix));
+    player.findOnline().ifPresent(
+        (o) -> VariablePopulator.addPlayer(map, o, VariableKey.of(prefix)));
     return substitute(map);
   }
 
   public String substitute(@NonNull Player player, @NonNull ArrayPath prefix) {
     LazyVariableLookup map = new LazyVariableLookup();
-    VariablePopulator.addPlayer(map, player, prefix);
+    VariablePopulator.addPlayer(map, player, VariableKey.of(prefix));
     return substitute(map);
   }
 
   public String substitute(@NonNull GameTeam team, @NonNull ArrayPath prefix) {
     LazyVariableLookup map = new LazyVariableLookup();
-    VariablePopulator.addTeam(map, team, prefix);
+    VariablePopulator.addTeam(map, team, VariableKey.of(prefix));
     return substitute(map);
   }
 
   public String substitute(@NonNull GameKit kit, @NonNull ArrayPath prefix) {
     LazyVariableLookup map = new LazyVariableLookup();
-    VariablePopulator.addKit(map, kit, prefix);
+    VariablePopulator.addKit(map, kit, VariableKey.of(prefix));
     return substitute(map);
   }
 
   public String substitute(@NonNull GameMatch match, @NonNull ArrayPath prefix) {
-    LazyVariableLookup map = new LazyVariableLookup();
-    VariablePopulator.addMatch(map, match, prefix);
-    return substitute(map);
+    return substitute(match.getVariableFrame().lookup(VariableKey.of(prefix)));
+  }
+
+  public @NonNull MessageTemplate getTemplate() {
+    return template;
+  }
+
+  /**
+   * Returns the variables this message refers to, including the variables of the messages it
+   * refers to (i.e. those of {@code {prefix}}).
+   */
+  public @NonNull VariableUsage getUsage() {
+    VariableUsage usage = this.usage;
+    return usage != null ? usage : analyzeUsage();
+  }
+
+  /** Analyzes the variables this message refers to, through the messages currently known. */
+  @CanIgnoreReturnValue
+  @NonNull VariableUsage analyzeUsage() {
+    Set<String> variables = new HashSet<>();
+    collectVariables(template, variables);
+    return this.usage = VariableUsage.of(variables);
+  }
+
+  private void collectVariables(MessageTemplate template, Set<String> variables) {
+    for (String variable : template.getVariables()) {
+      if (!variables.add(variable)) continue;
+      String referenced = defaultLookup.lookup(variable);
+      if (referenced != null && referenced.contains(VARIABLE_PREFIX))
+        collectVariables(MessageTemplate.compileCached(referenced), variables);
+    }
   }
 
   public @NonNull String getRawContent() {
@@ -159,12 +202,12 @@ public final class LocalizedMessage {
     if (o == null || getClass() != o.getClass()) return false;
     LocalizedMessage that = (LocalizedMessage) o;
     return Objects.equals(rawContent, that.rawContent)
-        && Objects.equals(defaultSubstitutor, that.defaultSubstitutor);
+        && Objects.equals(defaultLookup, that.defaultLookup);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(rawContent, defaultSubstitutor);
+    return Objects.hash(rawContent, defaultLookup);
   }
 
   @Override
@@ -205,7 +205,7 @@ public final class MessageKeys {
     map.put(Stats.NONE_SELF, "{warningPrefix} You have stats in Skywarz");
     map.put(Stats.OVERVIEW, List.of(
         "{prefix} §7Stats for §8{target.name}§7:",
-        "{prefix} §8• §7Points: §e{target.total.points}",
+        "{prefix} §8• §7Points: §e{target.total.points} §8(§7Rank §e#{target.rank}§8)",
         "{prefix} §8• §7Played: §b{target.total.played}",
         "{prefix} §8• §7Won: §b{target.total.won}",
         "{prefix} §8• §7Kills: §b{target.total.kills}",
@@ -215,9 +215,8 @@ public final class MessageKeys {
     ));
 
     map.put(Stats.LEADERBOARD_OVERVIEW, List.of(
-        "{prefix} §7The top §e10§7 of Skywarz:",
-        "{content}",
-        "{prefix} §7It can take up to §81h§7 to refresh."
+        "{prefix} §7The top players of Skywarz (page §e{page}§7):",
+        "{content}"
     ));
     map.put(Stats.LEADERBOARD_LINE,
         "{prefix} §e#{place}§r {player.name}§7 - {player.stats.points} Points - {player.stats.kd} K/D");
@@ -0,0 +1,245 @@
+package io.github.aparx.skywarz.language;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.apache.commons.text.lookup.StringLookup;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Message content that is compiled once into a sequence of literal and variable segments, so
+ * that substituting it does not parse the content again.
+ * <p>Substitution behaves like the {@code StringSubstitutor} previously used: a variable is
+ * written as {@code {name}} or {@code {name:-default}}, a prefix preceded by
+ * {@link LocalizedMessage#VARIABLE_ESCAPE} is kept literally, unresolved variables are kept as
+ * they are and resolved values are substituted recursively.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 10:21
+ * @since 1.0
+ */
+public final class MessageTemplate {
+
+  /** The default value delimiter within a variable, as used by {@code StringSubstitutor} */
+  public static final String DEFAULT_VALUE_DELIMITER = ":-";
+
+  /** Builders of at most this capacity are reused for subsequent renders */
+  private static final int MAX_REUSED_CAPACITY = 1024;
+
+  /** The maximum amount of compiled templates of variable values that are kept */
+  private static final int MAX_VALUE_CACHE_SIZE = 256;
+
+  private static final char PREFIX = LocalizedMessage.VARIABLE_PREFIX.charAt(0);
+  private static final char SUFFIX = LocalizedMessage.VARIABLE_SUFFIX.charAt(0);
+  private static final char ESCAPE = LocalizedMessage.VARIABLE_ESCAPE;
+
+  private static final ThreadLocal<RenderBuffer> buffers =
+      ThreadLocal.withInitial(RenderBuffer::new);
+
+  /** Compiled templates of variable values that contain variables themselves */
+  private static final Map<String, MessageTemplate> compiledValues = new ConcurrentHashMap<>();
+
+  private final @NonNull String content;
+
+  /** The segments, each either a {@code String} (literal) or a {@code Variable} */
+  private final Object @NonNull [] segments;
+
+  /** The length of all literal segments, used as the initial capacity estimate */
+  private final int literalLength;
+
+  /** The names of all variables directly referenced by this template */
+  private final @NonNull ImmutableSet<String> variables;
+
+  private MessageTemplate(@NonNull String content, Object @NonNull [] segments) {
+    this.content = content;
+    this.segments = segments;
+    int literalLength = 0;
+    ImmutableSet.Builder<String> variables = ImmutableSet.builder();
+    for (Object segment : segments)
+      if (segment instanceof String)
+        literalLength += ((String) segment).length();
+      else variables.add(((Variable) segment).name);
+    this.literalLength = literalLength;
+    this.variables = variables.build();
+  }
+
+  public static @NonNull MessageTemplate compile(@NonNull String content) {
+    Preconditions.checkNotNull(content, "Content must not be null");
+    List<Object> segments = new ArrayList<>();
+    StringBuilder literal = new StringBuilder();
+    final int length = content.length();
+    int cursor = 0;
+    while (cursor < length) {
+      int prefix = content.indexOf(PREFIX, cursor);
+      if (prefix == -1) break;
+      if (prefix > cursor && content.charAt(prefix - 1) == ESCAPE) {
+        // escaped prefix: drop the escape character and keep the prefix literally
+        literal.append(content, cursor, prefix - 1).append(PREFIX);
+        cursor = prefix + 1;
+        continue;
+      }
+      int suffix = content.indexOf(SUFFIX, prefix + 1);
+      if (suffix == -1) break;
+      literal.append(content, cursor, prefix);
+      if (literal.length() != 0) {
+        segments.add(literal.toString());
+        literal.setLength(0);
+      }
+      segments.add(Variable.parse(content.substring(prefix, suffix + 1)));
+      cursor = suffix + 1;
+    }
+    literal.append(content, cursor, length);
+    if (literal.length() != 0)
+      segments.add(literal.toString());
+    return new MessageTemplate(content, segments.toArray());
+  }
+
+  /**
+   * Returns the compiled template of {@code content}, that is kept for subsequent calls, as
+   * for values of variables that are substituted recursively on every render.
+   */
+  public static @NonNull MessageTemplate compileCached(@NonNull String content) {
+    MessageTemplate template = compiledValues.get(content);
+    if (template != null) return template;
+    template = compile(content);
+    if (compiledValues.size() >= MAX_VALUE_CACHE_SIZE)
+      // values are mostly the same few nested messages, thus simply start over once full
+      compiledValues.clear();
+    compiledValues.put(content, template);
+    return template;
+  }
+
+  public @NonNull String getContent() {
+    return content;
+  }
+
+  /**
+   * Returns the names of the variables referenced by this template, not including variables
+   * referenced by the values they resolve to.
+   */
+  public @NonNull ImmutableSet<String> getVariables() {
+    return variables;
+  }
+
+  /** Returns true if this template does not contain any variables. */
+  public boolean isConstant() {
+    return segments.length == 0 || (segments.length == 1 && segments[0] instanceof String);
+  }
+
+  /**
+   * Renders this template, resolving variables through {@code lookup} first and through
+   * {@code fallback} second.
+   */
+  public @NonNull String render(@Nullable StringLookup lookup, @Nullable StringLookup fallback) {
+    if (isConstant())
+      return segments.length == 0 ? "" : (String) segments[0];
+    RenderBuffer buffer = buffers.get();
+    if (buffer.inUse)
+      // a lookup renders another template on this thread, thus use a separate builder
+      return render(new StringBuilder(literalLength + 16), lookup, fallback).toString();
+    buffer.inUse = true;
+    try {
+      StringBuilder builder = buffer.builder;
+      builder.setLength(0);
+      String result = render(builder, lookup, fallback).toString();
+      if (builder.capacity() > MAX_REUSED_CAPACITY)
+        buffer.builder = new StringBuilder();
+      return result;
+    } finally {
+      buffer.inUse = false;
+    }
+  }
+
+  /** Renders this template into {@code builder} and returns it. */
+  @CanIgnoreReturnValue
+  public @NonNull StringBuilder render(
+      @NonNull StringBuilder builder,
+      @Nullable StringLookup lookup, @Nullable StringLookup fallback) {
+    Preconditions.checkNotNull(builder, "Builder must not be null");
+    render(builder, lookup, fallback, null);
+    return builder;
+  }
+
+  private void render(StringBuilder builder, @Nullable StringLookup lookup,
+                      @Nullable StringLookup fallback, @Nullable List<String> resolving) {
+    for (Object segment : segments) {
+      if (segment instanceof String) {
+        builder.append((String) segment);
+        continue;
+      }
+      Variable variable = (Variable) segment;
+      String value = variable.resolve(lookup, fallback);
+      if (value == null) {
+        builder.append(variable.source);
+        continue;
+      }
+      if (value.indexOf(PREFIX) == -1) {
+        builder.append(value);
+        continue;
+      }
+      // the value may contain variables itself, which are substituted recursively
+      if (resolving == null)
+        resolving = new ArrayList<>(2);
+      if (resolving.contains(variable.name))
+        throw new IllegalStateException("Infinite loop in substitution of "
+            + String.join("->", resolving) + "->" + variable.name);
+      resolving.add(variable.name);
+      compileCached(value).render(builder, lookup, fallback, resolving);
+      resolving.remove(resolving.size() - 1);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "MessageTemplate{" +
+        "content='" + content + '\'' +
+        ", segments=" + segments.length +
+        '}';
+  }
+
+  private static final class Variable {
+
+    /** The variable as written in the template, including its prefix and suffix */
+    private final @NonNull String source;
+
+    private final @NonNull String name;
+
+    private final @Nullable String defaultValue;
+
+    private Variable(@NonNull String source, @NonNull String name, @Nullable String defaultValue) {
+      this.source = source;
+      this.name = name;
+      this.defaultValue = defaultValue;
+    }
+
+    static Variable parse(String source) {
+      String expression = source.substring(1, source.length() - 1);
+      int delimiter = expression.indexOf(DEFAULT_VALUE_DELIMITER);
+      if (delimiter == -1)
+        return new Variable(source, expression, null);
+      return new Variable(source, expression.substring(0, delimiter),
+          expression.substring(delimiter + DEFAULT_VALUE_DELIMITER.length()));
+    }
+
+    @Nullable String resolve(@Nullable StringLookup lookup, @Nullable StringLookup fallback) {
+      String value = lookup != null ? lookup.lookup(name) : null;
+      if (value == null && fallback != null)
+        value = fallback.lookup(name);
+      return value != null ? value : defaultValue;
+    }
+  }
+
+  private static final class RenderBuffer {
+
+    private StringBuilder builder = new StringBuilder();
+
+    private boolean inUse;
+  }
+
+}
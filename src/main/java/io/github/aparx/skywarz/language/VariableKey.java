@@ -0,0 +1,86 @@
+package io.github.aparx.skywarz.language;
+
+import com.google.common.base.Preconditions;
+import io.github.aparx.bufig.ArrayPath;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned key of a variable within a {@code LazyVariableLookup}, such as {@code match.state}.
+ * <p>Each key is created once per path and caches its dotted path and its children, thus keys
+ * can be compared by identity and deriving a child key (i.e. {@code prefix.child("name")}) does
+ * not build a new string after the first time.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 14:08
+ * @since 1.0
+ */
+public final class VariableKey {
+
+  public static final char SEPARATOR = '.';
+
+  private static final Map<String, VariableKey> interned = new ConcurrentHashMap<>();
+
+  /** The empty key, which is the parent of all root variables */
+  public static final VariableKey ROOT = of("");
+
+  private final @NonNull String path;
+
+  private final Map<String, VariableKey> children = new ConcurrentHashMap<>();
+
+  private VariableKey(@NonNull String path) {
+    this.path = path;
+  }
+
+  public static @NonNull VariableKey of(@NonNull String path) {
+    Preconditions.checkNotNull(path, "Path must not be null");
+    VariableKey key = interned.get(path);
+    if (key != null) return key;
+    return interned.computeIfAbsent(path, VariableKey::new);
+  }
+
+  public static @NonNull VariableKey of(@NonNull ArrayPath path) {
+    Preconditions.checkNotNull(path, "Path must not be null");
+    return of(path.join());
+  }
+
+  public @NonNull VariableKey child(@NonNull String name) {
+    Preconditions.checkNotNull(name, "Name must not be null");
+    VariableKey child = children.get(name);
+    if (child != null) return child;
+    return children.computeIfAbsent(name,
+        (k) -> of(path.isEmpty() ? name : path + SEPARATOR + name));
+  }
+
+  public boolean isRoot() {
+    return path.isEmpty();
+  }
+
+  /**
+   * Returns the name of {@code variable} relative to this key, or null if {@code variable} is
+   * not a descendant of this key.
+   */
+  public @Nullable String relativize(@NonNull String variable) {
+    if (path.isEmpty()) return variable;
+    final int length = path.length();
+    if (variable.length() <= length + 1
+        || variable.charAt(length) != SEPARATOR
+        || !variable.startsWith(path))
+      return null;
+    return variable.substring(length + 1);
+  }
+
+  /** Returns the dotted path of this key, as used within messages. */
+  public @NonNull String getPath() {
+    return path;
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+
+}
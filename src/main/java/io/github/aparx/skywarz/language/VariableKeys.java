@@ -0,0 +1,25 @@
+package io.github.aparx.skywarz.language;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * The root keys of variables that are populated into messages.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 14:32
+ * @since 1.0
+ */
+@UtilityClass
+public final class VariableKeys {
+
+  public final VariableKey MATCH = VariableKey.of("match");
+  public final VariableKey PLAYER = VariableKey.of("player");
+  public final VariableKey KILLER = VariableKey.of("killer");
+  public final VariableKey SENDER = VariableKey.of("sender");
+  public final VariableKey TARGET = VariableKey.of("target");
+  public final VariableKey TEAM = VariableKey.of("team");
+  public final VariableKey TIME = VariableKey.of("time");
+  public final VariableKey MESSAGE = VariableKey.of("message");
+  public final VariableKey PLACE = VariableKey.of("place");
+
+}
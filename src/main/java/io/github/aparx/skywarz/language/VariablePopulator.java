@@ -2,7 +2,6 @@ package io.github.aparx.skywarz.language;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Suppliers;
-import io.github.aparx.bufig.ArrayPath;
 import io.github.aparx.skywarz.Skywars;
 import io.github.aparx.skywarz.entity.SkywarsPlayer;
 import io.github.aparx.skywarz.entity.data.stats.PlayerStatsKey;
@@ -12,12 +11,10 @@ import io.github.aparx.skywarz.game.arena.settings.ArenaSettings;
 import io.github.aparx.skywarz.game.arena.GameArena;
 import io.github.aparx.skywarz.game.kit.GameKit;
 import io.github.aparx.skywarz.game.match.GameMatch;
-import io.github.aparx.skywarz.game.match.GameMatchManager;
 import io.github.aparx.skywarz.game.match.GameMatchState;
 import io.github.aparx.skywarz.game.team.GameTeam;
 import io.github.aparx.skywarz.utils.tick.TickDuration;
 import io.github.aparx.skywarz.utils.tick.Ticker;
-import io.github.aparx.skywarz.utils.tick.TimeTicker;
 import io.github.aparx.skywarz.utils.tick.TimeUnit;
 import lombok.experimental.UtilityClass;
 import org.apache.commons.lang3.StringUtils;
@@ -27,7 +24,11 @@ import org.bukkit.entity.Player;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * @author aparx (Vinzent Z.)
@@ -37,185 +38,345 @@ import java.util.Locale;
 @UtilityClass
 public final class VariablePopulator {
 
+  private static final VariableKey STATS = VariableKey.of("stats");
+
+  private static final VariableKey STATE = VariableKey.of("state");
+
+  private static final Map<String, PlayerStatsKey> statsKeys = new HashMap<>();
+
+  private static final Map<String, TimeUnit> timeUnits = new HashMap<>();
+
+  static {
+    for (PlayerStatsKey key : PlayerStatsKey.values())
+      statsKeys.put(key.name().toLowerCase(), key);
+    for (TimeUnit unit : TimeUnit.values())
+      timeUnits.put(unit.name(), unit);
+  }
+
   public static void addPlayer(
       @NonNull LazyVariableLookup lookup,
       @NonNull OfflinePlayer entity,
-      @NonNull ArrayPath prefix,
+      @NonNull VariableKey prefix,
       @Nullable Object nullValue) {
-    lookup.set(prefix.add("name"), entity.getName());
-    SkywarsPlayer.findPlayer(entity.getUniqueId())
-        .map(SkywarsPlayer::getPlayerData)
-        .flatMap((storage) -> storage.find(PlayerMatchData.class))
-        .ifPresent((data) -> {
-          addKit(lookup, data.getKit(), prefix.add("kit"), nullValue);
-          addTeam(lookup, data.getTeam(), prefix.add("team"), nullValue);
-          addStats(lookup, data.getStatistics(), prefix.add(ArrayPath.of("match", "stats")));
-        });
+    Preconditions.checkNotNull(entity, "Entity must not be null");
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolvePlayer(entity, null, nullValue, name));
   }
 
-
   public static void addPlayer(
       @NonNull LazyVariableLookup lookup,
       @NonNull OfflinePlayer entity,
-      @NonNull ArrayPath prefix) {
+      @NonNull VariableKey prefix) {
     addPlayer(lookup, entity, prefix, null);
   }
 
   public static void addPlayer(
       @NonNull LazyVariableLookup lookup,
       @NonNull Player entity,
-      @NonNull ArrayPath prefix,
+      @NonNull VariableKey prefix,
       @Nullable Object nullValue) {
     Preconditions.checkNotNull(entity, "Entity must not be null");
-    lookup.set(prefix.add("displayName"), entity.getDisplayName());
-    lookup.set(prefix.add("health"), entity.getHealth());
-    lookup.set(prefix.add("foodLevel"), entity.getFoodLevel());
-    addPlayer(lookup, (OfflinePlayer) entity, prefix, nullValue);
-  }
-
-  public static void addStats(
-      @NonNull LazyVariableLookup lookup,
-      @NonNull PlayerStatsAccumulator stats,
-      @NonNull ArrayPath prefix) {
-    for (PlayerStatsKey key : PlayerStatsKey.values())
-      lookup.set(prefix.add(key.name().toLowerCase()), stats.findGet(key));
-    lookup.set(prefix.add("lost"), stats.getMatchesLost());
-
-    final double winChance = stats.getWinChance();
-    lookup.set(prefix.add("winChance"), Suppliers.memoize(() -> {
-      // winChance is defined outside for memoization reasons
-      return String.format(Locale.ENGLISH, "%.1f", winChance) + '%';
-    }));
-    final double killDeathRatio = stats.getKillDeathRatio();
-    lookup.set(prefix.add("kd"), Suppliers.memoize(() -> {
-      // kills/deaths ratio is defined outside for memoization reasons
-      return String.format(Locale.ENGLISH, "%.2f", killDeathRatio);
-    }));
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolvePlayer(entity, entity, nullValue, name));
   }
 
   public static void addPlayer(
       @NonNull LazyVariableLookup lookup,
       @NonNull Player entity,
-      @NonNull ArrayPath prefix) {
+      @NonNull VariableKey prefix) {
     addPlayer(lookup, entity, prefix, null);
   }
 
+  public static void addStats(
+      @NonNull LazyVariableLookup lookup,
+      @NonNull PlayerStatsAccumulator stats,
+      @NonNull VariableKey prefix) {
+    Preconditions.checkNotNull(stats, "Stats must not be null");
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolveStats(stats, name));
+  }
+
   public static void addTeam(
       @NonNull LazyVariableLookup lookup,
       @Nullable GameTeam team,
-      @NonNull ArrayPath prefix,
+      @NonNull VariableKey prefix,
       @Nullable Object nullValue) {
-    lookup.set(prefix.add("displayName"), team != null
-        ? team.getTeamEnum().getChatColor() + team.getTeamEnum().getTranslatedName()
-        : nullValue);
-    lookup.set(prefix.add("name"), team != null
-        ? team.getTeamEnum().getTranslatedName()
-        : nullValue);
-    lookup.set(prefix.add("color"), team != null
-        ? team.getTeamEnum().getChatColor()
-        : nullValue);
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolveTeam(team, nullValue, name));
   }
 
   public static void addTeam(
       @NonNull LazyVariableLookup lookup,
       @Nullable GameTeam team,
-      @NonNull ArrayPath prefix) {
+      @NonNull VariableKey prefix) {
     addTeam(lookup, team, prefix, null);
   }
 
   public static void addKit(
       @NonNull LazyVariableLookup lookup,
       @Nullable GameKit kit,
-      @NonNull ArrayPath prefix,
+      @NonNull VariableKey prefix,
       @Nullable Object nullValue) {
-    lookup.set(prefix.add("name"), kit == null ? nullValue : kit.getName());
-    lookup.set(prefix.add("displayName"), kit == null ? nullValue : kit.getDisplayName());
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolveKit(kit, nullValue, name));
   }
 
   public static void addKit(
       @NonNull LazyVariableLookup lookup,
       @Nullable GameKit kit,
-      @NonNull ArrayPath prefix) {
+      @NonNull VariableKey prefix) {
     addKit(lookup, kit, prefix, null);
   }
 
-  public static void addTicker(LazyVariableLookup lookup, Ticker ticker,
-                               ArrayPath prefix) {
-    for (TimeUnit unit : TimeUnit.values())
-      lookup.set(prefix.add(unit.name()), ticker.getElapsed(unit));
-    lookup.set(prefix.add("format"), Suppliers.memoize(() -> formatRelativeDate(ticker)));
-    lookup.set(prefix.add("literal"), Suppliers.memoize(() -> formatLiteral(ticker)));
+  public static void addTicker(LazyVariableLookup lookup, Ticker ticker, VariableKey prefix) {
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolveTicker(ticker, name));
   }
 
   public static void addFiniteTicker(
-      LazyVariableLookup lookup, Ticker ticker, TickDuration duration, ArrayPath prefix) {
-    addTicker(lookup, ticker, prefix.add("elapsed"));
-    // create a new dummy ticker to invert the phase's ticker to represent time left
-    TimeTicker left = new TimeTicker(TimeUnit.TICKS);
-    left.set(duration.toTicks() - ticker.getElapsed(TimeUnit.TICKS));
-    addTicker(lookup, left, prefix.add("left"));
+      LazyVariableLookup lookup, Ticker ticker, TickDuration duration, VariableKey prefix) {
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolveFiniteTicker(ticker, duration, name));
   }
 
-  public static void addMatch(LazyVariableLookup lookup, GameMatch match, ArrayPath prefix) {
+  public static void addMatch(LazyVariableLookup lookup, GameMatch match, VariableKey prefix) {
     addMatch(lookup, match, prefix, null);
   }
 
   public static void addMatch(
-      LazyVariableLookup lookup, GameMatch match, ArrayPath prefix, Object nullValue) {
-    lookup.set(prefix.add("id"), match.getId());
-    lookup.set(prefix.add("arena"), match.getArena().getName());
-    lookup.set(prefix.add("minPlayers"), match.getMinPlayerCount());
-    lookup.set(prefix.add("maxPlayers"), match.getMaxPlayerCount());
-    lookup.set(prefix.add("missing"), match.getMinPlayerCount() - match.getAudience().size());
-    lookup.set(prefix.add("players"), match.getAudience().size());
-    lookup.set(prefix.add("alive"), Suppliers.memoize(() -> match.getAudience().alive().count()));
-    lookup.set(prefix.add("dead"), Suppliers.memoize(() -> match.getAudience().dead().count()));
-    addState(lookup, match.getState(), prefix.add("state"));
-    addTeam(lookup, match.getWinner(), prefix.add("winner"), nullValue);
-    match.getCycler().getPhase().ifPresent((phase) -> {
-      addFiniteTicker(lookup, phase.getTicker(), phase.getDuration(), prefix.add("time"));
-    });
-  }
-
-  /** Adds {@code arena} (or the match acquiring it) to {@code lookup} at offset {@code prefix}. */
-  public static void addArenaOrAcquiree(
-      LazyVariableLookup lookup, GameArena arena, ArrayPath prefix) {
-    GameMatchManager matches = Skywars.getInstance().getMatchManager();
-    lookup.setIfAbsent(prefix.add("name"), arena.getName());
-    matches.find(arena).ifPresentOrElse((match) -> {
-      addMatch(lookup, match, ArrayPath.of(), null);
-    }, () -> {
-      // Fill with values known when no match is associated to `arena`
-      ArenaSettings settings = arena.getData().getSettings();
-
-      int minPlayerCount = GameArena.getMinPlayerCount(settings);
-      addState(lookup, arena.isCompleted()
-              ? GameMatchState.IDLE
-              : GameMatchState.SETUP,
-          ArrayPath.of("state"));
-      lookup.set(ArrayPath.of("minPlayers"), minPlayerCount);
-      lookup.set(ArrayPath.of("minPlayers"), minPlayerCount);
-      lookup.set(ArrayPath.of("maxPlayers"), Suppliers.memoize(() -> {
-        return GameArena.getMaxPlayerCount(settings, GameArena.getAvailableTeamCount(arena));
-      }));
-      lookup.set(ArrayPath.of("missing"), minPlayerCount);
-      lookup.set(ArrayPath.of("players"), 0);
-      lookup.set(ArrayPath.of("alive"), 0);
-      lookup.set(ArrayPath.of("dead"), 0);
-    });
+      LazyVariableLookup lookup, GameMatch match, VariableKey prefix, Object nullValue) {
+    Preconditions.checkNotNull(match, "Match must not be null");
+    if (!lookup.isRequired(prefix)) return;
+    // alive and dead players are counted together, once either is referenced
+    Supplier<int[]> audience = Suppliers.memoize(() -> countAliveAndDead(match));
+    lookup.bind(prefix, (name) -> resolveMatch(match, nullValue, name, audience));
+  }
+
+  /**
+   * Creates a lookup containing {@code arena} (or the match acquiring it) at offset
+   * {@code prefix}. The variables of an acquiring match are shared through its variable frame.
+   */
+  public static LazyVariableLookup createArenaOrAcquiree(
+      GameArena arena, VariableKey prefix, VariableUsage usage) {
+    Optional<GameMatch> match = Skywars.getInstance().getMatchManager().find(arena);
+    LazyVariableLookup lookup = match.isPresent()
+        ? match.get().getVariableFrame().lookup(prefix, null, usage)
+        : new LazyVariableLookup(usage).bind(prefix, (name) -> resolveArena(arena, name));
+    if (lookup.isRequired(prefix))
+      lookup.setIfAbsent(prefix.child("name"), arena.getName());
+    return lookup;
   }
 
   public static void addState(
-      LazyVariableLookup lookup, GameMatchState state, ArrayPath prefix) {
-    lookup.set(prefix.add("name"), state.getTranslatedName());
-    lookup.set(prefix.add("color"), state.isJoinable() ? ChatColor.GREEN : ChatColor.RED);
+      LazyVariableLookup lookup, GameMatchState state, VariableKey prefix) {
+    if (!lookup.isRequired(prefix)) return;
+    lookup.bind(prefix, (name) -> resolveState(state, name));
+  }
+
+  public static @Nullable Object resolvePlayer(
+      @NonNull OfflinePlayer entity, @Nullable Player online,
+      @Nullable Object nullValue, @NonNull String name) {
+    switch (name) {
+      case "name":
+        return entity.getName();
+      case "displayName":
+        return online != null ? online.getDisplayName() : null;
+      case "health":
+        return online != null ? online.getHealth() : null;
+      case "foodLevel":
+        return online != null ? online.getFoodLevel() : null;
+    }
+    int separator = name.indexOf(VariableKey.SEPARATOR);
+    if (separator == -1) return null;
+    PlayerMatchData data = SkywarsPlayer.findPlayer(entity.getUniqueId())
+        .map(SkywarsPlayer::getPlayerData)
+        .flatMap((storage) -> storage.find(PlayerMatchData.class))
+        .orElse(null);
+    if (data == null) return null;
+    String child = name.substring(separator + 1);
+    switch (name.substring(0, separator)) {
+      case "kit":
+        return resolveKit(data.getKit(), nullValue, child);
+      case "team":
+        return resolveTeam(data.getTeam(), nullValue, child);
+      case "match":
+        String stats = STATS.relativize(child);
+        return stats != null ? resolveStats(data.getStatistics(), stats) : null;
+      default:
+        return null;
+    }
+  }
+
+  public static @Nullable Object resolveStats(
+      @NonNull PlayerStatsAccumulator stats, @NonNull String name) {
+    switch (name) {
+      case "lost":
+        return stats.getMatchesLost();
+      case "winChance":
+        return String.format(Locale.ENGLISH, "%.1f", stats.getWinChance()) + '%';
+      case "kd":
+        return String.format(Locale.ENGLISH, "%.2f", stats.getKillDeathRatio());
+      default:
+        PlayerStatsKey key = statsKeys.get(name);
+        return key != null ? stats.findGet(key) : null;
+    }
+  }
+
+  public static @Nullable Object resolveTeam(
+      @Nullable GameTeam team, @Nullable Object nullValue, @NonNull String name) {
+    switch (name) {
+      case "displayName":
+        return team != null
+            ? team.getTeamEnum().getChatColor() + team.getTeamEnum().getTranslatedName()
+            : nullValue;
+      case "name":
+        return team != null ? team.getTeamEnum().getTranslatedName() : nullValue;
+      case "color":
+        return team != null ? team.getTeamEnum().getChatColor() : nullValue;
+      default:
+        return null;
+    }
+  }
+
+  public static @Nullable Object resolveKit(
+      @Nullable GameKit kit, @Nullable Object nullValue, @NonNull String name) {
+    switch (name) {
+      case "name":
+        return kit != null ? kit.getName() : nullValue;
+      case "displayName":
+        return kit != null ? kit.getDisplayName() : nullValue;
+      default:
+        return null;
+    }
+  }
+
+  public static @Nullable Object resolveState(
+      @NonNull GameMatchState state, @NonNull String name) {
+    switch (name) {
+      case "name":
+        return state.getTranslatedName();
+      case "color":
+        return state.isJoinable() ? ChatColor.GREEN : ChatColor.RED;
+      default:
+        return null;
+    }
+  }
+
+  public static @Nullable Object resolveTicker(@NonNull Ticker ticker, @NonNull String name) {
+    return resolveTicks(ticker.getElapsed(TimeUnit.TICKS), name);
+  }
+
+  /** Resolves the variable {@code name} of a ticker that elapsed {@code ticks}. */
+  public static @Nullable Object resolveTicks(long ticks, @NonNull String name) {
+    switch (name) {
+      case "format":
+        return formatRelativeDate(ticks);
+      case "literal":
+        return formatLiteral(ticks);
+      default:
+        TimeUnit unit = timeUnits.get(name);
+        return unit != null ? toElapsed(ticks, unit) : null;
+    }
+  }
+
+  public static @Nullable Object resolveFiniteTicker(
+      @NonNull Ticker ticker, @NonNull TickDuration duration, @NonNull String name) {
+    int separator = name.indexOf(VariableKey.SEPARATOR);
+    if (separator == -1) return null;
+    String child = name.substring(separator + 1);
+    switch (name.substring(0, separator)) {
+      case "elapsed":
+        return resolveTicker(ticker, child);
+      case "left":
+        return resolveTicks(duration.toTicks() - ticker.getElapsed(TimeUnit.TICKS), child);
+      default:
+        return null;
+    }
+  }
+
+  public static @Nullable Object resolveMatch(
+      @NonNull GameMatch match, @Nullable Object nullValue, @NonNull String name) {
+    return resolveMatch(match, nullValue, name, () -> countAliveAndDead(match));
+  }
+
+  private static @Nullable Object resolveMatch(
+      @NonNull GameMatch match, @Nullable Object nullValue,
+      @NonNull String name, @NonNull Supplier<int[]> audience) {
+    switch (name) {
+      case "id":
+        return match.getId();
+      case "arena":
+        return match.getArena().getName();
+      case "minPlayers":
+        return match.getMinPlayerCount();
+      case "maxPlayers":
+        return match.getMaxPlayerCount();
+      case "missing":
+        return match.getMinPlayerCount() - match.getAudience().size();
+      case "players":
+        return match.getAudience().size();
+      case "alive":
+        return audience.get()[0];
+      case "dead":
+        return audience.get()[1];
+    }
+    int separator = name.indexOf(VariableKey.SEPARATOR);
+    if (separator == -1) return null;
+    String child = name.substring(separator + 1);
+    switch (name.substring(0, separator)) {
+      case "state":
+        return resolveState(match.getState(), child);
+      case "winner":
+        return resolveTeam(match.getWinner(), nullValue, child);
+      case "time":
+        return match.getCycler().getPhase()
+            .map((phase) -> resolveFiniteTicker(phase.getTicker(), phase.getDuration(), child))
+            .orElse(null);
+      default:
+        return null;
+    }
+  }
+
+  /** Resolves the variables of {@code arena} known when no match is associated to it. */
+  public static @Nullable Object resolveArena(@NonNull GameArena arena, @NonNull String name) {
+    ArenaSettings settings = arena.getData().getSettings();
+    switch (name) {
+      case "minPlayers":
+      case "missing":
+        return GameArena.getMinPlayerCount(settings);
+      case "maxPlayers":
+        return GameArena.getMaxPlayerCount(settings, GameArena.getAvailableTeamCount(arena));
+      case "players":
+      case "alive":
+      case "dead":
+        return 0;
+    }
+    String state = STATE.relativize(name);
+    if (state == null) return null;
+    return resolveState(arena.isCompleted() ? GameMatchState.IDLE : GameMatchState.SETUP, state);
+  }
+
+  /** Returns the amount of alive (index 0) and dead (index 1) players within {@code match}. */
+  private static int[] countAliveAndDead(@NonNull GameMatch match) {
+    int[] counts = new int[2];
+    match.getAudience().online().forEach(
+        (player) -> ++counts[player.getMatchData().isSpectator() ? 1 : 0]);
+    return counts;
+  }
+
+  private static long toElapsed(long ticks, @NonNull TimeUnit unit) {
+    return TickDuration.of(TimeUnit.TICKS, ticks).getAmount(unit);
   }
 
   public static String formatRelativeDate(Ticker ticker) {
-    long seconds = ticker.getElapsed(TimeUnit.SECONDS);
-    long minutes = ticker.getElapsed(TimeUnit.MINUTES);
-    long hours = ticker.getElapsed(TimeUnit.HOURS);
-    long days = ticker.getElapsed(TimeUnit.DAYS);
+    return formatRelativeDate(ticker.getElapsed(TimeUnit.TICKS));
+  }
+
+  public static String formatRelativeDate(long ticks) {
+    long seconds = toElapsed(ticks, TimeUnit.SECONDS);
+    long minutes = toElapsed(ticks, TimeUnit.MINUTES);
+    long hours = toElapsed(ticks, TimeUnit.HOURS);
+    long days = toElapsed(ticks, TimeUnit.DAYS);
     boolean appendHours = hours >= 1 || days >= 1;
     boolean appendMinutes = minutes >= 1 || appendHours;
     boolean appendSeconds = seconds >= 1 || appendMinutes;
@@ -241,10 +402,14 @@ public final class VariablePopulator {
   }
 
   public static String formatLiteral(Ticker ticker) {
-    long seconds = ticker.getElapsed(TimeUnit.SECONDS) % 60;
-    long minutes = ticker.getElapsed(TimeUnit.MINUTES) % 60;
-    long hours = ticker.getElapsed(TimeUnit.HOURS) % 24;
-    long days = ticker.getElapsed(TimeUnit.DAYS);
+    return formatLiteral(ticker.getElapsed(TimeUnit.TICKS));
+  }
+
+  public static String formatLiteral(long ticks) {
+    long seconds = toElapsed(ticks, TimeUnit.SECONDS) % 60;
+    long minutes = toElapsed(ticks, TimeUnit.MINUTES) % 60;
+    long hours = toElapsed(ticks, TimeUnit.HOURS) % 24;
+    long days = toElapsed(ticks, TimeUnit.DAYS);
     StringBuilder builder = new StringBuilder();
     Language language = Language.getInstance();
     if (days >= 1) {
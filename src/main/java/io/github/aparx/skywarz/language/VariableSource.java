@@ -0,0 +1,27 @@
+package io.github.aparx.skywarz.language;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Source of variables that are resolved on demand, that is only once a message actually refers
+ * to them.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 14:21
+ * @since 1.0
+ * @see LazyVariableLookup#bind(VariableKey, VariableSource)
+ */
+@FunctionalInterface
+public interface VariableSource {
+
+  /**
+   * Resolves the variable with given name, relative to the key this source is bound to.
+   *
+   * @param name the relative name of the variable, such as {@code state.name}
+   * @return the value of the variable (which may be a {@code Supplier}), or null if this source
+   * does not know a variable with given name
+   */
+  @Nullable Object resolve(@NonNull String name);
+
+}
@@ -0,0 +1,79 @@
+package io.github.aparx.skywarz.language;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The set of variables that one or more messages refer to.
+ * <p>A usage is determined once per compiled message and allows populating only the variables
+ * a message actually needs: {@link #requires(VariableKey)} answers whether any variable at or
+ * below a given key is referenced, such as {@code match} for {@code match.state.name}.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 16:40
+ * @since 1.0
+ */
+public final class VariableUsage {
+
+  /** Usage that requires every variable, used when the referenced variables are unknown */
+  public static final VariableUsage ALL = new VariableUsage(ImmutableSet.of(), ImmutableSet.of());
+
+  public static final VariableUsage NONE = new VariableUsage(ImmutableSet.of(), ImmutableSet.of());
+
+  private final @NonNull Set<String> variables;
+
+  /** The variables and all of their parent paths, i.e. {@code match} and {@code match.state} */
+  private final @NonNull Set<String> paths;
+
+  private VariableUsage(@NonNull Set<String> variables, @NonNull Set<String> paths) {
+    this.variables = variables;
+    this.paths = paths;
+  }
+
+  public static @NonNull VariableUsage of(@NonNull Collection<String> variables) {
+    Preconditions.checkNotNull(variables, "Variables must not be null");
+    if (variables.isEmpty()) return NONE;
+    ImmutableSet.Builder<String> paths = ImmutableSet.builder();
+    for (String variable : variables) {
+      paths.add(variable);
+      for (int i = variable.indexOf(VariableKey.SEPARATOR); i != -1;
+           i = variable.indexOf(VariableKey.SEPARATOR, i + 1))
+        paths.add(variable.substring(0, i));
+    }
+    return new VariableUsage(ImmutableSet.copyOf(variables), paths.build());
+  }
+
+  /** Returns true if the variable {@code key} or any variable below it is referenced. */
+  public boolean requires(@NonNull VariableKey key) {
+    if (this == ALL) return true;
+    if (key.isRoot()) return !variables.isEmpty();
+    return paths.contains(key.getPath());
+  }
+
+  /** Returns true if exactly the variable {@code variable} is referenced. */
+  public boolean requiresExactly(@NonNull String variable) {
+    return this == ALL || variables.contains(variable);
+  }
+
+  public @NonNull Set<String> getVariables() {
+    return variables;
+  }
+
+  public @NonNull VariableUsage union(@NonNull VariableUsage other) {
+    Preconditions.checkNotNull(other, "Usage must not be null");
+    if (this == ALL || other == ALL) return ALL;
+    if (other.variables.isEmpty() || variables.containsAll(other.variables)) return this;
+    if (variables.isEmpty()) return other;
+    return of(ImmutableSet.<String>builder().addAll(variables).addAll(other.variables).build());
+  }
+
+  @Override
+  public String toString() {
+    return this == ALL ? "VariableUsage{ALL}" : "VariableUsage{" + variables + '}';
+  }
+
+}
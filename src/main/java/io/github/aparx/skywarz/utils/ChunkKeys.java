@@ -0,0 +1,39 @@
+package io.github.aparx.skywarz.utils;
+
+import com.google.common.base.Preconditions;
+import lombok.experimental.UtilityClass;
+import org.bukkit.Location;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Utility to pack chunk coordinates into a single {@code long}, usable as a primitive key.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-11 10:02
+ * @since 1.0
+ */
+@UtilityClass
+public final class ChunkKeys {
+
+  public static long of(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  public static long ofBlock(int blockX, int blockZ) {
+    return of(blockX >> 4, blockZ >> 4);
+  }
+
+  public static long of(@NonNull Location location) {
+    Preconditions.checkNotNull(location, "Location must not be null");
+    return ofBlock(location.getBlockX(), location.getBlockZ());
+  }
+
+  public static int getX(long key) {
+    return (int) (key >> 32);
+  }
+
+  public static int getZ(long key) {
+    return (int) key;
+  }
+
+}
@@ -0,0 +1,110 @@
+package io.github.aparx.skywarz.utils;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of latencies, that counts the recorded latencies in fixed buckets of
+ * exponentially growing upper bounds.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 20:05
+ * @since 1.0
+ */
+public final class LatencyHistogram {
+
+  /** The inclusive upper bounds of all buckets but the last (unbounded) one, in microseconds */
+  private static final long[] BOUNDS = {
+      100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000,
+      1_000_000, 2_500_000, 5_000_000
+  };
+
+  private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+
+  private final LongAdder totalMicros = new LongAdder();
+
+  public LatencyHistogram() {
+    for (int i = 0; i < buckets.length; ++i)
+      buckets[i] = new LongAdder();
+  }
+
+  public void record(long duration, @NonNull TimeUnit unit) {
+    Preconditions.checkNotNull(unit, "Unit must not be null");
+    long micros = Math.max(unit.toMicros(duration), 0);
+    buckets[indexOf(micros)].increment();
+    totalMicros.add(micros);
+  }
+
+  public long getCount() {
+    long count = 0;
+    for (LongAdder bucket : buckets)
+      count += bucket.sum();
+    return count;
+  }
+
+  /** Returns the mean of all recorded latencies in microseconds, or zero if none recorded. */
+  public double getMeanMicros() {
+    long count = getCount();
+    return count != 0 ? (double) totalMicros.sum() / count : 0;
+  }
+
+  /**
+   * Returns the upper bound in microseconds of the bucket containing the latency at given
+   * {@code percentile} (i.e. {@code 0.99}), or {@code Long.MAX_VALUE} if it is within the last
+   * bucket and zero if no latency is recorded.
+   */
+  public long getPercentileMicros(double percentile) {
+    Preconditions.checkArgument(percentile >= 0 && percentile <= 1, "Percentile out of range");
+    long[] counts = getBucketCounts();
+    long count = 0;
+    for (long bucketCount : counts)
+      count += bucketCount;
+    if (count == 0) return 0;
+    long rank = Math.max((long) Math.ceil(percentile * count), 1);
+    for (int i = 0; i < BOUNDS.length; ++i)
+      if ((rank -= counts[i]) <= 0)
+        return BOUNDS[i];
+    return Long.MAX_VALUE;
+  }
+
+  /** Returns the counts of all buckets, the last bucket being unbounded. */
+  public long[] getBucketCounts() {
+    long[] counts = new long[buckets.length];
+    for (int i = 0; i < counts.length; ++i)
+      counts[i] = buckets[i].sum();
+    return counts;
+  }
+
+  /** Returns the inclusive upper bounds in microseconds of all but the last bucket. */
+  public static long[] getBucketBounds() {
+    return BOUNDS.clone();
+  }
+
+  /**
+   * Formats the latency of {@code micros} in milliseconds with given {@code fractionDigits},
+   * or as being greater than the last bound if it is {@code Long.MAX_VALUE}, which is returned
+   * by {@link #getPercentileMicros(double)} for latencies within the last bucket.
+   */
+  public static @NonNull String formatMillis(long micros, int fractionDigits) {
+    Preconditions.checkArgument(fractionDigits >= 0, "Fraction digits must not be negative");
+    if (micros == Long.MAX_VALUE)
+      return ">" + BOUNDS[BOUNDS.length - 1] / 1000;
+    return String.format("%." + fractionDigits + "f", micros / 1000d);
+  }
+
+  public void reset() {
+    for (LongAdder bucket : buckets)
+      bucket.reset();
+    totalMicros.reset();
+  }
+
+  private static int indexOf(long micros) {
+    for (int i = 0; i < BOUNDS.length; ++i)
+      if (micros <= BOUNDS[i]) return i;
+    return BOUNDS.length;
+  }
+
+}
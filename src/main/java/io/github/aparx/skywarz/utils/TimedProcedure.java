@@ -6,6 +6,10 @@ import lombok.Getter;
 import java.util.function.Consumer;
 
 /**
+ * Measures the time a procedure takes, either synchronously through {@link #execute(Consumer)}
+ * or across multiple steps (i.e. ticks) through {@link #start()} and {@link #finish()}.
+ * <p>Procedures that run over multiple steps can additionally report their progress.
+ *
  * @author aparx (Vinzent Z.)
  * @version 2023-12-12 21:18
  * @since 1.0
@@ -15,6 +19,13 @@ public final class TimedProcedure {
 
   private long nanosPassed;
 
+  /** The nano timestamp at which this procedure finished, or zero if it is still running */
+  private volatile long nanosFinished;
+
+  private volatile long progress;
+
+  private volatile long total;
+
   @CanIgnoreReturnValue
   public static long executeProcedure(Consumer<TimedProcedure> action) {
     return new TimedProcedure().execute(action);
@@ -22,21 +33,56 @@ public final class TimedProcedure {
 
   @CanIgnoreReturnValue
   public long execute(Consumer<TimedProcedure> action) {
-    nanosPassed = System.nanoTime();
+    start();
     action.accept(this);
     return getElapsedNanos();
   }
 
+  @CanIgnoreReturnValue
+  public TimedProcedure start() {
+    nanosPassed = System.nanoTime();
+    nanosFinished = 0;
+    return this;
+  }
+
+  /** Stops the time of this procedure, so that the elapsed time no longer increases. */
+  @CanIgnoreReturnValue
+  public long finish() {
+    if (nanosFinished == 0)
+      nanosFinished = System.nanoTime();
+    return getElapsedNanos();
+  }
+
+  public boolean isFinished() {
+    return nanosFinished != 0;
+  }
+
+  public void setProgress(long progress, long total) {
+    this.total = Math.max(total, 0);
+    this.progress = Math.min(Math.max(progress, 0), this.total);
+  }
+
+  /** Returns the relative progress of this procedure in the range of {@code [0, 1]}. */
+  public double getRelativeProgress() {
+    long total = this.total;
+    return total != 0 ? (double) progress / total : (isFinished() ? 1 : 0);
+  }
+
   public String toPerformanceString() {
     return String.format("%.3fms", getElapsedMillis());
   }
 
+  public String toProgressString() {
+    return String.format("%.1f%% (%d/%d)", 100 * getRelativeProgress(), progress, total);
+  }
+
   public double getElapsedMillis() {
     return getElapsedNanos() / 1E6;
   }
 
   public long getElapsedNanos() {
-    return System.nanoTime() - nanosPassed;
+    long finished = nanosFinished;
+    return (finished != 0 ? finished : System.nanoTime()) - nanosPassed;
   }
 
 }
@@ -0,0 +1,80 @@
+package io.github.aparx.skywarz.utils.array;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Sampler of weighted elements in constant time, using Vose's alias method.
+ * <p>The table is built once in linear time. Each sample then rolls one column and decides
+ * between the column's element and its alias, without searching or boxing.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 10:05
+ * @since 1.0
+ */
+public final class AliasSampler<E> {
+
+  private final E[] elements;
+
+  /** The probability of each column to sample its own element instead of its alias */
+  private final double[] probabilities;
+
+  private final int[] aliases;
+
+  @SuppressWarnings("unchecked")
+  public AliasSampler(@NonNull List<? extends E> elements, @NonNull ToDoubleFunction<E> weight) {
+    Preconditions.checkNotNull(elements, "Elements must not be null");
+    Preconditions.checkNotNull(weight, "Weight function must not be null");
+    Preconditions.checkArgument(!elements.isEmpty(), "Elements must not be empty");
+    int n = elements.size();
+    this.elements = (E[]) elements.toArray();
+    this.probabilities = new double[n];
+    this.aliases = new int[n];
+    double[] scaled = new double[n];
+    double total = 0;
+    for (int i = 0; i < n; ++i) {
+      double w = weight.applyAsDouble(this.elements[i]);
+      Preconditions.checkArgument(w >= 0 && Double.isFinite(w), "Invalid weight: %s", w);
+      total += scaled[i] = w;
+    }
+    Preconditions.checkArgument(total > 0, "Total weight must be positive");
+    // work lists of the columns below and above the average, used as stacks
+    int[] small = new int[n], large = new int[n];
+    int smallCount = 0, largeCount = 0;
+    for (int i = 0; i < n; ++i) {
+      scaled[i] = scaled[i] * n / total;
+      if (scaled[i] < 1) small[smallCount++] = i;
+      else large[largeCount++] = i;
+    }
+    while (smallCount != 0 && largeCount != 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      probabilities[less] = scaled[less];
+      aliases[less] = more;
+      scaled[more] = (scaled[more] + scaled[less]) - 1;
+      if (scaled[more] < 1) small[smallCount++] = more;
+      else large[largeCount++] = more;
+    }
+    // remaining columns are full, except for floating point errors
+    while (largeCount != 0)
+      probabilities[large[--largeCount]] = 1;
+    while (smallCount != 0)
+      probabilities[small[--smallCount]] = 1;
+  }
+
+  public @NonNull E next(@NonNull Random random) {
+    int column = random.nextInt(elements.length);
+    return random.nextDouble() < probabilities[column]
+        ? elements[column]
+        : elements[aliases[column]];
+  }
+
+  public int size() {
+    return elements.length;
+  }
+
+}
@@ -0,0 +1,62 @@
+package io.github.aparx.skywarz.utils.array;
+
+import com.google.common.base.Preconditions;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+import java.util.Random;
+
+/**
+ * Sampler of the amount of successes in {@code n} trials of probability {@code p}.
+ * <p>The cumulative distribution is computed once, so that each sample requires a single
+ * random number instead of one per trial.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 14:20
+ * @since 1.0
+ */
+public final class BinomialSampler {
+
+  /** The cumulative probability of at most {@code k} successes at index {@code k} */
+  private final double[] cumulative;
+
+  public BinomialSampler(int trials, double probability) {
+    Preconditions.checkArgument(trials >= 0, "Trials must not be negative");
+    Preconditions.checkArgument(probability >= 0 && probability <= 1,
+        "Probability must be between 0 and 1");
+    this.cumulative = new double[trials + 1];
+    double sum = 0;
+    for (int k = 0; k <= trials; ++k)
+      cumulative[k] = sum += Math.exp(logChoose(trials, k)
+          + logPower(probability, k) + logPower(1 - probability, trials - k));
+    // account for floating point errors, so that every roll finds an amount
+    cumulative[trials] = 1;
+  }
+
+  public int sample(@NonNull Random random) {
+    double roll = random.nextDouble();
+    int low = 0, high = cumulative.length - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (cumulative[mid] > roll) high = mid;
+      else low = mid + 1;
+    }
+    return low;
+  }
+
+  public int getTrials() {
+    return cumulative.length - 1;
+  }
+
+  private static double logChoose(int n, int k) {
+    double result = 0;
+    for (int i = 1, m = Math.min(k, n - k); i <= m; ++i)
+      result += Math.log(n - m + i) - Math.log(i);
+    return result;
+  }
+
+  private static double logPower(double base, int exponent) {
+    // zero to the power of zero is one, which the logarithm does not reflect
+    return exponent == 0 ? 0 : exponent * Math.log(base);
+  }
+
+}
@@ -0,0 +1,183 @@
+package io.github.aparx.skywarz.utils.array;
+
+import com.google.common.base.Preconditions;
+import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import org.checkerframework.checker.index.qual.NonNegative;
+import org.checkerframework.dataflow.qual.Pure;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map that associates primitive {@code long} keys to {@code int} values.
+ * <p>This implementation uses linear probing over flat arrays, thus neither keys nor values are
+ * boxed, and no entry objects are allocated. Removal is intentionally not supported.
+ * <p>This map is not thread-safe.
+ *
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 11:20
+ * @since 1.0
+ */
+public class LongIntHashMap {
+
+  public static final int DEFAULT_INITIAL_CAPACITY = 64;
+
+  /** The value returned by {@link #get(long)} if no mapping exists for a key */
+  public static final int NO_VALUE = -1;
+
+  private static final float LOAD_FACTOR = .75f;
+
+  private final int initialCapacity;
+
+  private long[] keys;
+
+  private int[] values;
+
+  private boolean[] used;
+
+  private int elementCount;
+
+  private int threshold;
+
+  public LongIntHashMap() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public LongIntHashMap(int expectedSize) {
+    this.initialCapacity = tableSizeFor((int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR));
+    allocate(initialCapacity);
+  }
+
+  @Pure
+  public final @NonNegative int size() {
+    return elementCount;
+  }
+
+  @Pure
+  public final boolean isEmpty() {
+    return elementCount == 0;
+  }
+
+  @Pure
+  public final @NonNegative int capacity() {
+    return keys.length;
+  }
+
+  public void clear() {
+    if (capacity() != initialCapacity)
+      allocate(initialCapacity);
+    else Arrays.fill(used, false);
+    elementCount = 0;
+  }
+
+  /** Returns the value associated to {@code key}, or {@link #NO_VALUE} if none exists. */
+  public int get(long key) {
+    int slot = findSlot(key);
+    return used[slot] ? values[slot] : NO_VALUE;
+  }
+
+  public boolean containsKey(long key) {
+    return used[findSlot(key)];
+  }
+
+  /**
+   * Associates {@code value} to {@code key} and returns the previous value.
+   *
+   * @return the previous value or {@link #NO_VALUE} if no mapping existed
+   */
+  @CanIgnoreReturnValue
+  public int put(long key, int value) {
+    int slot = findSlot(key);
+    if (used[slot]) {
+      int previous = values[slot];
+      values[slot] = value;
+      return previous;
+    }
+    insert(slot, key, value);
+    return NO_VALUE;
+  }
+
+  /**
+   * Associates {@code value} to {@code key} only if no mapping exists for {@code key} yet.
+   *
+   * @return true if the mapping has been added, false if a mapping existed already
+   */
+  @CanIgnoreReturnValue
+  public boolean putIfAbsent(long key, int value) {
+    int slot = findSlot(key);
+    if (used[slot]) return false;
+    insert(slot, key, value);
+    return true;
+  }
+
+  /** Returns a new array of all keys currently contained in this map, in no specific order. */
+  public long[] keys() {
+    long[] array = new long[elementCount];
+    for (int i = 0, n = 0, len = keys.length; i < len && n < array.length; ++i)
+      if (used[i]) array[n++] = keys[i];
+    return array;
+  }
+
+  public void forEach(Consumer consumer) {
+    Preconditions.checkNotNull(consumer, "Consumer must not be null");
+    for (int i = 0, len = keys.length; i < len; ++i)
+      if (used[i]) consumer.accept(keys[i], values[i]);
+  }
+
+  private void insert(int slot, long key, int value) {
+    keys[slot] = key;
+    values[slot] = value;
+    used[slot] = true;
+    if (++elementCount > threshold)
+      rehash(keys.length << 1);
+  }
+
+  private int findSlot(long key) {
+    final int mask = keys.length - 1;
+    int slot = mix(key) & mask;
+    while (used[slot] && keys[slot] != key)
+      slot = (slot + 1) & mask;
+    return slot;
+  }
+
+  private void rehash(int newCapacity) {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    boolean[] oldUsed = used;
+    allocate(newCapacity);
+    for (int i = 0, len = oldKeys.length; i < len; ++i)
+      if (oldUsed[i]) {
+        int slot = findSlot(oldKeys[i]);
+        keys[slot] = oldKeys[i];
+        values[slot] = oldValues[i];
+        used[slot] = true;
+      }
+  }
+
+  private void allocate(int capacity) {
+    Preconditions.checkState(capacity > 0, "Capacity exceeds maximum");
+    this.keys = new long[capacity];
+    this.values = new int[capacity];
+    this.used = new boolean[capacity];
+    this.threshold = (int) (capacity * LOAD_FACTOR);
+  }
+
+  private static int mix(long key) {
+    // Spreads the bits of the key, such that clustered keys do not collide (Stafford variant 13)
+    key = (key ^ (key >>> 30)) * 0xBF58476D1CE4E5B9L;
+    key = (key ^ (key >>> 27)) * 0x94D049BB133111EBL;
+    return (int) (key ^ (key >>> 31));
+  }
+
+  private static int tableSizeFor(int capacity) {
+    int highestBit = Integer.highestOneBit(Math.max(capacity, 2) - 1);
+    return highestBit << 1;
+  }
+
+  @FunctionalInterface
+  public interface Consumer {
+
+    void accept(long key, int value);
+
+  }
+
+}
@@ -0,0 +1,73 @@
+package io.github.aparx.skywarz.database.object;
+
+import io.github.aparx.skywarz.utils.tick.TickDuration;
+import io.github.aparx.skywarz.utils.tick.TimeUnit;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-15 14:45
+ * @since 1.0
+ */
+public class CachableLazyObjectRegisterTests {
+
+  @Test
+  public void evictLeastRecentlyAccessed() {
+    CachableLazyObjectRegister<Integer, String> register = new CachableLazyObjectRegister<>(
+        2, Duration.ZERO, Duration.ZERO, TickDuration.of(TimeUnit.SECONDS, 1),
+        (key) -> CachableLazyObject.of(Duration.ofMinutes(1),
+            () -> CompletableFuture.completedFuture(String.valueOf(key))));
+    register.getOrCreate(1);
+    register.getOrCreate(2);
+    register.getOrCreate(1);
+    register.getOrCreate(3);
+    Assertions.assertEquals(2, register.size());
+    Assertions.assertTrue(register.contains(1));
+    Assertions.assertFalse(register.contains(2));
+    Assertions.assertTrue(register.contains(3));
+    Assertions.assertEquals(1, register.getStats().getEvictionCount());
+  }
+
+  @Test
+  public void coalesceLoads() {
+    AtomicInteger loads = new AtomicInteger();
+    CompletableFuture<String> source = new CompletableFuture<>();
+    CachableLazyObject<String> object = CachableLazyObject.of(Duration.ofMinutes(1), () -> {
+      loads.incrementAndGet();
+      return source;
+    });
+    CompletableFuture<? extends String> first = object.fetch();
+    CompletableFuture<? extends String> second = object.fetch();
+    Assertions.assertEquals(1, loads.get());
+    Assertions.assertEquals(FetchableObjectState.LOADING, object.getState());
+    source.complete("value");
+    Assertions.assertEquals("value", first.join());
+    Assertions.assertEquals("value", second.join());
+    Assertions.assertEquals(FetchableObjectState.FRESH, object.getState());
+    Assertions.assertEquals("value", object.get());
+    Assertions.assertEquals(1, loads.get());
+  }
+
+  @Test
+  public void modifyDuringLoad() {
+    AtomicInteger loads = new AtomicInteger();
+    CompletableFuture<StringBuilder> source = new CompletableFuture<>();
+    CachableLazyObject<StringBuilder> object = CachableLazyObject.of(Duration.ofMinutes(1), () ->
+        loads.incrementAndGet() == 1 ? source : CompletableFuture.completedFuture(
+            new StringBuilder("reloaded")));
+    object.fetch();
+    object.modify((builder) -> builder.append("lost"));
+    source.complete(new StringBuilder("loaded"));
+    Assertions.assertEquals(FetchableObjectState.STALE, object.getState());
+    object.fetch();
+    Assertions.assertEquals(2, loads.get());
+    Assertions.assertEquals("reloaded", object.get().toString());
+    Assertions.assertEquals(FetchableObjectState.FRESH, object.getState());
+  }
+
+}
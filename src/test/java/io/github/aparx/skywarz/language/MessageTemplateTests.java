@@ -0,0 +1,100 @@
+package io.github.aparx.skywarz.language;
+
+import org.apache.commons.text.StringSubstitutor;
+import org.apache.commons.text.lookup.StringLookup;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 11:02
+ * @since 1.0
+ */
+public class MessageTemplateTests {
+
+  @Test
+  public void literal() {
+    MessageTemplate template = MessageTemplate.compile("Hello World");
+    Assertions.assertTrue(template.isConstant());
+    Assertions.assertEquals("Hello World", template.render(null, null));
+    Assertions.assertEquals("", MessageTemplate.compile("").render(null, null));
+  }
+
+  @Test
+  public void variables() {
+    Map<String, String> values = Map.of("a", "1", "b.c", "2");
+    MessageTemplate template = MessageTemplate.compile("{a} + {b.c} = {d}{a}");
+    Assertions.assertFalse(template.isConstant());
+    Assertions.assertEquals("1 + 2 = {d}1", template.render(values::get, null));
+    Assertions.assertEquals("{a} + {b.c} = {d}{a}", template.render(null, null));
+  }
+
+  @Test
+  public void fallback() {
+    MessageTemplate template = MessageTemplate.compile("{a}{b}");
+    Map<String, String> primary = Map.of("a", "1");
+    Map<String, String> fallback = Map.of("a", "x", "b", "2");
+    Assertions.assertEquals("12", template.render(primary::get, fallback::get));
+  }
+
+  @Test
+  public void escapesAndDefaults() {
+    Map<String, String> values = Map.of("a", "1");
+    Assertions.assertEquals("{a} 1",
+        MessageTemplate.compile("\\{a} {a}").render(values::get, null));
+    Assertions.assertEquals("1 x",
+        MessageTemplate.compile("{a:-y} {b:-x}").render(values::get, null));
+    Assertions.assertEquals("{a", MessageTemplate.compile("{a").render(values::get, null));
+  }
+
+  @Test
+  public void recursive() {
+    Map<String, String> values = Map.of("a", "[{b}]", "b", "2", "c", "{c}");
+    Assertions.assertEquals("[2]", MessageTemplate.compile("{a}").render(values::get, null));
+    Assertions.assertThrows(IllegalStateException.class,
+        () -> MessageTemplate.compile("{c}").render(values::get, null));
+    // values are compiled once and reused by subsequent renders
+    Assertions.assertSame(MessageTemplate.compileCached("[{b}]"),
+        MessageTemplate.compileCached("[{b}]"));
+  }
+
+  @Test
+  public void matchesSubstitutor() {
+    Map<String, String> messages = new HashMap<>();
+    MessageKeys.defaultMessages.forEach(
+        (path, object) -> messages.put(path.join(), toContent(object)));
+    Map<String, String> values = new HashMap<>();
+    values.put("0", "zero");
+    values.put("player.name", "aparx");
+    values.put("player.team.color", "§c");
+    values.put("killer.name", "someone");
+    values.put("match.time.left.literal", "10 seconds");
+    values.put("team.displayName", "Red");
+    values.put("target.total.kd", "1.5");
+    StringLookup lookup = values::get;
+    StringLookup fallback = messages::get;
+    StringSubstitutor substitutor = new StringSubstitutor((key) -> {
+      String value = lookup.lookup(key);
+      return value != null ? value : fallback.lookup(key);
+    }, LocalizedMessage.VARIABLE_PREFIX, LocalizedMessage.VARIABLE_SUFFIX,
+        LocalizedMessage.VARIABLE_ESCAPE);
+    for (String content : messages.values()) {
+      String processed = LocalizedMessage.processRawContent(content);
+      Assertions.assertEquals(substitutor.replace(processed),
+          MessageTemplate.compile(processed).render(lookup, fallback), content);
+    }
+  }
+
+  private static String toContent(Object object) {
+    if (object instanceof Collection)
+      return ((Collection<?>) object).stream().map(String::valueOf)
+          .collect(Collectors.joining("\n"));
+    return String.valueOf(object);
+  }
+
+}
@@ -0,0 +1,76 @@
+package io.github.aparx.skywarz.language;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-13 15:10
+ * @since 1.0
+ */
+public class VariableKeyTests {
+
+  @Test
+  public void interned() {
+    VariableKey key = VariableKey.of("match.state");
+    Assertions.assertSame(key, VariableKey.of("match").child("state"));
+    Assertions.assertSame(key, VariableKey.of("match.state"));
+    Assertions.assertSame(VariableKey.of("name"), VariableKey.ROOT.child("name"));
+    Assertions.assertEquals("match.state", key.getPath());
+  }
+
+  @Test
+  public void relativize() {
+    VariableKey key = VariableKey.of("match");
+    Assertions.assertEquals("state.name", key.relativize("match.state.name"));
+    Assertions.assertNull(key.relativize("match"));
+    Assertions.assertNull(key.relativize("matches.id"));
+    Assertions.assertNull(key.relativize("player.name"));
+    Assertions.assertEquals("player.name", VariableKey.ROOT.relativize("player.name"));
+  }
+
+  @Test
+  public void bind() {
+    Map<String, String> values = Map.of("id", "1", "state.name", "Idle");
+    LazyVariableLookup parent = new LazyVariableLookup();
+    parent.bind(VariableKey.of("match"), values::get);
+    LazyVariableLookup lookup = new LazyVariableLookup(parent);
+    lookup.bind(VariableKey.of("match"), (name) -> name.equals("id") ? "2" : null);
+    lookup.set(VariableKey.of("match.arena"), "arena");
+    Assertions.assertEquals("2", lookup.lookup("match.id"));
+    Assertions.assertEquals("Idle", lookup.lookup("match.state.name"));
+    Assertions.assertEquals("arena", lookup.lookup("match.arena"));
+    Assertions.assertNull(lookup.lookup("match.state"));
+    Assertions.assertNull(lookup.lookup("player.name"));
+  }
+
+  @Test
+  public void usage() {
+    VariableUsage usage = VariableUsage.of(
+        MessageTemplate.compile("{match.time.left.format} {player.name}").getVariables());
+    Assertions.assertTrue(usage.requires(VariableKey.ROOT));
+    Assertions.assertTrue(usage.requires(VariableKey.of("match")));
+    Assertions.assertTrue(usage.requires(VariableKey.of("match.time.left")));
+    Assertions.assertTrue(usage.requires(VariableKey.of("player.name")));
+    Assertions.assertFalse(usage.requires(VariableKey.of("match.state")));
+    Assertions.assertFalse(usage.requires(VariableKey.of("killer")));
+    Assertions.assertFalse(VariableUsage.NONE.requires(VariableKey.ROOT));
+    Assertions.assertTrue(VariableUsage.ALL.requires(VariableKey.of("killer")));
+    Assertions.assertTrue(usage.union(VariableUsage.of(List.of("killer.name")))
+        .requires(VariableKey.of("killer")));
+  }
+
+  @Test
+  public void populateRequiredOnly() {
+    LazyVariableLookup lookup = new LazyVariableLookup(
+        VariableUsage.of(List.of("match.id")));
+    Assertions.assertTrue(lookup.isRequired(VariableKey.of("match")));
+    Assertions.assertFalse(lookup.isRequired(VariableKey.of("player")));
+    Assertions.assertFalse(new LazyVariableLookup(lookup).isRequired(VariableKey.of("player")));
+    Assertions.assertTrue(new LazyVariableLookup().isRequired(VariableKey.of("player")));
+  }
+
+}
@@ -0,0 +1,55 @@
+package io.github.aparx.skywarz.utils;
+
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-14 20:40
+ * @since 1.0
+ */
+public class LatencyHistogramTests {
+
+  @Test
+  public void record() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    Assertions.assertEquals(0, histogram.getCount());
+    Assertions.assertEquals(0, histogram.getPercentileMicros(.5));
+    for (int i = 0; i < 90; ++i)
+      histogram.record(50, TimeUnit.MICROSECONDS);
+    for (int i = 0; i < 9; ++i)
+      histogram.record(3, TimeUnit.MILLISECONDS);
+    histogram.record(1, TimeUnit.MINUTES);
+    Assertions.assertEquals(100, histogram.getCount());
+    Assertions.assertEquals(100, histogram.getPercentileMicros(.5));
+    Assertions.assertEquals(100, histogram.getPercentileMicros(.9));
+    Assertions.assertEquals(5_000, histogram.getPercentileMicros(.95));
+    Assertions.assertEquals(5_000, histogram.getPercentileMicros(.99));
+    Assertions.assertEquals(Long.MAX_VALUE, histogram.getPercentileMicros(1));
+    long[] counts = histogram.getBucketCounts();
+    Assertions.assertEquals(LatencyHistogram.getBucketBounds().length + 1, counts.length);
+    Assertions.assertEquals(90, counts[0]);
+    Assertions.assertEquals(1, counts[counts.length - 1]);
+  }
+
+  @Test
+  public void reset() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(1, TimeUnit.SECONDS);
+    Assertions.assertEquals(1_000_000, histogram.getMeanMicros());
+    histogram.reset();
+    Assertions.assertEquals(0, histogram.getCount());
+    Assertions.assertEquals(0, histogram.getMeanMicros());
+  }
+
+  @Test
+  public void formatMillis() {
+    long[] bounds = LatencyHistogram.getBucketBounds();
+    Assertions.assertEquals(">" + bounds[bounds.length - 1] / 1000,
+        LatencyHistogram.formatMillis(Long.MAX_VALUE, 1));
+    Assertions.assertEquals("25", LatencyHistogram.formatMillis(25_000, 0));
+  }
+
+}
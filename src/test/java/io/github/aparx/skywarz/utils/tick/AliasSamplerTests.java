@@ -0,0 +1,42 @@
+package io.github.aparx.skywarz.utils.tick;
+
+import io.github.aparx.skywarz.utils.array.AliasSampler;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 10:40
+ * @since 1.0
+ */
+public class AliasSamplerTests {
+
+  @Test
+  public void distribution() {
+    Map<String, Double> weights = Map.of("a", 1d, "b", 3d, "c", 6d, "d", 0d);
+    AliasSampler<String> sampler =
+        new AliasSampler<>(List.of("a", "b", "c", "d"), weights::get);
+    Random random = new Random(42);
+    int samples = 100_000;
+    int[] counts = new int[4];
+    for (int i = 0; i < samples; ++i)
+      counts[sampler.next(random).charAt(0) - 'a']++;
+    Assertions.assertEquals(.1, (double) counts[0] / samples, .01);
+    Assertions.assertEquals(.3, (double) counts[1] / samples, .01);
+    Assertions.assertEquals(.6, (double) counts[2] / samples, .01);
+    Assertions.assertEquals(0, counts[3]);
+  }
+
+  @Test
+  public void invalidWeights() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new AliasSampler<>(List.of("a"), (s) -> 0));
+    Assertions.assertThrows(IllegalArgumentException.class,
+        () -> new AliasSampler<>(List.of(), (s) -> 1));
+  }
+
+}
@@ -0,0 +1,68 @@
+package io.github.aparx.skywarz.utils.tick;
+
+import io.github.aparx.skywarz.game.arena.ArenaBox;
+import org.bukkit.Location;
+import org.bukkit.util.BoundingBox;
+import org.bukkit.util.Vector;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-12 15:40
+ * @since 1.0
+ */
+public class ArenaBoxTests {
+
+  private static ArenaBox createBox(Vector first, Vector second) {
+    ArenaBox box = new ArenaBox();
+    box.setPoint(ArenaBox.Point.MIN, first);
+    box.setPoint(ArenaBox.Point.MAX, second);
+    return box;
+  }
+
+  @Test
+  public void isWithin_normalized() {
+    // the corners are intentionally set in reverse order
+    ArenaBox box = createBox(new Vector(10, 80, 10), new Vector(-10, 60, -10));
+    Assertions.assertTrue(box.isWithin(0, 70, 0));
+    Assertions.assertTrue(box.isWithin(-10, 60, -10));
+    Assertions.assertTrue(box.isWithin(10, 80, 10));
+    Assertions.assertFalse(box.isWithin(11, 70, 0));
+    Assertions.assertFalse(box.isWithin(0, 59, 0));
+    Assertions.assertTrue(box.isWithin(new Vector(0.5, 70.5, -9.5)));
+    Assertions.assertFalse(box.isWithin(new Vector(10.5, 70, 0)));
+    Assertions.assertTrue(box.isWithin(new Location(null, -9.5, 60.2, 9.9)));
+    Assertions.assertFalse(box.isWithin(new Location(null, -10.5, 60.2, 9.9)));
+    Assertions.assertTrue(box.isWithinHorizontally(new Location(null, 0, 200, 0)));
+    Assertions.assertTrue(box.isWithin(new BoundingBox(0, 70, 0, 1, 72, 1)));
+    Assertions.assertFalse(box.isWithin(new BoundingBox(9.7, 70, 0, 10.3, 72, 1)));
+  }
+
+  @Test
+  public void isWithin_incomplete() {
+    ArenaBox box = new ArenaBox();
+    box.setPoint(ArenaBox.Point.MIN, new Vector(0, 0, 0));
+    Assertions.assertThrows(IllegalStateException.class, () -> box.isWithin(0, 0, 0));
+  }
+
+  @Test
+  public void classifyChunk() {
+    ArenaBox box = createBox(new Vector(-8, 0, -8), new Vector(31, 64, 31));
+    Assertions.assertEquals(ArenaBox.Containment.INSIDE, box.classifyChunk(0, 0));
+    Assertions.assertEquals(ArenaBox.Containment.INSIDE, box.classifyChunk(1, 1));
+    Assertions.assertEquals(ArenaBox.Containment.PARTIAL, box.classifyChunk(-1, 0));
+    Assertions.assertEquals(ArenaBox.Containment.PARTIAL, box.classifyChunk(-1, -1));
+    Assertions.assertEquals(ArenaBox.Containment.OUTSIDE, box.classifyChunk(2, 0));
+    Assertions.assertEquals(ArenaBox.Containment.OUTSIDE, box.classifyChunk(0, -2));
+  }
+
+  @Test
+  public void classify() {
+    ArenaBox box = createBox(new Vector(0, 0, 0), new Vector(15, 15, 15));
+    Assertions.assertEquals(ArenaBox.Containment.INSIDE, box.classify(0, 0, 0, 15, 15, 15));
+    Assertions.assertEquals(ArenaBox.Containment.PARTIAL, box.classify(0, 0, 0, 15, 16, 15));
+    Assertions.assertEquals(ArenaBox.Containment.OUTSIDE, box.classify(0, 16, 0, 15, 31, 15));
+  }
+
+}
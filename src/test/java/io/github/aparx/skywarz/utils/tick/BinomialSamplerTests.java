@@ -0,0 +1,38 @@
+package io.github.aparx.skywarz.utils.tick;
+
+import io.github.aparx.skywarz.utils.array.BinomialSampler;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Random;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-16 15:45
+ * @since 1.0
+ */
+public class BinomialSamplerTests {
+
+  @Test
+  public void mean() {
+    BinomialSampler sampler = new BinomialSampler(27, .36);
+    Random random = new Random(42);
+    int samples = 100_000;
+    long sum = 0;
+    for (int i = 0; i < samples; ++i) {
+      int count = sampler.sample(random);
+      Assertions.assertTrue(count >= 0 && count <= 27);
+      sum += count;
+    }
+    Assertions.assertEquals(27 * .36, (double) sum / samples, .05);
+  }
+
+  @Test
+  public void bounds() {
+    Random random = new Random(42);
+    Assertions.assertEquals(0, new BinomialSampler(27, 0).sample(random));
+    Assertions.assertEquals(27, new BinomialSampler(27, 1).sample(random));
+    Assertions.assertEquals(0, new BinomialSampler(0, .5).sample(random));
+  }
+
+}
@@ -0,0 +1,64 @@
+package io.github.aparx.skywarz.utils.tick;
+
+import io.github.aparx.skywarz.utils.array.LongIntHashMap;
+import org.junit.Test;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.Arrays;
+
+/**
+ * @author aparx (Vinzent Z.)
+ * @version 2024-01-09 13:02
+ * @since 1.0
+ */
+public class LongIntHashMapTests {
+
+  @Test
+  public void put() {
+    LongIntHashMap map = new LongIntHashMap();
+    Assertions.assertEquals(LongIntHashMap.NO_VALUE, map.put(5L, 1));
+    Assertions.assertEquals(LongIntHashMap.NO_VALUE, map.put(-5L, 2));
+    Assertions.assertEquals(1, map.put(5L, 3));
+    Assertions.assertEquals(3, map.get(5L));
+    Assertions.assertEquals(2, map.get(-5L));
+    Assertions.assertEquals(LongIntHashMap.NO_VALUE, map.get(6L));
+    Assertions.assertEquals(2, map.size());
+  }
+
+  @Test
+  public void putIfAbsent() {
+    LongIntHashMap map = new LongIntHashMap();
+    Assertions.assertTrue(map.putIfAbsent(0L, 1));
+    Assertions.assertFalse(map.putIfAbsent(0L, 2));
+    Assertions.assertEquals(1, map.get(0L));
+    Assertions.assertTrue(map.containsKey(0L));
+    Assertions.assertFalse(map.containsKey(1L));
+  }
+
+  @Test
+  public void grow() {
+    LongIntHashMap map = new LongIntHashMap(1);
+    for (int i = 0; i < 10_000; ++i)
+      Assertions.assertTrue(map.putIfAbsent((long) i << 20, i));
+    Assertions.assertEquals(10_000, map.size());
+    for (int i = 0; i < 10_000; ++i)
+      Assertions.assertEquals(i, map.get((long) i << 20));
+    long[] keys = map.keys();
+    Arrays.sort(keys);
+    Assertions.assertEquals(10_000, keys.length);
+    Assertions.assertEquals(9_999L << 20, keys[keys.length - 1]);
+  }
+
+  @Test
+  public void clear() {
+    LongIntHashMap map = new LongIntHashMap();
+    for (int i = 0; i < 1_000; ++i)
+      map.put(i, i);
+    map.clear();
+    Assertions.assertEquals(0, map.size());
+    Assertions.assertTrue(map.isEmpty());
+    Assertions.assertFalse(map.containsKey(1L));
+    Assertions.assertEquals(LongIntHashMap.DEFAULT_INITIAL_CAPACITY * 2, map.capacity());
+  }
+
+}